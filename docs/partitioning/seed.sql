@@ -0,0 +1,35 @@
+-- Synthetic data for the partitioning benchmark (docs/partitioning.md).
+--
+--   psql -v rows=10000000 -f seed.sql "$RATING_DB_URL"
+--
+-- ratings:      :rows rows, 50 per user  → :rows / 50 users, spread over 100 000 movies
+-- engagements:  :rows / 2 WATCHLIST rows, 25 per user, same users
+--
+-- User ids are md5(<index>)::uuid so pgbench scripts can pick a random existing user by index.
+-- Movie ids are spread so no (user, movie) pair repeats: ((i * 2000) + user_index) % 100000 + 1.
+
+\set ON_ERROR_STOP on
+\timing on
+
+TRUNCATE ratings, engagements;
+
+INSERT INTO ratings (user_id, movie_id, rating_times_ten, created_at, updated_at)
+SELECT md5((g / 50)::text)::uuid,
+       (((g % 50) * 2000) + (g / 50)) % 100000 + 1,
+       10 + (hashint4(g::int) & 2147483647) % 91,
+       now() - (g % 86400) * interval '1 minute',
+       now()
+FROM generate_series(0, :rows - 1) AS g;
+
+INSERT INTO engagements (user_id, movie_id, type, created_at)
+SELECT md5((g / 25)::text)::uuid,
+       (((g % 25) * 4000) + (g / 25)) % 100000 + 1,
+       'WATCHLIST',
+       now() - (g % 86400) * interval '1 minute'
+FROM generate_series(0, :rows / 2 - 1) AS g;
+
+SELECT setval('ratings_id_seq', (SELECT max(id) FROM ratings));
+SELECT setval('engagements_id_seq', (SELECT max(id) FROM engagements));
+
+VACUUM (ANALYZE) ratings;
+VACUUM (ANALYZE) engagements;
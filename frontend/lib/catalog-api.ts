@@ -4,12 +4,14 @@
 // old fetchWatchlist + N x fetchMovieById fan-out).
 
 import { apiFetch } from "./api-client";
-import type { Movie } from "./movie-api";
+import type { Movie, MovieSearchOptions, Page } from "./movie-api";
 import type { RatingSummary } from "./rating-api";
 
 // One entry in the aggregated watchlist response. Gateway already joined the
 // engagement (movieId + addedAt) with movie metadata, preserving addedAt-desc
 // order and dropping any engagement whose movie row has gone missing.
+// Only the tile fields (id, title, releaseYear, posterUrl, genres) are filled in;
+// overview, runtime and backdropUrl are null.
 export type CatalogWatchlistItem = {
   movie: Movie;
   addedAt: string;
@@ -23,11 +25,28 @@ export type CatalogMeSection = {
 };
 
 // Full aggregate: movie metadata + public rating summary + per-user me slice.
-// Mirrors the gateway's CatalogMovieDetailsResponse record.
+// Mirrors the gateway's CatalogMovieDetailsResponse record. partial is true when
+// rating-service didn't answer in time: ratingSummary is then null and/or me is
+// the anonymous view, so don't treat those as the user's real state.
 export type CatalogMovieDetails = {
   movie: Movie;
-  ratingSummary: RatingSummary;
+  ratingSummary: RatingSummary | null;
   me: CatalogMeSection;
+  partial: boolean;
+};
+
+// One tile on the aggregated browse grid. ratingSummary is null and me is the
+// anonymous view when the page came back partial. movie carries the tile fields
+// only, as on CatalogWatchlistItem.
+export type CatalogBrowseItem = {
+  movie: Movie;
+  ratingSummary: RatingSummary | null;
+  me: CatalogMeSection;
+};
+
+// A page of browse tiles plus movie-service's paging fields.
+export type CatalogBrowsePage = Page<CatalogBrowseItem> & {
+  partial: boolean;
 };
 
 /**
@@ -70,3 +89,38 @@ export async function fetchCatalogWatchlist(
     },
   });
 }
+
+/**
+ * Fetch one page of the browse grid: movies + rating summaries + the user's
+ * rated / watchlisted badges in one round-trip (the gateway makes three downstream
+ * calls per page, however many tiles). Token is optional — without it every tile
+ * gets the anonymous me section. Same filters as fetchMoviesPage.
+ */
+export async function fetchCatalogBrowsePage(
+  options: MovieSearchOptions = {},
+  token?: string
+): Promise<CatalogBrowsePage> {
+  const { page = 0, size = 12, query, genre, year, sort } = options;
+
+  const params = new URLSearchParams({
+    page: String(page),
+    size: String(size),
+  });
+  if (query && query.trim().length > 0) {
+    params.set("query", query.trim());
+  }
+  if (genre && genre.trim().length > 0) {
+    params.set("genre", genre.trim());
+  }
+  if (typeof year === "number" && !Number.isNaN(year)) {
+    params.set("year", String(year));
+  }
+  if (sort && sort.trim().length > 0) {
+    params.set("sort", sort.trim());
+  }
+
+  return apiFetch<CatalogBrowsePage>(
+    `/api/v1/catalog/browse?${params.toString()}`,
+    token ? { headers: { Authorization: `Bearer ${token}` } } : {}
+  );
+}
@@ -21,6 +21,17 @@ export const MOVIE_DETAIL_ID = 524;
 // scenario's 1+N shape exercises N distinct movie rows per iteration.
 export const WATCHLIST_SEED_COUNT = 10;
 
+// Separate identity for the large-watchlist scenario, so its 500 entries don't
+// change what the 10-entry scenarios measure.
+export const LARGE_WATCHLIST_USER = {
+    email: 'loadtest-large@microflix.local',
+    password: 'loadtest-password-1',
+    displayName: 'loadtest-large',
+};
+
+// Watchlist size for watchlist-large.js — 5 engagements pages, 20 hydration chunks.
+export const LARGE_WATCHLIST_SEED_COUNT = 500;
+
 // Backend paths via the gateway. apiFetch in the frontend prepends /gateway;
 // k6 calls the gateway directly, so no prefix.
 export const PATH = {
@@ -37,4 +48,6 @@ export const PATH = {
     // Gateway aggregation endpoints — hit by the post-migration scenarios.
     catalogMovie:    (id) => `/api/v1/catalog/movies/${id}`,
     catalogWatchlist: '/api/v1/catalog/watchlist',
+    catalogWatchlistStream: '/api/v1/catalog/watchlist/stream',
+    catalogBrowse:   '/api/v1/catalog/browse',
 };
@@ -7,10 +7,10 @@ import { BASE_URL, TEST_USER, MOVIE_DETAIL_ID, WATCHLIST_SEED_COUNT, PATH } from
 
 const JSON_HEADERS = { 'Content-Type': 'application/json' };
 
-// Get a JWT for the loadtest user. Tries login first (the common path on re-runs);
-// if the user doesn't exist yet, registers and logs in.
-export function loginOrRegister() {
-    const loginBody = JSON.stringify({ email: TEST_USER.email, password: TEST_USER.password });
+// Get a JWT for the loadtest user (or the given one). Tries login first (the common
+// path on re-runs); if the user doesn't exist yet, registers and logs in.
+export function loginOrRegister(user = TEST_USER) {
+    const loginBody = JSON.stringify({ email: user.email, password: user.password });
 
     const loginRes = http.post(`${BASE_URL}${PATH.login}`, loginBody, { headers: JSON_HEADERS });
 
@@ -21,9 +21,9 @@ export function loginOrRegister() {
     // Login failed — register and retry. Duplicate-email register returns 400,
     // which would mean state is weirder than a missing user; surface it.
     const registerBody = JSON.stringify({
-        email: TEST_USER.email,
-        password: TEST_USER.password,
-        displayName: TEST_USER.displayName,
+        email: user.email,
+        password: user.password,
+        displayName: user.displayName,
     });
     const registerRes = http.post(`${BASE_URL}${PATH.register}`, registerBody, { headers: JSON_HEADERS });
 
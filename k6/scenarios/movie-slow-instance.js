@@ -0,0 +1,68 @@
+// Load-balancing k6 scenario — movie-service runs as two instances, one of them
+// CPU-starved (docker/docker-compose.lb-bench.yml). Both gateway paths to
+// movie-service are driven at the same time:
+//   routed:  GET /movie-service/api/v1/movies/{id}   (lb:// route, proxied as-is)
+//   catalog: GET /api/v1/catalog/browse?page=N       (gateway WebClient fan-out)
+//
+// With round robin (LB_LATENCY_AWARE=false) half the requests land on the slow
+// instance and set p95/p99. With the latency-aware balancer most of them should
+// move to the healthy instance; the slow one still gets occasional probes.
+// Compare page_load_duration p50/p95/p99 per scenario between the two runs, and
+// gateway_loadbalancer_inflight / gateway_loadbalancer_latency_ewma_seconds in Prometheus.
+//
+// Anonymous on purpose: no setup writes, and no rating-service "me" lookups in the numbers.
+
+import http from 'k6/http';
+import { check } from 'k6';
+import { Trend } from 'k6/metrics';
+import { BASE_URL, PATH } from '../lib/config.js';
+import { fetchMovieIds } from '../lib/setup.js';
+
+const pageLoadDuration = new Trend('page_load_duration', true);
+
+export const options = {
+    scenarios: {
+        routed: {
+            executor: 'constant-arrival-rate',
+            exec: 'routed',
+            rate: 50,
+            timeUnit: '1s',
+            duration: '60s',
+            preAllocatedVUs: 50,
+            maxVUs: 200,
+        },
+        catalog: {
+            executor: 'constant-arrival-rate',
+            exec: 'catalog',
+            rate: 10,
+            timeUnit: '1s',
+            duration: '60s',
+            preAllocatedVUs: 20,
+            maxVUs: 100,
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+        'page_load_duration{scenario:routed}': ['p(95)>=0'],     // listed so the summary shows per-scenario trends
+        'page_load_duration{scenario:catalog}': ['p(95)>=0'],
+    },
+    summaryTrendStats: ['avg', 'med', 'p(95)', 'p(99)', 'max'],
+};
+
+export function setup() {
+    return { ids: fetchMovieIds(50) };
+}
+
+export function routed(data) {
+    const id = data.ids[Math.floor(Math.random() * data.ids.length)];
+    const res = http.get(`${BASE_URL}${PATH.movieById(id)}`);
+    check(res, { 'movie 200': (r) => r.status === 200 });
+    pageLoadDuration.add(res.timings.duration);
+}
+
+export function catalog() {
+    const page = Math.floor(Math.random() * 5);
+    const res = http.get(`${BASE_URL}${PATH.catalogBrowse}?page=${page}&size=24`);
+    check(res, { 'catalog browse 200': (r) => r.status === 200 });
+    pageLoadDuration.add(res.timings.duration);
+}
@@ -0,0 +1,87 @@
+// Large-watchlist k6 scenario — a user with 500 watchlist entries, loaded through
+// the gateway's aggregation endpoint both ways:
+//   GET /api/v1/catalog/watchlist          (one JSON array, sent when fully hydrated)
+//   GET /api/v1/catalog/watchlist/stream   (application/x-ndjson, rows sent per chunk)
+//
+// The gateway walks 5 engagements pages and hydrates 20 chunks of 25 ids with
+// bounded parallelism. first_row_duration (time to first byte) is where the
+// streaming variant should pull ahead; page_load_duration (whole body) should be
+// about the same for both.
+//
+// Runs the two scenarios one after the other so they don't compete for the stack.
+// Needs at least 500 movies in the catalog (any dataset-generator scale works).
+
+import http from 'k6/http';
+import { check } from 'k6';
+import { Trend } from 'k6/metrics';
+import { BASE_URL, PATH, LARGE_WATCHLIST_USER, LARGE_WATCHLIST_SEED_COUNT } from '../lib/config.js';
+import { loginOrRegister, fetchMovieIds, seedWatchlist } from '../lib/setup.js';
+
+const pageLoadDuration = new Trend('page_load_duration', true);
+const firstRowDuration = new Trend('first_row_duration', true);
+
+export const options = {
+    setupTimeout: '120s',       // 500 idempotent PUTs on first run
+    scenarios: {
+        json: {
+            executor: 'constant-arrival-rate',
+            exec: 'json',
+            rate: 2,
+            timeUnit: '1s',
+            duration: '60s',
+            preAllocatedVUs: 10,
+            maxVUs: 20,
+        },
+        ndjson: {
+            executor: 'constant-arrival-rate',
+            exec: 'ndjson',
+            startTime: '70s',
+            rate: 2,
+            timeUnit: '1s',
+            duration: '60s',
+            preAllocatedVUs: 10,
+            maxVUs: 20,
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+        'page_load_duration{scenario:json}': ['p(95)>=0'],      // listed so the summary shows per-scenario trends
+        'page_load_duration{scenario:ndjson}': ['p(95)>=0'],
+        'first_row_duration{scenario:json}': ['p(95)>=0'],
+        'first_row_duration{scenario:ndjson}': ['p(95)>=0'],
+    },
+};
+
+export function setup() {
+    const token = loginOrRegister(LARGE_WATCHLIST_USER);
+    seedWatchlist(token, fetchMovieIds(LARGE_WATCHLIST_SEED_COUNT));
+    return { token };
+}
+
+export function json(data) {
+    const res = http.get(`${BASE_URL}${PATH.catalogWatchlist}`, {
+        headers: { Authorization: `Bearer ${data.token}` },
+    });
+    check(res, {
+        'catalog watchlist 200': (r) => r.status === 200,
+        'all entries hydrated': (r) => r.json().length === LARGE_WATCHLIST_SEED_COUNT,
+    });
+    record(res);
+}
+
+export function ndjson(data) {
+    const res = http.get(`${BASE_URL}${PATH.catalogWatchlistStream}`, {
+        headers: { Authorization: `Bearer ${data.token}`, Accept: 'application/x-ndjson' },
+    });
+    check(res, {
+        'catalog watchlist stream 200': (r) => r.status === 200,
+        'all entries streamed': (r) => r.body.split('\n').filter((line) => line.length > 0).length
+            === LARGE_WATCHLIST_SEED_COUNT,
+    });
+    record(res);
+}
+
+function record(res) {
+    firstRowDuration.add(res.timings.waiting);
+    pageLoadDuration.add(res.timings.waiting + res.timings.receiving);
+}
@@ -0,0 +1,63 @@
+// Write-path k6 scenario — concurrent watchlist toggles on the same movie.
+//
+// Mirrors a user double/triple-clicking the watchlist button in
+// components/movie-actions.tsx, across many tabs at once:
+//   PUT    /rating-service/api/v1/engagements/watchlist/{id}   (auth)
+//   DELETE /rating-service/api/v1/engagements/watchlist/{id}   (auth)
+//
+// Every iteration fires an add and a remove for the same (user, movie) pair in a
+// single http.batch, so adds and removes for that row race each other across VUs.
+// Before the single-statement rewrite, add was exists-SELECT + INSERT and remove was
+// SELECT + per-entity DELETE; racing adds could both pass the exists check and one
+// would fail on the unique constraint (500). After, each is one statement and
+// ON CONFLICT DO NOTHING absorbs the race — the check below expects zero 5xx.
+//
+// Uses MOVIE_DETAIL_ID so no extra seeding is needed; the final state of that
+// watchlist row after a run is arbitrary (last writer wins), which is fine —
+// setupTestUser() re-seeds it on the next run.
+
+import http from 'k6/http';
+import { check } from 'k6';
+import { Trend } from 'k6/metrics';
+import { BASE_URL, MOVIE_DETAIL_ID, PATH } from '../lib/config.js';
+import { setupTestUser } from '../lib/setup.js';
+
+const toggleDuration = new Trend('toggle_duration', true);
+
+export const options = {
+    scenarios: {
+        watchlistToggle: {
+            executor: 'constant-arrival-rate',
+            rate: 50,
+            timeUnit: '1s',
+            duration: '60s',
+            preAllocatedVUs: 50,
+            maxVUs: 100,
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+    },
+};
+
+export function setup() {
+    return setupTestUser();
+}
+
+export default function (data) {
+    const { token } = data;
+    const params = { headers: { Authorization: `Bearer ${token}` } };
+    const url = `${BASE_URL}${PATH.watchlistForId(MOVIE_DETAIL_ID)}`;
+
+    const start = Date.now();
+
+    const [addRes, removeRes] = http.batch([
+        ['PUT', url, null, params],
+        ['DELETE', url, null, params],
+    ]);
+
+    check(addRes, { 'add 204': (r) => r.status === 204 });
+    check(removeRes, { 'remove 204': (r) => r.status === 204 });
+
+    toggleDuration.add(Date.now() - start);
+}
@@ -0,0 +1,13 @@
+package com.microflix.dataset_generator;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class DatasetGeneratorApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(DatasetGeneratorApplication.class, args);
+	}
+
+}
@@ -0,0 +1,207 @@
+package com.microflix.dataset_generator;
+
+import com.microflix.dataset_generator.generate.ActivityGenerator;
+import com.microflix.dataset_generator.generate.ActivityModel;
+import com.microflix.dataset_generator.generate.MoviesGenerator;
+import com.microflix.dataset_generator.generate.UsersGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * CommandLineRunner that generates one dataset into the three service databases, then exits.
+ *
+ * - --scale=10|100|1000   size preset (see DatasetSize); default generator.scale
+ * - --reset               truncate the generated tables first (benchmark databases only!)
+ * - --only=users,movies,ratings,engagements   run a subset of phases (default: all)
+ *
+ * Phases run in that order and each is one or more COPY streams straight into the
+ * service's own schema, which must already exist (start each service once so Flyway runs).
+ */
+@Component
+public class DatasetGeneratorJob implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(DatasetGeneratorJob.class);
+
+    private static final List<String> PHASES = List.of("users", "movies", "ratings", "engagements");
+
+    private final TargetDatabases databases;
+
+    public DatasetGeneratorJob(TargetDatabases databases) {
+        this.databases = databases;
+    }
+
+    @Value("${generator.seed:42}")
+    private long seed;
+
+    @Value("${generator.scale:10}")
+    private int defaultScale;
+
+    @Value("${generator.movies:0}")
+    private int moviesOverride;
+
+    @Value("${generator.users:0}")
+    private int usersOverride;
+
+    @Value("${generator.ratings:0}")
+    private long ratingsOverride;
+
+    @Value("${generator.engagements:0}")
+    private long engagementsOverride;
+
+    @Value("${generator.movie-id-offset:0}")
+    private long movieIdOffset;
+
+    @Value("${generator.threads:4}")
+    private int threads;
+
+    @Value("${generator.popularity-exponent:1.0}")
+    private double popularityExponent;
+
+    @Value("${generator.genre-exponent:1.0}")
+    private double genreExponent;
+
+    @Value("${generator.activity-exponent:1.5}")
+    private double activityExponent;
+
+
+    /**
+     * Entry Point
+     */
+    @Override
+    public void run(String... args) throws Exception {
+        int scale = intFlag(args, "--scale=", defaultScale);
+        boolean reset = hasFlag(args, "--reset");
+        Set<String> phases = resolvePhases(args);
+
+        var size = DatasetSize.forScale(scale)
+                .withOverrides(moviesOverride, usersOverride, ratingsOverride, engagementsOverride);
+
+        log.info("Generating dataset seed={} scale={} size={} phases={} reset={} threads={}",
+                seed, scale, size, phases, reset, threads);
+        long started = System.nanoTime();
+
+        if (phases.contains("users")) {
+            timed("users", () -> {
+                try (Connection con = databases.users()) {
+                    if (reset) {
+                        execute(con, "truncate table users");
+                    }
+                    long rows = new UsersGenerator(seed).write(con, size.users());
+                    execute(con, "analyze users");
+                    return rows;
+                }
+            });
+        }
+
+        if (phases.contains("movies")) {
+            timed("movies", () -> {
+                try (Connection con = databases.movies()) {
+                    if (reset) {
+                        execute(con, "truncate table movie_genres, movies restart identity");
+                    }
+                    long rows = new MoviesGenerator(seed, movieIdOffset, genreExponent).write(con, size.movies());
+                    execute(con, "analyze movies");
+                    execute(con, "analyze movie_genres");
+                    execute(con, "analyze genres");
+                    return rows;
+                }
+            });
+        }
+
+        if (phases.contains("ratings") || phases.contains("engagements")) {
+            var model = new ActivityModel(seed, size.movies(), size.users(), popularityExponent);
+            var activity = new ActivityGenerator(databases, model, seed, movieIdOffset, threads);
+
+            if (phases.contains("ratings")) {
+                if (reset) {
+                    // Derived from ratings, so stale once ratings are replaced
+                    executeOn(databases, "truncate table ratings, movie_neighbours, trending_scores restart identity");
+                }
+                timed("ratings", () -> activity.writeRatings(size.ratings(), activityExponent));
+                executeOn(databases, "analyze ratings");
+            }
+
+            if (phases.contains("engagements")) {
+                if (reset) {
+                    executeOn(databases, "truncate table engagements restart identity");
+                }
+                timed("engagements", () -> activity.writeEngagements(size.engagements(), activityExponent));
+                activity.rebuildEngagementCounts();
+                executeOn(databases, "analyze engagements");
+                executeOn(databases, "analyze movie_engagement_counts");
+            }
+        }
+
+        log.info("Dataset generated in {} s. Restart rating-service so the leaderboard reloads; "
+                + "synthetic users log in as {} / {}",
+                (System.nanoTime() - started) / 1_000_000_000, UsersGenerator.email(0), UsersGenerator.PASSWORD);
+    }
+
+
+    ///  Helper Functions
+
+    @FunctionalInterface
+    private interface Phase {
+        long run() throws Exception;
+    }
+
+    private static void timed(String name, Phase phase) throws Exception {
+        long started = System.nanoTime();
+        long rows = phase.run();
+        long millis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        log.info("Phase {}: {} rows in {} ms ({} rows/s)", name, rows, millis, rows * 1000 / millis);
+    }
+
+    private static void execute(Connection con, String sql) throws SQLException {
+        try (var st = con.createStatement()) {
+            st.execute(sql);
+        }
+    }
+
+    private static void executeOn(TargetDatabases databases, String sql) throws SQLException {
+        try (Connection con = databases.ratings()) {
+            execute(con, sql);
+        }
+    }
+
+    private static Set<String> resolvePhases(String[] args) {
+        for (String arg : args) {
+            if (arg.startsWith("--only=")) {
+                var phases = new LinkedHashSet<>(Arrays.asList(arg.substring("--only=".length()).split(",")));
+                if (!PHASES.containsAll(phases)) {
+                    throw new IllegalArgumentException("--only accepts " + PHASES + " (was " + phases + ")");
+                }
+                return phases;
+            }
+        }
+        return new LinkedHashSet<>(PHASES);
+    }
+
+    private static boolean hasFlag(String[] args, String flag) {
+        for (String arg : args) {
+            if (flag.equals(arg)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int intFlag(String[] args, String prefix, int fallback) {
+        for (String arg : args) {
+            if (arg.startsWith(prefix)) {
+                return Integer.parseInt(arg.substring(prefix.length()));
+            }
+        }
+        return fallback;
+    }
+}
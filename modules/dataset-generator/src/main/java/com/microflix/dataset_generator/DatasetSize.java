@@ -0,0 +1,45 @@
+package com.microflix.dataset_generator;
+
+/**
+ * How many rows of each kind to generate.
+ *
+ * Presets are named by how they compare to the ~3.7k-movie dev catalog that
+ * docs/explain-analyze.md and docs/benchmarks.md were measured on:
+ *
+ *   scale   movies      users       ratings       engagements
+ *   10      37 000      10 000      1 000 000     250 000
+ *   100     370 000     100 000     10 000 000    2 500 000
+ *   1000    1 000 000   1 000 000   80 000 000    20 000 000
+ *
+ * The 1000 preset caps movies at 1M (270×) and puts the extra scale into users and activity,
+ * which is where the large tables are.
+ */
+public record DatasetSize(int movies, int users, long ratings, long engagements) {
+
+    public DatasetSize {
+        if (movies < 1 || users < 1 || ratings < 0 || engagements < 0) {
+            throw new IllegalArgumentException("Dataset sizes must be positive: " + movies + "/" + users + "/" + ratings + "/" + engagements);
+        }
+    }
+
+    public static DatasetSize forScale(int scale) {
+        return switch (scale) {
+            case 10 -> new DatasetSize(37_000, 10_000, 1_000_000L, 250_000L);
+            case 100 -> new DatasetSize(370_000, 100_000, 10_000_000L, 2_500_000L);
+            case 1000 -> new DatasetSize(1_000_000, 1_000_000, 80_000_000L, 20_000_000L);
+            default -> throw new IllegalArgumentException("scale must be 10, 100 or 1000 (was " + scale + ")");
+        };
+    }
+
+    /**
+     * This size with any positive override applied (0 = keep the preset value).
+     */
+    public DatasetSize withOverrides(int movies, int users, long ratings, long engagements) {
+        return new DatasetSize(
+                movies > 0 ? movies : this.movies,
+                users > 0 ? users : this.users,
+                ratings > 0 ? ratings : this.ratings,
+                engagements > 0 ? engagements : this.engagements
+        );
+    }
+}
@@ -0,0 +1,66 @@
+package com.microflix.dataset_generator;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+/**
+ * JDBC connections to each service's own database.
+ *
+ * Plain DriverManager connections, opened per phase / per worker and closed when done —
+ * a pool buys nothing for a handful of long-lived COPY streams.
+ */
+@Component
+public class TargetDatabases {
+
+    @Value("${generator.users-db.url}")
+    private String usersUrl;
+
+    @Value("${generator.users-db.username}")
+    private String usersUsername;
+
+    @Value("${generator.users-db.password}")
+    private String usersPassword;
+
+    @Value("${generator.movies-db.url}")
+    private String moviesUrl;
+
+    @Value("${generator.movies-db.username}")
+    private String moviesUsername;
+
+    @Value("${generator.movies-db.password}")
+    private String moviesPassword;
+
+    @Value("${generator.ratings-db.url}")
+    private String ratingsUrl;
+
+    @Value("${generator.ratings-db.username}")
+    private String ratingsUsername;
+
+    @Value("${generator.ratings-db.password}")
+    private String ratingsPassword;
+
+    /**
+     * user-service: users
+     */
+    public Connection users() throws SQLException {
+        return DriverManager.getConnection(usersUrl, usersUsername, usersPassword);
+    }
+
+    /**
+     * movie-service: movies, genres, movie_genres
+     */
+    public Connection movies() throws SQLException {
+        return DriverManager.getConnection(moviesUrl, moviesUsername, moviesPassword);
+    }
+
+    /**
+     * rating-service: ratings, engagements, movie_engagement_counts
+     */
+    public Connection ratings() throws SQLException {
+        return DriverManager.getConnection(ratingsUrl, ratingsUsername, ratingsPassword);
+    }
+}
@@ -0,0 +1,142 @@
+package com.microflix.dataset_generator.copy;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Streams rows into one COPY ... FROM STDIN (text format: tab-separated, \N for null).
+ *
+ *   try (var copy = CopyWriter.open(con, "copy users (id, email) from stdin")) {
+ *       copy.col(id).col(email).endRow();
+ *       copy.finish();
+ *   }
+ *
+ * Rows are encoded into a reused buffer and handed to the driver's 64 KiB copy buffer, so
+ * writing a row allocates nothing beyond what formatting its values needs. The driver's
+ * socket write blocks when Postgres falls behind, which throttles generation to load speed.
+ * Closing without finish() cancels the COPY.
+ */
+public final class CopyWriter implements AutoCloseable {
+
+    private static final int COPY_BUFFER_BYTES = 64 * 1024;
+
+    private final CopyIn copy;
+    private final PGCopyOutputStream out;
+    private final StringBuilder row = new StringBuilder(256);
+    private byte[] bytes = new byte[256];
+    private int cols;
+    private long rows;
+
+    private CopyWriter(CopyIn copy) {
+        this.copy = copy;
+        this.out = new PGCopyOutputStream(copy, COPY_BUFFER_BYTES);
+    }
+
+    public static CopyWriter open(Connection con, String copySql) throws SQLException {
+        return new CopyWriter(con.unwrap(PGConnection.class).getCopyAPI().copyIn(copySql));
+    }
+
+    public CopyWriter col(long value) {
+        separator();
+        row.append(value);
+        return this;
+    }
+
+    public CopyWriter col(UUID value) {
+        separator();
+        row.append(value);
+        return this;
+    }
+
+    public CopyWriter col(Instant value) {
+        separator();
+        row.append(value);         // ISO-8601 with Z — accepted by timestamptz input
+        return this;
+    }
+
+    public CopyWriter col(String value) {
+        separator();
+        if (value == null) {
+            row.append("\\N");
+            return this;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> row.append("\\\\");
+                case '\t' -> row.append("\\t");
+                case '\n' -> row.append("\\n");
+                case '\r' -> row.append("\\r");
+                default -> row.append(c);
+            }
+        }
+        return this;
+    }
+
+    public CopyWriter nullCol() {
+        separator();
+        row.append("\\N");
+        return this;
+    }
+
+    public void endRow() throws IOException {
+        row.append('\n');
+        write();
+        row.setLength(0);
+        cols = 0;
+        rows++;
+    }
+
+    /**
+     * Flush and end the COPY. Returns the rows Postgres accepted.
+     */
+    public long finish() throws IOException {
+        out.close();
+        return rows;
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (copy.isActive()) {
+            copy.cancelCopy();
+        }
+    }
+
+
+    ///  Helper Functions
+
+    private void separator() {
+        if (cols++ > 0) {
+            row.append('\t');
+        }
+    }
+
+    // Generated text is ASCII, so encode into the reused buffer by hand; anything else takes the slow path
+    private void write() throws IOException {
+        int n = row.length();
+        if (bytes.length < n) {
+            bytes = new byte[Math.max(n, bytes.length * 2)];
+        }
+        for (int i = 0; i < n; i++) {
+            char c = row.charAt(i);
+            if (c >= 0x80) {
+                out.write(row.toString().getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            bytes[i] = (byte) c;
+        }
+        out.write(bytes, 0, n);
+    }
+}
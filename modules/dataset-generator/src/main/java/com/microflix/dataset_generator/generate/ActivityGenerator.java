@@ -0,0 +1,195 @@
+package com.microflix.dataset_generator.generate;
+
+import com.microflix.dataset_generator.TargetDatabases;
+import com.microflix.dataset_generator.copy.CopyWriter;
+import com.microflix.dataset_generator.sampling.Seeds;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * rating-service ratings and engagements.
+ *
+ * Users are cut into chunks (1k–10k users, enough for every thread to get several); `threads` workers each hold one connection
+ * and COPY one chunk at a time (each COPY commits on its own). Row contents depend only on
+ * the seed, so the thread count changes speed, not data — only the surrogate ids (from the
+ * sequences) follow arrival order.
+ */
+public final class ActivityGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(ActivityGenerator.class);
+
+    private static final int MIN_USERS_PER_CHUNK = 1_000;
+    private static final int MAX_USERS_PER_CHUNK = 10_000;
+
+    private static final int MAX_RATINGS_PER_USER = 10_000;
+    private static final int MAX_ENGAGEMENTS_PER_USER = 5_000;
+
+    private static final String RATINGS_COPY_SQL =
+            "copy ratings (user_id, movie_id, rating_times_ten, created_at, updated_at) from stdin";
+
+    private static final String ENGAGEMENTS_COPY_SQL =
+            "copy engagements (user_id, movie_id, type, created_at) from stdin";
+
+    // Cumulative: 60% watchlist, 25% like, 15% favourite
+    private static final String[] ENGAGEMENT_TYPES = {"WATCHLIST", "LIKE", "FAVOURITE"};
+    private static final double[] ENGAGEMENT_TYPE_CDF = {0.60, 0.85, 1.0};
+
+    private final TargetDatabases databases;
+    private final ActivityModel model;
+    private final long seed;
+    private final long movieIdOffset;
+    private final int threads;
+
+    public ActivityGenerator(TargetDatabases databases, ActivityModel model, long seed, long movieIdOffset, int threads) {
+        this.databases = databases;
+        this.model = model;
+        this.seed = seed;
+        this.movieIdOffset = movieIdOffset;
+        this.threads = Math.max(1, threads);
+    }
+
+    public long writeRatings(long total, double activityExponent) throws Exception {
+        int[] counts = model.perUserCounts(total, activityExponent,
+                Math.min(MAX_RATINGS_PER_USER, Math.max(1, model.movies() / 2)), Seeds.RATINGS);
+
+        return inParallel("ratings", RATINGS_COPY_SQL, (copy, user, picked, seen) -> {
+            var rng = Seeds.rng(seed, Seeds.RATINGS, user);
+            UUID userId = Seeds.userId(seed, user);
+            double bias = 0.8 * rng.nextGaussian();
+
+            int n = model.drawDistinctMovies(rng, counts[user], picked, seen);
+            for (int i = 0; i < n; i++) {
+                var at = Timeline.randomInstant(rng);
+                copy.col(userId)
+                        .col(movieIdOffset + picked[i] + 1)
+                        .col(model.ratingTimesTen(rng, picked[i], bias))
+                        .col(at)
+                        .col(at)
+                        .endRow();
+            }
+        });
+    }
+
+    public long writeEngagements(long total, double activityExponent) throws Exception {
+        int[] counts = model.perUserCounts(total, activityExponent,
+                Math.min(MAX_ENGAGEMENTS_PER_USER, Math.max(1, model.movies() / 2)), Seeds.ENGAGEMENTS);
+
+        return inParallel("engagements", ENGAGEMENTS_COPY_SQL, (copy, user, picked, seen) -> {
+            var rng = Seeds.rng(seed, Seeds.ENGAGEMENTS, user);
+            UUID userId = Seeds.userId(seed, user);
+
+            // One type per (user, movie) keeps uk_engagement_user_movie_type satisfied trivially
+            int n = model.drawDistinctMovies(rng, counts[user], picked, seen);
+            for (int i = 0; i < n; i++) {
+                double u = rng.nextDouble();
+                int type = 0;
+                while (u >= ENGAGEMENT_TYPE_CDF[type]) {
+                    type++;
+                }
+                copy.col(userId)
+                        .col(movieIdOffset + picked[i] + 1)
+                        .col(ENGAGEMENT_TYPES[type])
+                        .col(Timeline.randomInstant(rng))
+                        .endRow();
+            }
+        });
+    }
+
+    /**
+     * Recompute movie_engagement_counts from engagements (same query as migration V7's backfill).
+     */
+    public void rebuildEngagementCounts() throws SQLException {
+        try (Connection con = databases.ratings(); var st = con.createStatement()) {
+            con.setAutoCommit(false);
+            st.execute("truncate movie_engagement_counts");
+            st.execute("""
+                    insert into movie_engagement_counts (movie_id, watchlist_count, favourite_count, like_count)
+                    select movie_id,
+                           count(*) filter (where type = 'WATCHLIST'),
+                           count(*) filter (where type = 'FAVOURITE'),
+                           count(*) filter (where type = 'LIKE')
+                    from engagements
+                    group by movie_id
+                    """);
+            con.commit();
+        }
+    }
+
+
+    ///  Helper Functions
+
+    @FunctionalInterface
+    private interface UserRows {
+        void write(CopyWriter copy, int user, int[] picked, BitSet seen) throws IOException;
+    }
+
+    private long inParallel(String table, String copySql, UserRows rows) throws Exception {
+        int usersPerChunk = Math.clamp(model.users() / (threads * 8L), MIN_USERS_PER_CHUNK, MAX_USERS_PER_CHUNK);
+        int chunks = (model.users() + usersPerChunk - 1) / usersPerChunk;
+        var nextChunk = new AtomicInteger();
+        var done = new AtomicInteger();
+        var written = new AtomicLong();
+        long started = System.nanoTime();
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                workers.add(pool.submit(() -> {
+                    int[] picked = new int[Math.max(MAX_RATINGS_PER_USER, MAX_ENGAGEMENTS_PER_USER)];
+                    BitSet seen = new BitSet(model.movies());
+
+                    try (Connection con = databases.ratings()) {
+                        for (int chunk; (chunk = nextChunk.getAndIncrement()) < chunks; ) {
+                            int from = chunk * usersPerChunk;
+                            int to = Math.min(model.users(), from + usersPerChunk);
+
+                            try (var copy = CopyWriter.open(con, copySql)) {
+                                for (int user = from; user < to; user++) {
+                                    rows.write(copy, user, picked, seen);
+                                }
+                                written.addAndGet(copy.finish());
+                            }
+
+                            int finished = done.incrementAndGet();
+                            if (finished % 10 == 0 || finished == chunks) {
+                                log.info("{}: {}/{} user chunks, {} rows", table, finished, chunks, written.get());
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (var worker : workers) {
+                try {
+                    worker.get();
+                }
+                catch (ExecutionException e) {
+                    pool.shutdownNow();
+                    if (e.getCause() instanceof Exception cause) {
+                        throw cause;
+                    }
+                    throw e;
+                }
+            }
+        }
+        finally {
+            pool.shutdown();
+        }
+
+        long millis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        log.info("{}: {} rows in {} ms ({} rows/s, {} threads)", table, written.get(), millis, written.get() * 1000 / millis, threads);
+        return written.get();
+    }
+}
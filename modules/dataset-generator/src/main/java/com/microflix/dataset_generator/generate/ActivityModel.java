@@ -0,0 +1,132 @@
+package com.microflix.dataset_generator.generate;
+
+import com.microflix.dataset_generator.sampling.Seeds;
+import com.microflix.dataset_generator.sampling.ZipfSampler;
+
+import java.util.BitSet;
+import java.util.SplittableRandom;
+
+/**
+ * Who rates/engages with what: the shared shape behind ratings and engagements.
+ *
+ * - Movie popularity is Zipfian over a seeded shuffle of the catalog, so popular movies
+ *   are spread across ids (and across rating-service's hash partitions) instead of being ids 1..k.
+ * - Per-user activity is Pareto-tailed: most users have a handful of rows, a few have thousands.
+ * - Each movie has a fixed "quality" that shifts its ratings up or down.
+ *
+ * Pure and deterministic — no I/O — so it can be tested without a database.
+ */
+public final class ActivityModel {
+
+    private final long seed;
+    private final int movies;
+    private final int users;
+    private final int[] rankToMovie;
+    private final ZipfSampler popularity;
+    private final float[] quality;
+
+    public ActivityModel(long seed, int movies, int users, double popularityExponent) {
+        this.seed = seed;
+        this.movies = movies;
+        this.users = users;
+        this.popularity = new ZipfSampler(movies, popularityExponent);
+
+        var rng = Seeds.rng(seed, Seeds.LAYOUT, 0);
+        rankToMovie = new int[movies];
+        for (int i = 0; i < movies; i++) {
+            rankToMovie[i] = i;
+        }
+        for (int i = movies - 1; i > 0; i--) {              // Fisher–Yates
+            int j = rng.nextInt(i + 1);
+            int t = rankToMovie[i];
+            rankToMovie[i] = rankToMovie[j];
+            rankToMovie[j] = t;
+        }
+
+        quality = new float[movies];
+        for (int i = 0; i < movies; i++) {
+            quality[i] = (float) rng.nextGaussian();
+        }
+    }
+
+    public int movies() {
+        return movies;
+    }
+
+    public int users() {
+        return users;
+    }
+
+    /**
+     * Rows per user summing to ~total, Pareto(alpha = activityExponent) shaped, none above maxPerUser.
+     * Mass cut off by the cap is redistributed over the uncapped users so the total holds.
+     */
+    public int[] perUserCounts(long total, double activityExponent, int maxPerUser, long stream) {
+        var rng = Seeds.rng(seed, Seeds.LAYOUT, stream);
+
+        double[] weight = new double[users];
+        for (int u = 0; u < users; u++) {
+            weight[u] = Math.pow(1 - rng.nextDouble(), -1 / activityExponent);
+        }
+
+        // Water-filling: scale so the total matches, pin anyone over the cap, repeat
+        double scale = 0;
+        for (int round = 0; round < 8; round++) {
+            double free = 0;
+            long capped = 0;
+            for (double w : weight) {
+                if (scale > 0 && w * scale >= maxPerUser) {
+                    capped++;
+                }
+                else {
+                    free += w;
+                }
+            }
+            double target = total - (double) capped * maxPerUser;
+            if (target <= 0 || free == 0) {
+                break;
+            }
+            double next = target / free;
+            if (Math.abs(next - scale) < 1e-9 * next) {
+                break;
+            }
+            scale = next;
+        }
+
+        int[] counts = new int[users];
+        for (int u = 0; u < users; u++) {
+            double exact = Math.min(maxPerUser, weight[u] * scale);
+            int whole = (int) exact;
+            counts[u] = whole + (rng.nextDouble() < exact - whole ? 1 : 0);   // stochastic rounding keeps the sum unbiased
+        }
+        return counts;
+    }
+
+    /**
+     * Draw up to count distinct movie indexes into out (popularity-weighted); returns how many.
+     * seen is caller-owned scratch (movies bits), left cleared.
+     */
+    public int drawDistinctMovies(SplittableRandom rng, int count, int[] out, BitSet seen) {
+        int n = 0;
+        int attempts = count * 10 + 100;       // the head saturates for heavy users; give up rather than spin
+        while (n < count && attempts-- > 0) {
+            int movie = rankToMovie[popularity.sample(rng)];
+            if (!seen.get(movie)) {
+                seen.set(movie);
+                out[n++] = movie;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            seen.clear(out[i]);
+        }
+        return n;
+    }
+
+    /**
+     * A 1–10 rating (×10, as stored in rating_times_ten) from movie quality, user bias and noise.
+     */
+    public int ratingTimesTen(SplittableRandom rng, int movie, double userBias) {
+        long stars = Math.round(6.5 + 1.5 * quality[movie] + userBias + 1.2 * rng.nextGaussian());
+        return (int) Math.max(1, Math.min(10, stars)) * 10;
+    }
+}
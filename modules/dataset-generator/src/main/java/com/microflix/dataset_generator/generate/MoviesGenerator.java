@@ -0,0 +1,191 @@
+package com.microflix.dataset_generator.generate;
+
+import com.microflix.dataset_generator.copy.CopyWriter;
+import com.microflix.dataset_generator.sampling.Seeds;
+import com.microflix.dataset_generator.sampling.ZipfSampler;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * movie-service movies + movie_genres.
+ *
+ * Genres are the 19 TMDb genres the ingestion job uses, ranked by how common they are
+ * on TMDb; each movie gets 1–3 distinct genres drawn Zipf-wise over that ranking, so
+ * Drama/Comedy dominate and Western/TV Movie are rare, as in the real catalog.
+ * Titles are built from word lists (including common search terms like "love" or
+ * "night") so trigram title search has realistic selectivity.
+ */
+public final class MoviesGenerator {
+
+    // Most → least common on TMDb
+    static final List<String> GENRES = List.of(
+            "Drama", "Comedy", "Thriller", "Action", "Horror", "Romance", "Crime", "Adventure",
+            "Science Fiction", "Family", "Fantasy", "Mystery", "Animation", "Documentary",
+            "History", "Music", "War", "TV Movie", "Western"
+    );
+
+    private static final String[] ADJECTIVES = {
+            "Last", "Silent", "Dark", "Broken", "Hidden", "Lost", "Golden", "Final", "Secret", "Wild",
+            "Crimson", "Frozen", "Endless", "Burning", "Forgotten", "Little", "Midnight", "Electric", "Quiet", "Savage",
+            "Bitter", "Hollow", "Perfect", "Distant", "Empty", "Fallen", "Restless", "Stolen", "Blue", "Iron"
+    };
+
+    private static final String[] NOUNS = {
+            "Love", "Night", "Shadow", "River", "City", "Heart", "Storm", "Dream", "Kingdom", "Road",
+            "Summer", "Winter", "Garden", "Empire", "Promise", "Echo", "Horizon", "Island", "Mirror", "Signal",
+            "House", "Crown", "Fire", "Game", "Letter", "Machine", "Ocean", "Station", "Stranger", "Witness",
+            "Wolf", "Secret", "Journey", "Harvest", "Frontier", "Legacy", "Memory", "Orbit", "Hunter", "Daughter"
+    };
+
+    private static final String[] PLACES = {
+            "a small town", "deep space", "post-war Europe", "the city", "a remote island", "the desert",
+            "a crumbling empire", "the suburbs", "a border town", "the near future"
+    };
+
+    private static final String[] ROMAN = {"II", "III", "IV", "V"};
+
+    private static final String MOVIES_COPY_SQL =
+            "copy movies (id, title, overview, release_year, runtime, created_at, updated_at) from stdin";
+
+    private static final String GENRES_COPY_SQL =
+            "copy movie_genres (movie_id, genre_id) from stdin";
+
+    private final long seed;
+    private final long idOffset;
+    private final ZipfSampler genrePopularity;
+
+    public MoviesGenerator(long seed, long idOffset, double genreExponent) {
+        this.seed = seed;
+        this.idOffset = idOffset;
+        this.genrePopularity = new ZipfSampler(GENRES.size(), genreExponent);
+    }
+
+    /**
+     * Write movies idOffset+1 .. idOffset+count, then their genre links, then move the id
+     * sequence past them. Returns movie rows written.
+     */
+    public long write(Connection con, int count) throws SQLException, IOException {
+        long[] genreIds = ensureGenres(con);
+
+        long movies;
+        try (var copy = CopyWriter.open(con, MOVIES_COPY_SQL)) {
+            for (int i = 0; i < count; i++) {
+                var rng = Seeds.rng(seed, Seeds.MOVIES, i);
+                Instant createdAt = Timeline.randomInstant(rng);
+
+                copy.col(movieId(i))
+                        .col(title(rng))
+                        .col(overview(rng))
+                        .col(releaseYear(rng))
+                        .col(80 + rng.nextInt(40) + (rng.nextInt(4) == 0 ? rng.nextInt(60) : 0))
+                        .col(createdAt)
+                        .col(createdAt)
+                        .endRow();
+            }
+            movies = copy.finish();
+        }
+
+        // Separate pass: movie_genres' FK needs the movies in place first
+        try (var copy = CopyWriter.open(con, GENRES_COPY_SQL)) {
+            int[] picked = new int[3];
+            for (int i = 0; i < count; i++) {
+                var rng = Seeds.rng(seed, Seeds.MOVIE_GENRES, i);
+                int n = genresFor(rng, picked);
+                for (int g = 0; g < n; g++) {
+                    copy.col(movieId(i)).col(genreIds[picked[g]]).endRow();
+                }
+            }
+            copy.finish();
+        }
+
+        try (var st = con.createStatement()) {
+            st.execute("select setval('movies_id_seq', (select max(id) from movies))");
+        }
+        return movies;
+    }
+
+    long movieId(int index) {
+        return idOffset + index + 1;
+    }
+
+    /**
+     * 1–3 distinct genre ranks into picked; returns how many.
+     */
+    int genresFor(SplittableRandom rng, int[] picked) {
+        double u = rng.nextDouble();
+        int want = u < 0.35 ? 1 : u < 0.80 ? 2 : 3;
+
+        int n = 0;
+        for (int attempt = 0; n < want && attempt < 20; attempt++) {
+            int g = genrePopularity.sample(rng);
+            boolean seen = false;
+            for (int j = 0; j < n; j++) {
+                seen |= picked[j] == g;
+            }
+            if (!seen) {
+                picked[n++] = g;
+            }
+        }
+        return n;
+    }
+
+
+    ///  Helper Functions
+
+    // genres.name is UNIQUE; insert whichever are missing and return ids in GENRES order
+    private static long[] ensureGenres(Connection con) throws SQLException {
+        long[] ids = new long[GENRES.size()];
+        try (PreparedStatement insert = con.prepareStatement("insert into genres (name) values (?) on conflict (name) do nothing");
+             PreparedStatement select = con.prepareStatement("select id from genres where name = ?")) {
+            for (int i = 0; i < GENRES.size(); i++) {
+                insert.setString(1, GENRES.get(i));
+                insert.executeUpdate();
+
+                select.setString(1, GENRES.get(i));
+                try (var rs = select.executeQuery()) {
+                    rs.next();
+                    ids[i] = rs.getLong(1);
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static String title(SplittableRandom rng) {
+        String adj = ADJECTIVES[rng.nextInt(ADJECTIVES.length)];
+        String noun = NOUNS[rng.nextInt(NOUNS.length)];
+        String other = NOUNS[rng.nextInt(NOUNS.length)];
+
+        String title = switch (rng.nextInt(5)) {
+            case 0 -> "The " + noun;
+            case 1 -> adj + " " + noun;
+            case 2 -> "The " + adj + " " + noun;
+            case 3 -> noun + " of the " + other;
+            default -> adj + " " + noun + ", " + adj + " " + other;
+        };
+        // A tail of sequels
+        if (rng.nextInt(12) == 0) {
+            title += " " + ROMAN[rng.nextInt(ROMAN.length)];
+        }
+        return title;
+    }
+
+    private static String overview(SplittableRandom rng) {
+        return "A " + ADJECTIVES[rng.nextInt(ADJECTIVES.length)].toLowerCase()
+                + " story of " + NOUNS[rng.nextInt(NOUNS.length)].toLowerCase()
+                + " and " + NOUNS[rng.nextInt(NOUNS.length)].toLowerCase()
+                + " set in " + PLACES[rng.nextInt(PLACES.length)] + ".";
+    }
+
+    // Skewed to recent years, like the real catalog: exponential back from 2025
+    private static int releaseYear(SplittableRandom rng) {
+        int yearsBack = (int) (-Math.log(1 - rng.nextDouble()) * 12);
+        return Math.max(1920, 2025 - yearsBack);
+    }
+}
@@ -0,0 +1,20 @@
+package com.microflix.dataset_generator.generate;
+
+import java.time.Instant;
+import java.util.SplittableRandom;
+
+/**
+ * The fixed three-year window every generated timestamp falls in.
+ * Anchored to a constant rather than now() so reruns produce identical rows.
+ */
+final class Timeline {
+
+    static final Instant END = Instant.parse("2026-01-01T00:00:00Z");
+    static final long SPAN_SECONDS = 3L * 365 * 24 * 3600;
+
+    private Timeline() {}
+
+    static Instant randomInstant(SplittableRandom rng) {
+        return END.minusSeconds(rng.nextLong(SPAN_SECONDS));
+    }
+}
@@ -0,0 +1,58 @@
+package com.microflix.dataset_generator.generate;
+
+import com.microflix.dataset_generator.copy.CopyWriter;
+import com.microflix.dataset_generator.sampling.Seeds;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+
+/**
+ * user-service users: user{n}@synthetic.microflix.local, all with the same password so
+ * load tests can log in as any of them.
+ */
+public final class UsersGenerator {
+
+    public static final String EMAIL_DOMAIN = "synthetic.microflix.local";
+    public static final String PASSWORD = "synthetic-password-1";
+
+    // BCrypt (cost 10) of PASSWORD — hashing a million passwords would take hours, and every user shares it
+    static final String PASSWORD_HASH = "$2a$10$zBCLuFJsqvKIkWX3SDgGh.L0vf6L9lFFb9D6L3Pf64X/vljnxROsS";
+
+    private static final String COPY_SQL =
+            "copy users (id, email, password_hash, display_name, roles, is_active, created_at, updated_at) from stdin";
+
+    private final long seed;
+
+    public UsersGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    public static String email(long index) {
+        return "user" + index + "@" + EMAIL_DOMAIN;
+    }
+
+    /**
+     * Write users 0..count-1 in one COPY. Returns rows written.
+     */
+    public long write(Connection con, int count) throws SQLException, IOException {
+        try (var copy = CopyWriter.open(con, COPY_SQL)) {
+            for (int i = 0; i < count; i++) {
+                var rng = Seeds.rng(seed, Seeds.USERS, i);
+                Instant createdAt = Timeline.randomInstant(rng);
+
+                copy.col(Seeds.userId(seed, i))
+                        .col(email(i))
+                        .col(PASSWORD_HASH)
+                        .col("Synthetic User " + i)
+                        .col("USER")
+                        .col("t")
+                        .col(createdAt)
+                        .col(createdAt)
+                        .endRow();
+            }
+            return copy.finish();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.microflix.dataset_generator.sampling;
+
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Deterministic randomness, keyed by (seed, stream, index).
+ *
+ * Every entity draws from its own generator, e.g. user 17's ratings from
+ * rng(seed, RATINGS, 17). Output therefore doesn't depend on thread count or on the
+ * order work is scheduled in — only on the seed and the sizes.
+ */
+public final class Seeds {
+
+    // One stream id per independent aspect of the dataset
+    public static final long USERS = 1;
+    public static final long MOVIES = 2;
+    public static final long MOVIE_GENRES = 3;
+    public static final long RATINGS = 4;
+    public static final long ENGAGEMENTS = 5;
+    public static final long LAYOUT = 6;
+
+    private Seeds() {}
+
+    public static SplittableRandom rng(long seed, long stream, long index) {
+        return new SplittableRandom(mix(seed, stream, index));
+    }
+
+    /**
+     * The UUID of synthetic user #index. Same in user-service's users and rating-service's
+     * ratings/engagements, which is what joins the two databases together.
+     */
+    public static UUID userId(long seed, long index) {
+        long hi = mix(seed, USERS, index);
+        long lo = mix(~seed, USERS, index);
+        hi = (hi & ~0xF000L) | 0x4000L;                         // version 4
+        lo = (lo & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;  // IETF variant
+        return new UUID(hi, lo);
+    }
+
+    // SplitMix64 finaliser over the three inputs
+    static long mix(long seed, long stream, long index) {
+        long z = seed + stream * 0x9E3779B97F4A7C15L + index * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,46 @@
+package com.microflix.dataset_generator.sampling;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Draws ranks 0..n-1 with P(rank k) ∝ 1 / (k + 1)^exponent.
+ *
+ * Precomputes the CDF (8 bytes per rank — 8 MB for 1M movies) and binary-searches it,
+ * so a draw is O(log n) with no allocation.
+ */
+public final class ZipfSampler {
+
+    private final double[] cdf;
+
+    public ZipfSampler(int n, double exponent) {
+        if (n < 1) {
+            throw new IllegalArgumentException("n must be positive");
+        }
+        if (exponent < 0) {
+            throw new IllegalArgumentException("exponent must not be negative");
+        }
+        cdf = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1.0 / Math.pow(k + 1, exponent);
+            cdf[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cdf[k] /= sum;
+        }
+        cdf[n - 1] = 1.0;      // guard against rounding: every u in [0, 1) lands on a rank
+    }
+
+    /**
+     * A rank; 0 is the most likely.
+     */
+    public int sample(SplittableRandom rng) {
+        int i = Arrays.binarySearch(cdf, rng.nextDouble());
+        return i >= 0 ? i : -i - 1;
+    }
+
+    public int size() {
+        return cdf.length;
+    }
+}
@@ -0,0 +1,60 @@
+package com.microflix.dataset_generator.generate;
+
+import com.microflix.dataset_generator.sampling.Seeds;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ActivityModelTest {
+
+    @Test
+    void perUserCounts_hitTotal_respectCap_andAreSkewed() {
+        var model = new ActivityModel(42, 5_000, 20_000, 1.0);
+
+        int[] counts = model.perUserCounts(1_000_000, 1.5, 1_000, Seeds.RATINGS);
+
+        long total = Arrays.stream(counts).asLongStream().sum();
+        assertEquals(1_000_000, total, 5_000, "capped mass is redistributed, so the total holds");
+        assertTrue(Arrays.stream(counts).allMatch(c -> c <= 1_000));
+
+        int[] sorted = counts.clone();
+        Arrays.sort(sorted);
+        int median = sorted[sorted.length / 2];
+        int p99 = sorted[sorted.length * 99 / 100];
+        assertTrue(p99 > 5 * median, "heavy users dominate: median=" + median + " p99=" + p99);
+    }
+
+    @Test
+    void drawDistinctMovies_isDeterministic_distinct_andLeavesScratchClear() {
+        var model = new ActivityModel(42, 2_000, 10, 1.0);
+        int[] a = new int[300];
+        int[] b = new int[300];
+        var seen = new BitSet(2_000);
+
+        int n = model.drawDistinctMovies(Seeds.rng(42, Seeds.RATINGS, 3), 300, a, seen);
+        int m = model.drawDistinctMovies(Seeds.rng(42, Seeds.RATINGS, 3), 300, b, seen);
+
+        assertEquals(300, n);
+        assertArrayEquals(a, b);
+        Set<Integer> distinct = new HashSet<>();
+        Arrays.stream(a).forEach(distinct::add);
+        assertEquals(300, distinct.size());
+        assertTrue(seen.isEmpty());
+    }
+
+    @Test
+    void ratingTimesTen_isOnTheStoredScale() {
+        var model = new ActivityModel(1, 100, 1, 1.0);
+        var rng = Seeds.rng(1, Seeds.RATINGS, 0);
+
+        for (int i = 0; i < 10_000; i++) {
+            int r = model.ratingTimesTen(rng, i % 100, 2.5);
+            assertTrue(r >= 10 && r <= 100 && r % 10 == 0, "got " + r);
+        }
+    }
+}
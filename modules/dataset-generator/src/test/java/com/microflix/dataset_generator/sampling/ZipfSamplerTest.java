@@ -0,0 +1,49 @@
+package com.microflix.dataset_generator.sampling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZipfSamplerTest {
+
+    @Test
+    void sample_followsPowerLaw_andStaysInRange() {
+        var sampler = new ZipfSampler(1_000, 1.0);
+        var rng = new SplittableRandom(7);
+        int[] hits = new int[1_000];
+
+        for (int i = 0; i < 200_000; i++) {
+            hits[sampler.sample(rng)]++;
+        }
+
+        // P(k) ∝ 1/(k+1): rank 0 about twice rank 1 and ten times rank 9
+        assertEquals(2.0, (double) hits[0] / hits[1], 0.15);
+        assertEquals(10.0, (double) hits[0] / hits[9], 1.0);
+        assertTrue(hits[999] > 0, "tail is reachable");
+    }
+
+    @Test
+    void exponentZero_isUniform() {
+        var sampler = new ZipfSampler(4, 0.0);
+        var rng = new SplittableRandom(1);
+        int[] hits = new int[4];
+
+        for (int i = 0; i < 40_000; i++) {
+            hits[sampler.sample(rng)]++;
+        }
+
+        for (int h : hits) {
+            assertEquals(10_000, h, 500);
+        }
+    }
+
+    @Test
+    void userId_isStablePerSeedAndIndex_andVersion4() {
+        assertEquals(Seeds.userId(42, 17), Seeds.userId(42, 17));
+        assertNotEquals(Seeds.userId(42, 17), Seeds.userId(42, 18));
+        assertNotEquals(Seeds.userId(42, 17), Seeds.userId(43, 17));
+        assertEquals(4, Seeds.userId(42, 17).version());
+    }
+}
@@ -0,0 +1,141 @@
+package com.microflix.gateway.catalog;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * DataLoader-style micro-batching of single-key lookups across concurrent requests.
+ *
+ * The first load() opens a batch; every key requested within the next {@code window}
+ * joins it, and the batch is sent as one call to {@code batchFn} when the window closes
+ * or it reaches {@code maxBatchSize} keys, whichever comes first. Each caller's Mono then
+ * completes with the value for its key.
+ *
+ * - duplicate keys in the same batch share one slot (and one result)
+ * - a key missing from the batch result completes empty, so callers can decide what "not found" means
+ * - if the batch call fails, every caller in that batch gets the error
+ *
+ * Metrics: catalog.batch.size{loader=...} (keys per downstream call, with histogram buckets)
+ * and catalog.batch.collapsed{loader=...} (lookups that joined a key already in the batch).
+ */
+class BatchLoader<K, V> {
+
+    private final Function<List<K>, Mono<Map<K, V>>> batchFn;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final Scheduler scheduler;
+
+    private final DistributionSummary batchSizes;
+    private final Counter collapsed;
+
+    private final Object lock = new Object();
+    private Map<K, Sinks.One<V>> pending;          // open batch, in arrival order; null when none (guarded by lock)
+
+    BatchLoader(
+            String name,
+            Function<List<K>, Mono<Map<K, V>>> batchFn,
+            Duration window,
+            int maxBatchSize,
+            MeterRegistry meterRegistry
+    ) {
+        this.batchFn = batchFn;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.scheduler = Schedulers.parallel();
+
+        this.batchSizes = DistributionSummary.builder("catalog.batch.size")
+                .description("Keys sent per batched downstream call")
+                .tag("loader", name)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.collapsed = Counter.builder("catalog.batch.collapsed")
+                .description("Lookups served by a key already waiting in the same batch")
+                .tag("loader", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * The value for one key, fetched as part of whichever batch is open when this Mono is subscribed.
+     */
+    Mono<V> load(K key) {
+        return Mono.defer(() -> {
+            Sinks.One<V> sink;
+            Map<K, Sinks.One<V>> full = null;
+
+            synchronized (lock) {
+                if (pending == null) {
+                    Map<K, Sinks.One<V>> opened = new LinkedHashMap<>();
+                    pending = opened;
+                    scheduler.schedule(() -> flushIfStillOpen(opened), windowNanos, TimeUnit.NANOSECONDS);
+                }
+
+                sink = pending.get(key);
+                if (sink == null) {
+                    sink = Sinks.one();
+                    pending.put(key, sink);
+                }
+                else {
+                    collapsed.increment();
+                }
+
+                // Full batch goes out now instead of waiting for the timer
+                if (pending.size() >= maxBatchSize) {
+                    full = pending;
+                    pending = null;
+                }
+            }
+
+            if (full != null) {
+                dispatch(full);
+            }
+            return sink.asMono();
+        });
+    }
+
+
+    ///  Helper Functions
+
+    // Timer callback; a batch that already went out because it filled up is left alone
+    private void flushIfStillOpen(Map<K, Sinks.One<V>> batch) {
+        synchronized (lock) {
+            if (pending != batch) {
+                return;
+            }
+            pending = null;
+        }
+        dispatch(batch);
+    }
+
+    // Runs outside the lock — the batch map is no longer reachable by load()
+    private void dispatch(Map<K, Sinks.One<V>> batch) {
+        batchSizes.record(batch.size());
+
+        batchFn.apply(new ArrayList<>(batch.keySet()))
+                .defaultIfEmpty(Map.of())
+                .subscribe(
+                        results -> batch.forEach((key, sink) -> {
+                            V value = results.get(key);
+                            if (value == null) {
+                                sink.tryEmitEmpty();
+                            }
+                            else {
+                                sink.tryEmitValue(value);
+                            }
+                        }),
+                        error -> batch.values().forEach(sink -> sink.tryEmitError(error))
+                );
+    }
+}
@@ -1,9 +1,12 @@
 package com.microflix.gateway.catalog;
 
+import com.microflix.gateway.catalog.dto.CatalogBrowseResponse;
 import com.microflix.gateway.catalog.dto.CatalogMovieDetailsResponse;
 import com.microflix.gateway.catalog.dto.CatalogWatchlistItemDto;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
@@ -41,6 +44,27 @@ public class CatalogController {
         return response;
     }
 
+    /**
+     * Get one page of the browse grid — movies, rating summaries and the current user's
+     * rated / watchlisted badges — in one hit.
+     *
+     * Takes the same filters as movie-service's GET /api/v1/movies. The Authorization header
+     * is optional; without it every tile gets the anonymous "me" view.
+     */
+    @GetMapping("/browse")
+    public Mono<CatalogBrowseResponse> browse(
+            @RequestParam(required = false) String query,
+            @RequestParam(required = false) String genre,
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false, defaultValue = "created_desc") String sort,
+            @RequestParam(required = false, defaultValue = "0") int page,
+            @RequestParam(required = false, defaultValue = "20") int size,
+            @RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authHeader
+    ) {
+
+        return catalogService.browse(query, genre, year, sort, page, size, authHeader);
+    }
+
     /**
      * Get the current user's watchlist hydrated with movie metadata in one hit.
      *
@@ -56,4 +80,20 @@ public class CatalogController {
         return catalogService.getWatchlist(authHeader);
     }
 
+    /**
+     * Same watchlist as {@link #getWatchlist}, streamed as newline-delimited JSON — one
+     * CatalogWatchlistItemDto per line, in the same order.
+     *
+     * Rows are written as soon as their chunk is hydrated, so the first ones reach the client
+     * while later chunks are still loading. A downstream failure after the first rows ends the
+     * stream early (the 200 status has already been sent).
+     */
+    @GetMapping(value = "/watchlist/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<CatalogWatchlistItemDto> streamWatchlist(
+            @RequestHeader(name = HttpHeaders.AUTHORIZATION) String authHeader
+    ) {
+
+        return catalogService.streamWatchlist(authHeader);
+    }
+
 }
@@ -1,17 +1,27 @@
 package com.microflix.gateway.catalog;
 
 import com.microflix.gateway.catalog.dto.*;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.observability.micrometer.Micrometer;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -24,39 +34,189 @@ import java.util.stream.Collectors;
 @Service
 public class CatalogService {
 
-    private final WebClient.Builder webClientBuilder;
+    /**
+     * rating-service response header carrying the next watchlist page cursor.
+     */
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /**
+     * movie-service's /movies/batch cap (MAX_BATCH_SIZE); batched movie lookups never exceed it.
+     */
+    static final int MOVIE_BATCH_MAX_SIZE = 50;
+
+    /**
+     * movie-service sparse fieldsets (fields=): exactly the CatalogMovieDto properties for the
+     * detail view, and only what a grid tile shows for watchlist and browse — movie-service then
+     * never reads or sends overview, backdrop, tmdbId or timestamps for those.
+     */
+    static final String MOVIE_DETAIL_FIELDS = "title,overview,releaseYear,runtime,posterUrl,backdropUrl,genres";
+    static final String MOVIE_TILE_FIELDS = "title,releaseYear,posterUrl,genres";
+
+    // Shared, pre-built clients with their own connection pools (see WebClientConfig)
+    private final WebClient movieClient;
+    private final WebClient ratingClient;
+
+    // Movie metadata + rating summary per movie — the part of the detail view that isn't per-user
+    private final MovieOverviewCache overviewCache;
+
+    // Per-id lookups from concurrent requests, merged into batch calls; null when batching is off
+    private final BatchLoader<Long, CatalogMovieDto> movieBatcher;
+    private final BatchLoader<Long, CatalogRatingSummaryDto> summaryBatcher;
+
+    // Timeout + circuit breaker + bulkhead per downstream, applied to every call below
+    private final DownstreamResilience resilience;
+
+    // Second attempt for slow GETs (opt-in, app.catalog.hedging.enabled)
+    private final RequestHedger hedger;
+
+    // One catalog.downstream span per downstream call (hedged attempts are its child HTTP spans)
+    private final ObservationRegistry observationRegistry;
+
+    // Watchlist hydration: ids per movie-service batch call, and batch calls in flight per request
+    private final int watchlistChunkSize;
+    private final int watchlistConcurrency;
+
+    // Detail / browse responses served with a section missing, by section (ratingSummary | me)
+    private final Counter degradedSummaries;
+    private final Counter degradedMe;
+    private final Counter degradedBrowseSummaries;
+    private final Counter degradedBrowseMe;
 
-    public CatalogService(WebClient.Builder webClientBuilder) {
-        this.webClientBuilder = webClientBuilder;
+    public CatalogService(
+            @Qualifier("movieServiceClient") WebClient movieClient,
+            @Qualifier("ratingServiceClient") WebClient ratingClient,
+            DownstreamResilience resilience,
+            RequestHedger hedger,
+            MeterRegistry meterRegistry,
+            ObservationRegistry observationRegistry,
+            @Value("${app.catalog.overview-cache.max-size:10000}") long overviewCacheMaxSize,
+            @Value("${app.catalog.overview-cache.refresh-after:PT30S}") Duration overviewRefreshAfter,
+            @Value("${app.catalog.overview-cache.expire-after:PT10M}") Duration overviewExpireAfter,
+            @Value("${app.catalog.overview-cache.degraded-expire-after:PT5S}") Duration overviewDegradedExpireAfter,
+            @Value("${app.catalog.batching.enabled:true}") boolean batchingEnabled,
+            @Value("${app.catalog.batching.window:PT0.005S}") Duration batchWindow,
+            @Value("${app.catalog.batching.max-size:50}") int batchMaxSize,
+            @Value("${app.catalog.watchlist.chunk-size:25}") int watchlistChunkSize,
+            @Value("${app.catalog.watchlist.hydration-concurrency:4}") int watchlistConcurrency
+    ) {
+        this.movieClient = movieClient;
+        this.ratingClient = ratingClient;
+        this.resilience = resilience;
+        this.hedger = hedger;
+        this.observationRegistry = observationRegistry;
+        this.watchlistChunkSize = Math.max(1, Math.min(watchlistChunkSize, MOVIE_BATCH_MAX_SIZE));
+        this.watchlistConcurrency = Math.max(1, watchlistConcurrency);
+        this.degradedSummaries = degradedCounter(meterRegistry, "details", "ratingSummary");
+        this.degradedMe = degradedCounter(meterRegistry, "details", "me");
+        this.degradedBrowseSummaries = degradedCounter(meterRegistry, "browse", "ratingSummary");
+        this.degradedBrowseMe = degradedCounter(meterRegistry, "browse", "me");
+        if (batchingEnabled) {
+            this.movieBatcher = new BatchLoader<>("movies", this::fetchMoviesById,
+                    batchWindow, Math.min(batchMaxSize, MOVIE_BATCH_MAX_SIZE), meterRegistry);
+            this.summaryBatcher = new BatchLoader<>("rating-summaries", this::fetchRatingSummariesById,
+                    batchWindow, batchMaxSize, meterRegistry);
+        }
+        else {
+            this.movieBatcher = null;
+            this.summaryBatcher = null;
+        }
+        this.overviewCache = new MovieOverviewCache(
+                this::fetchMovieOverview,
+                overviewCacheMaxSize,
+                overviewRefreshAfter,
+                overviewExpireAfter,
+                overviewDegradedExpireAfter,
+                meterRegistry
+        );
+    }
+
+    private static Counter degradedCounter(MeterRegistry meterRegistry, String view, String section) {
+        return Counter.builder("catalog." + view + ".degraded")
+                .description("Catalog " + view + " responses served without a section because its downstream was unavailable")
+                .tag("section", section)
+                .register(meterRegistry);
     }
 
     /**
      * Build the aggregated movie details response.
+     *
+     * Movie + rating summary come from the overview cache (shared by every user, refreshed in the
+     * background); only the "me" section is fetched live per request.
+     *
+     * The movie is required; without it the request fails. If rating-service is unavailable
+     * (timeout, open breaker, full bulkhead, 5xx), the response degrades instead: ratingSummary
+     * is null and/or me is the anonymous view, and partial=true tells the frontend.
      */
     public Mono<CatalogMovieDetailsResponse> getMovieDetails(Long movieId, String authHeader) {
-        WebClient client = webClientBuilder.build();
-
-        Mono<CatalogMovieDto> movieMono = fetchMovie(client, movieId);
-        Mono<CatalogRatingSummaryDto> summaryMono = fetchRatingSummary(client, movieId);
-        Mono<CatalogMeDto> meMono = fetchMeSection(client, movieId, authHeader);
-
-        // Wait for all three calls to complete, then assemble the response.
-        return Mono.zip(movieMono, summaryMono, meMono)
-                .map(tuple -> new CatalogMovieDetailsResponse(
-                        tuple.getT1(),  // movie
-                        tuple.getT2(),  // ratingSummary
-                        tuple.getT3()   // me
-                ));
+        Mono<MovieOverviewCache.MovieOverview> overviewMono = overviewCache.get(movieId);
+        Mono<Optional<CatalogMeDto>> meMono = fetchMeSection(movieId, authHeader)
+                .map(Optional::of)
+                .onErrorResume(DownstreamResilience::isUnavailable, ex -> {
+                    degradedMe.increment();
+                    return Mono.just(Optional.empty());
+                });
+
+        // Wait for both to complete, then assemble the response.
+        return Mono.zip(overviewMono, meMono)
+                .map(tuple -> {
+                    MovieOverviewCache.MovieOverview overview = tuple.getT1();
+                    Optional<CatalogMeDto> me = tuple.getT2();
+                    if (overview.partial()) {
+                        degradedSummaries.increment();
+                    }
+                    return new CatalogMovieDetailsResponse(
+                            overview.movie(),                           // movie
+                            overview.ratingSummary(),                   // ratingSummary (null if degraded)
+                            me.orElseGet(CatalogMeDto::anonymous),      // me
+                            overview.partial() || me.isEmpty()          // partial
+                    );
+                });
+    }
+
+    /**
+     * Load the user-independent half of the detail view — what the overview cache calls on a miss or refresh.
+     * An unavailable rating-service leaves the summary null (see MovieOverview.partial).
+     */
+    private Mono<MovieOverviewCache.MovieOverview> fetchMovieOverview(Long movieId) {
+        Mono<Optional<CatalogRatingSummaryDto>> summaryMono = loadRatingSummary(movieId)
+                .map(Optional::of)
+                .onErrorResume(DownstreamResilience::isUnavailable, ex -> Mono.just(Optional.empty()));
+
+        return Mono.zip(loadMovie(movieId), summaryMono)
+                .map(tuple -> new MovieOverviewCache.MovieOverview(tuple.getT1(), tuple.getT2().orElse(null)));
+    }
+
+    /**
+     * One movie, via the batcher when it's on. An id the batch didn't return is re-fetched on its
+     * own, so an unknown movie still surfaces movie-service's 404 ProblemDetail unchanged.
+     */
+    private Mono<CatalogMovieDto> loadMovie(Long movieId) {
+        if (movieBatcher == null) {
+            return fetchMovie(movieId);
+        }
+        return movieBatcher.load(movieId)
+                .switchIfEmpty(Mono.defer(() -> fetchMovie(movieId)));
+    }
+
+    /**
+     * One rating summary, via the batcher when it's on. The batch endpoint zero-fills unrated movies.
+     */
+    private Mono<CatalogRatingSummaryDto> loadRatingSummary(Long movieId) {
+        if (summaryBatcher == null) {
+            return fetchRatingSummary(movieId);
+        }
+        return summaryBatcher.load(movieId)
+                .defaultIfEmpty(CatalogRatingSummaryDto.empty());
     }
 
     /**
      * Fetch movie metadata from movie-service.
      */
-    private Mono<CatalogMovieDto> fetchMovie(WebClient client, Long movieId) {
-        return client.get()
-                .uri("lb://movie-service/api/v1/movies/{id}", movieId)
-                .retrieve()
-                .bodyToMono(CatalogMovieDto.class);
+    private Mono<CatalogMovieDto> fetchMovie(Long movieId) {
+        return downstreamGet(WebClientConfig.MOVIE_SERVICE, "movies.get", () -> movieClient.get()
+                    .uri("/api/v1/movies/{id}", movieId)
+                    .retrieve()
+                    .bodyToMono(CatalogMovieDto.class));
         // If movie doesn't exist, this will error; you can optionally map 404 -> ProblemDetail later.
     }
 
@@ -64,11 +224,11 @@ public class CatalogService {
      * Fetch rating summary (average + count) from rating-service.
      * If no ratings exist yet, treat 404 as "empty summary".
      */
-    private Mono<CatalogRatingSummaryDto> fetchRatingSummary(WebClient client, Long movieId) {
-        return client.get()
-                .uri("lb://rating-service/api/v1/ratings/movie/{id}/summary", movieId)
-                .retrieve()
-                .bodyToMono(CatalogRatingSummaryDto.class)
+    private Mono<CatalogRatingSummaryDto> fetchRatingSummary(Long movieId) {
+        return downstreamGet(WebClientConfig.RATING_SERVICE, "ratings.summary", () -> ratingClient.get()
+                    .uri("/api/v1/ratings/movie/{id}/summary", movieId)
+                    .retrieve()
+                    .bodyToMono(CatalogRatingSummaryDto.class))
                 .onErrorResume(WebClientResponseException.NotFound.class,
                         ex -> Mono.just(CatalogRatingSummaryDto.empty())
                 );
@@ -78,88 +238,299 @@ public class CatalogService {
      * Build the "me" section (my rating + watchlist status).
      * If there is no Authorization header, returns an anonymous view.
      */
-    private Mono<CatalogMeDto> fetchMeSection(WebClient client, Long movieId, String authHeader) {
+    private Mono<CatalogMeDto> fetchMeSection(Long movieId, String authHeader) {
 
         // Not logged in → anonymous view (no rating, not in watchlist)
         if (authHeader == null || authHeader.isBlank()) {
             return Mono.just(CatalogMeDto.anonymous());
         }
 
-        Mono<Double> myRatingMono = client.get()
-                .uri("lb://rating-service/api/v1/ratings/movie/{id}/me", movieId)
-                .header(HttpHeaders.AUTHORIZATION, authHeader)
-                .retrieve()
-                .bodyToMono(MyRatingDto.class)
-                .map(MyRatingDto::rate)       // map from rating-service DTO to just the score
-                .onErrorResume(WebClientResponseException.NotFound.class,
-                        ex -> Mono.just(null)   // no rating yet
-                );
+        // One call for rating + all engagement flags — rating-service answers it with a single
+        // UNION query, instead of the old pair of /ratings/movie/{id}/me + /engagements/watchlist/{id}/me
+        // (two JWT verifications, two DB round-trips).
+        return downstreamGet(WebClientConfig.RATING_SERVICE, "ratings.me-state", () -> ratingClient.get()
+                    .uri("/api/v1/ratings/movie/{id}/me/state", movieId)
+                    .header(HttpHeaders.AUTHORIZATION, authHeader)
+                    .retrieve()
+                    .bodyToMono(MyMovieStateDto.class))
+                .map(state -> new CatalogMeDto(
+                        state.rating(),             // rating (may be null)
+                        state.has("WATCHLIST")      // inWatchlist
+                ));
+    }
 
-        Mono<Boolean> inWatchlistMono = client.get()
-                .uri("lb://rating-service/api/v1/engagements/watchlist/{id}/me", movieId)
-                .header(HttpHeaders.AUTHORIZATION, authHeader)
-                .retrieve()
-                .bodyToMono(Boolean.class)
-                .onErrorResume(WebClientResponseException.NotFound.class,
-                        ex -> Mono.just(false)  // not in watchlist
-                );
+    /**
+     * Page size used when walking rating-service's watchlist — its MAX_PAGE_SIZE, so a
+     * 500-entry watchlist takes five engagements calls.
+     */
+    static final int WATCHLIST_PAGE_SIZE = 100;
+
+    /**
+     * Build the aggregated watchlist response: {@link #streamWatchlist} collected into one list.
+     */
+    public Mono<List<CatalogWatchlistItemDto>> getWatchlist(String authHeader) {
+        return streamWatchlist(authHeader).collectList();
+    }
+
+    /**
+     * Stream the current user's watchlist, hydrated, in addedAt-desc order.
+     *
+     * Walks rating-service's cursor-paginated watchlist one page at a time (each cursor comes
+     * from the previous page), splits every page into chunks of {@code chunk-size} ids, and
+     * hydrates the chunks through movie-service's batch endpoint with up to
+     * {@code hydration-concurrency} calls in flight. flatMapSequential emits chunks in
+     * engagement order, so the first rows go out while later chunks — and later pages —
+     * are still loading. An empty watchlist never touches movie-service.
+     *
+     * Order is preserved throughout: rating-service returns engagements in addedAt-desc order,
+     * pages and chunks are re-sequenced in that order, and the join helper below rebuilds each
+     * chunk in engagement order — since the movie-service batch endpoint also preserves input-id
+     * order, we could rely on its response directly, but doing the Map-based join here is
+     * robust to any reordering and also drops engagements whose movie row has gone missing
+     * (stale engagement rows).
+     */
+    public Flux<CatalogWatchlistItemDto> streamWatchlist(String authHeader) {
+        return fetchWatchlistPage(authHeader, null)
+                .expand(page -> page.nextCursor() == null
+                        ? Mono.empty()
+                        : fetchWatchlistPage(authHeader, page.nextCursor()))
+                .concatMapIterable(page -> chunk(page.items(), watchlistChunkSize))
+                .flatMapSequential(this::hydrateWatchlistChunk, watchlistConcurrency)
+                .concatMapIterable(items -> items);
+    }
 
-        // Combine my rating + watchlist flag into a single "me" DTO
-        return Mono.zip(myRatingMono, inWatchlistMono)
-                .map(tuple -> new CatalogMeDto(
-                        tuple.getT1(),    // rating (may be null)
-                        tuple.getT2()     // inWatchlist
+    /**
+     * Fetch one page of the current user's engagement rows from rating-service. Authorization
+     * header is required — rating-service resolves @AuthenticationPrincipal from it.
+     */
+    private Mono<EngagementPageDto> fetchWatchlistPage(String authHeader, String cursor) {
+        return downstreamGet(WebClientConfig.RATING_SERVICE, "engagements.watchlist", () -> ratingClient.get()
+                    .uri(cursor == null
+                                    ? "/api/v1/engagements/watchlist?limit={limit}"
+                                    : "/api/v1/engagements/watchlist?limit={limit}&cursor={cursor}",
+                            WATCHLIST_PAGE_SIZE, cursor)
+                    .header(HttpHeaders.AUTHORIZATION, authHeader)
+                    .retrieve()
+                    .toEntity(new ParameterizedTypeReference<List<EngagementDto>>() {}))
+                .map(entity -> new EngagementPageDto(
+                        entity.getBody() == null ? List.of() : entity.getBody(),
+                        entity.getHeaders().getFirst(NEXT_CURSOR_HEADER)
                 ));
     }
 
     /**
-     * Build the aggregated watchlist response.
+     * Hydrate one chunk of engagements with movie metadata and join them.
+     */
+    private Mono<List<CatalogWatchlistItemDto>> hydrateWatchlistChunk(List<EngagementDto> engagements) {
+        if (engagements.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        List<Long> movieIds = engagements.stream().map(EngagementDto::movieId).toList();
+        return fetchMoviesBatch(movieIds, MOVIE_TILE_FIELDS)
+                .map(movies -> joinWatchlist(engagements, movies));
+    }
+
+    /**
+     * Hydrate a list of movie ids via movie-service's batch endpoint in one round-trip,
+     * with only the given fields filled in.
+     */
+    private Mono<List<CatalogMovieDto>> fetchMoviesBatch(List<Long> movieIds, String fields) {
+        String idsCsv = movieIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+        return downstreamGet(WebClientConfig.MOVIE_SERVICE, "movies.batch", () -> movieClient.get()
+                    .uri("/api/v1/movies/batch?ids={ids}&fields={fields}", idsCsv, fields)
+                    .retrieve()
+                    .bodyToMono(new ParameterizedTypeReference<List<CatalogMovieDto>>() {}));
+    }
+
+    /**
+     * Batch function behind {@link #movieBatcher}: one movie-service batch call, keyed by id.
+     */
+    private Mono<Map<Long, CatalogMovieDto>> fetchMoviesById(List<Long> movieIds) {
+        return fetchMoviesBatch(movieIds, MOVIE_DETAIL_FIELDS)
+                .map(movies -> {
+                    Map<Long, CatalogMovieDto> byId = new HashMap<>(movies.size());
+                    for (CatalogMovieDto movie : movies) {
+                        byId.put(movie.id(), movie);
+                    }
+                    return byId;
+                });
+    }
+
+    /**
+     * Batch function behind {@link #summaryBatcher}: rating summaries for many movies in one call.
+     */
+    private Mono<Map<Long, CatalogRatingSummaryDto>> fetchRatingSummariesById(List<Long> movieIds) {
+        String idsCsv = movieIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+        return downstreamGet(WebClientConfig.RATING_SERVICE, "ratings.summaries", () -> ratingClient.get()
+                    .uri("/api/v1/ratings/summaries?ids={ids}", idsCsv)
+                    .retrieve()
+                    .bodyToMono(new ParameterizedTypeReference<List<MovieRatingSummaryDto>>() {}))
+                .map(summaries -> {
+                    Map<Long, CatalogRatingSummaryDto> byId = new HashMap<>(summaries.size());
+                    for (MovieRatingSummaryDto summary : summaries) {
+                        byId.put(summary.movieId(), summary.toCatalog());
+                    }
+                    return byId;
+                });
+    }
+
+    /**
+     * Largest browse page. Keeps both rating-service batch calls well under their 300-id cap.
+     */
+    static final int BROWSE_MAX_PAGE_SIZE = 100;
+
+    /**
+     * Build one page of the browse grid: movies + rating summaries + the current user's badges.
      *
-     * Two downstream calls, sequenced: rating-service for engagements, then movie-service's
-     * batch endpoint to hydrate those engagements in one query instead of fanning out N
-     * /{id} calls. Empty watchlist short-circuits without touching movie-service.
+     * One movie-service search, then one batch summary call and (when logged in) one batch
+     * "my state" call to rating-service in parallel — three downstream requests per page
+     * whatever its size, instead of 1 + 2N. An empty page stops after the search.
      *
-     * Order preserved throughout: rating-service returns engagements in addedAt-desc order,
-     * and the join helper below rebuilds the response list in that same order — since the
-     * movie-service batch endpoint also preserves input-id order, we could rely on its
-     * response directly, but doing the Map-based join here is robust to any reordering and
-     * also drops engagements whose movie row has gone missing (stale engagement rows).
+     * Degrades like the detail view: if rating-service is unavailable, every tile has a null
+     * ratingSummary and/or the anonymous me, and partial=true. Sizes above
+     * {@link #BROWSE_MAX_PAGE_SIZE} are clamped.
      */
-    public Mono<List<CatalogWatchlistItemDto>> getWatchlist(String authHeader) {
-        WebClient client = webClientBuilder.build();
+    public Mono<CatalogBrowseResponse> browse(
+            String query,
+            String genre,
+            Integer year,
+            String sort,
+            int page,
+            int size,
+            String authHeader
+    ) {
+        int pageSize = Math.max(1, Math.min(size, BROWSE_MAX_PAGE_SIZE));
 
-        return fetchWatchlistEngagements(client, authHeader)
-                .flatMap(engagements -> {
-                    if (engagements.isEmpty()) {
-                        return Mono.just(List.<CatalogWatchlistItemDto>of());
+        return searchMovies(query, genre, year, sort, page, pageSize)
+                .flatMap(moviePage -> {
+                    List<CatalogMovieDto> movies = moviePage.content() == null ? List.of() : moviePage.content();
+                    if (movies.isEmpty()) {
+                        return Mono.just(browseResponse(moviePage, List.of(), false));
                     }
-                    List<Long> movieIds = engagements.stream().map(EngagementDto::movieId).toList();
-                    return fetchMoviesBatch(client, movieIds)
-                            .map(movies -> joinWatchlist(engagements, movies));
+                    List<Long> movieIds = movies.stream().map(CatalogMovieDto::id).toList();
+
+                    Mono<Optional<Map<Long, CatalogRatingSummaryDto>>> summariesMono = fetchRatingSummariesById(movieIds)
+                            .map(Optional::of)
+                            .onErrorResume(DownstreamResilience::isUnavailable, ex -> {
+                                degradedBrowseSummaries.increment();
+                                return Mono.just(Optional.empty());
+                            });
+                    Mono<Optional<Map<Long, MyMovieStateDto>>> statesMono = fetchMyStatesById(movieIds, authHeader)
+                            .map(Optional::of)
+                            .onErrorResume(DownstreamResilience::isUnavailable, ex -> {
+                                degradedBrowseMe.increment();
+                                return Mono.just(Optional.empty());
+                            });
+
+                    return Mono.zip(summariesMono, statesMono)
+                            .map(tuple -> browseResponse(
+                                    moviePage,
+                                    joinBrowse(movies, tuple.getT1().orElse(null), tuple.getT2().orElse(Map.of())),
+                                    tuple.getT1().isEmpty() || tuple.getT2().isEmpty()
+                            ));
                 });
     }
 
     /**
-     * Fetch the current user's engagement rows from rating-service. Authorization header
-     * is required — rating-service resolves @AuthenticationPrincipal from it.
+     * One page of movie-service's search, passing the browse filters through unchanged.
+     * Only the tile fields are requested, so overview etc. are null on browse tiles.
      */
-    private Mono<List<EngagementDto>> fetchWatchlistEngagements(WebClient client, String authHeader) {
-        return client.get()
-                .uri("lb://rating-service/api/v1/engagements/watchlist")
-                .header(HttpHeaders.AUTHORIZATION, authHeader)
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<List<EngagementDto>>() {});
+    private Mono<MoviePageDto> searchMovies(String query, String genre, Integer year, String sort, int page, int size) {
+        return downstreamGet(WebClientConfig.MOVIE_SERVICE, "movies.search", () -> movieClient.get()
+                    .uri(uri -> {
+                        Map<String, Object> vars = new HashMap<>();
+                        uri.path("/api/v1/movies");
+                        if (query != null) {
+                            uri.queryParam("query", "{query}");
+                            vars.put("query", query);
+                        }
+                        if (genre != null) {
+                            uri.queryParam("genre", "{genre}");
+                            vars.put("genre", genre);
+                        }
+                        if (year != null) {
+                            uri.queryParam("year", "{year}");
+                            vars.put("year", year);
+                        }
+                        if (sort != null) {
+                            uri.queryParam("sort", "{sort}");
+                            vars.put("sort", sort);
+                        }
+                        uri.queryParam("page", "{page}").queryParam("size", "{size}").queryParam("fields", "{fields}");
+                        vars.put("page", page);
+                        vars.put("size", size);
+                        vars.put("fields", MOVIE_TILE_FIELDS);
+                        return uri.build(vars);
+                    })
+                    .retrieve()
+                    .bodyToMono(MoviePageDto.class));
     }
 
     /**
-     * Hydrate a list of movie ids via movie-service's batch endpoint in one round-trip.
+     * The current user's rating + engagements for many movies in one call, keyed by movie id.
+     * Anonymous callers get an empty map without touching rating-service.
      */
-    private Mono<List<CatalogMovieDto>> fetchMoviesBatch(WebClient client, List<Long> movieIds) {
+    private Mono<Map<Long, MyMovieStateDto>> fetchMyStatesById(List<Long> movieIds, String authHeader) {
+        if (authHeader == null || authHeader.isBlank()) {
+            return Mono.just(Map.of());
+        }
+
         String idsCsv = movieIds.stream().map(String::valueOf).collect(Collectors.joining(","));
-        return client.get()
-                .uri("lb://movie-service/api/v1/movies/batch?ids={ids}", idsCsv)
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<List<CatalogMovieDto>>() {});
+        return downstreamGet(WebClientConfig.RATING_SERVICE, "ratings.me-states", () -> ratingClient.get()
+                    .uri("/api/v1/ratings/me/state?ids={ids}", idsCsv)
+                    .header(HttpHeaders.AUTHORIZATION, authHeader)
+                    .retrieve()
+                    .bodyToMono(new ParameterizedTypeReference<List<MyMovieStateDto>>() {}))
+                .map(states -> {
+                    Map<Long, MyMovieStateDto> byId = new HashMap<>(states.size());
+                    for (MyMovieStateDto state : states) {
+                        byId.put(state.movieId(), state);
+                    }
+                    return byId;
+                });
+    }
+
+    private static CatalogBrowseResponse browseResponse(
+            MoviePageDto moviePage,
+            List<CatalogBrowseItemDto> items,
+            boolean partial
+    ) {
+        return new CatalogBrowseResponse(
+                items,
+                moviePage.totalElements(),
+                moviePage.totalPages(),
+                moviePage.number(),
+                moviePage.size(),
+                partial
+        );
+    }
+
+    /**
+     * Every downstream GET goes through here: each attempt gets the downstream's timeout, breaker
+     * and bulkhead, and a slow first attempt may be hedged with a second one. All catalog calls
+     * are idempotent reads, so sending one twice is safe.
+     *
+     * The whole call, hedge and all, is one catalog.downstream span (tagged downstream, route) under
+     * the current request's span; each attempt's HTTP client span nests inside it. Batched lookups
+     * run outside any one request, so their spans start a trace of their own.
+     */
+    private <T> Mono<T> downstreamGet(String downstream, String route, Supplier<Mono<T>> request) {
+        return hedger.hedge(route, () -> request.get().transform(resilience.guard(downstream)))
+                .name("catalog.downstream")
+                .tag("downstream", downstream)
+                .tag("route", route)
+                .tap(Micrometer.observation(observationRegistry));
+    }
+
+    /**
+     * Split a list into consecutive sublists of at most {@code size} elements (views, not copies).
+     */
+    static <T> List<List<T>> chunk(List<T> items, int size) {
+        List<List<T>> chunks = new ArrayList<>((items.size() + size - 1) / size);
+        for (int from = 0; from < items.size(); from += size) {
+            chunks.add(items.subList(from, Math.min(from + size, items.size())));
+        }
+        return chunks;
     }
 
     /**
@@ -185,4 +556,32 @@ public class CatalogService {
         }
         return result;
     }
+
+    /**
+     * Pure-function join for the browse grid: one tile per movie, in search order.
+     *
+     * - summaries null means rating-service was unavailable → every tile gets a null ratingSummary;
+     *   otherwise a movie missing from the map has no ratings yet → empty summary
+     * - a movie missing from states (or an anonymous caller's empty map) → anonymous me
+     */
+    static List<CatalogBrowseItemDto> joinBrowse(
+            List<CatalogMovieDto> movies,
+            Map<Long, CatalogRatingSummaryDto> summaries,
+            Map<Long, MyMovieStateDto> states
+    ) {
+        List<CatalogBrowseItemDto> result = new ArrayList<>(movies.size());
+        for (CatalogMovieDto movie : movies) {
+            CatalogRatingSummaryDto summary = summaries == null
+                    ? null
+                    : summaries.getOrDefault(movie.id(), CatalogRatingSummaryDto.empty());
+
+            MyMovieStateDto state = states.get(movie.id());
+            CatalogMeDto me = state == null
+                    ? CatalogMeDto.anonymous()
+                    : new CatalogMeDto(state.rating(), state.has("WATCHLIST"));
+
+            result.add(new CatalogBrowseItemDto(movie, summary, me));
+        }
+        return result;
+    }
 }
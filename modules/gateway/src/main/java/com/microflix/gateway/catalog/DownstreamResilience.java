@@ -0,0 +1,119 @@
+package com.microflix.gateway.catalog;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Timeout + circuit breaker + bulkhead around every catalog call to a downstream service.
+ *
+ * One instance of each per downstream (movie-service, rating-service), so a struggling
+ * rating-service trips its own breaker and can't use up movie-service's concurrency.
+ *
+ * - timeout: per downstream; a timed-out call counts as a breaker failure
+ * - circuit breaker: opens on failure rate or slow-call rate, then fails fast until the half-open probe succeeds
+ * - bulkhead: caps in-flight calls per downstream; excess calls are rejected at once, not queued
+ *
+ * Downstream 4xx responses (404 movie, 401 token) are answers, not failures — they pass through
+ * and don't move the breaker.
+ *
+ * Metrics: resilience4j.circuitbreaker.* and resilience4j.bulkhead.* tagged name=movie-service|rating-service.
+ */
+@Component
+public class DownstreamResilience {
+
+    private final Map<String, Duration> timeouts;
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final BulkheadRegistry bulkheads;
+
+    public DownstreamResilience(
+            MeterRegistry meterRegistry,
+            @Value("${app.catalog.resilience.movie-service.timeout:PT2S}") Duration movieTimeout,
+            @Value("${app.catalog.resilience.rating-service.timeout:PT1S}") Duration ratingTimeout,
+            @Value("${app.catalog.resilience.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${app.catalog.resilience.circuit-breaker.slow-call-duration:PT0.5S}") Duration slowCallDuration,
+            @Value("${app.catalog.resilience.circuit-breaker.sliding-window-size:50}") int slidingWindowSize,
+            @Value("${app.catalog.resilience.circuit-breaker.wait-in-open-state:PT10S}") Duration waitInOpenState,
+            @Value("${app.catalog.resilience.bulkhead.max-concurrent-calls:200}") int maxConcurrentCalls
+    ) {
+        this.timeouts = Map.of(
+                WebClientConfig.MOVIE_SERVICE, movieTimeout,
+                WebClientConfig.RATING_SERVICE, ratingTimeout
+        );
+
+        this.circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(slowCallDuration)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(Math.min(slidingWindowSize, 20))
+                .waitDurationInOpenState(waitInOpenState)
+                .recordException(DownstreamResilience::isFailure)
+                .build());
+
+        this.bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(meterRegistry);
+    }
+
+    /**
+     * Operator for {@code Mono.transform}: applies the downstream's timeout, breaker and bulkhead
+     * to one call. The timeout sits inside the breaker, so timeouts are recorded as failures.
+     */
+    public <T> Function<Mono<T>, Mono<T>> guard(String downstream) {
+        Duration timeout = timeouts.get(downstream);
+        CircuitBreaker circuitBreaker = circuitBreakers.circuitBreaker(downstream);
+        Bulkhead bulkhead = bulkheads.bulkhead(downstream);
+
+        return call -> call
+                .timeout(timeout)
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .transformDeferred(BulkheadOperator.of(bulkhead));
+    }
+
+    /**
+     * True if the error means "the dependency didn't answer" (timeout, open breaker, full bulkhead,
+     * connection failure, 5xx) — the cases where a caller may degrade instead of failing.
+     */
+    public static boolean isUnavailable(Throwable error) {
+        return error instanceof TimeoutException
+                || error instanceof CallNotPermittedException
+                || error instanceof BulkheadFullException
+                || isFailure(error);
+    }
+
+
+    ///  Helper Functions
+
+    // What the breaker counts against a downstream: anything but a 4xx answer
+    private static boolean isFailure(Throwable error) {
+        if (error instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError();
+        }
+        return error instanceof WebClientRequestException || error instanceof TimeoutException;
+    }
+}
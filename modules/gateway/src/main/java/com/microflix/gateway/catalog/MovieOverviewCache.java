@@ -0,0 +1,119 @@
+package com.microflix.gateway.catalog;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.microflix.gateway.catalog.dto.CatalogMovieDto;
+import com.microflix.gateway.catalog.dto.CatalogRatingSummaryDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * The user-independent half of the movie detail aggregate (movie metadata + rating summary),
+ * cached in the gateway so most detail views only go downstream for the "me" section.
+ *
+ * - soft TTL (refresh-after): older entries are still served, and one background reload replaces them
+ * - hard TTL (expire-after): entries this old are dropped, and the next caller waits for a fresh load
+ * - concurrent misses for the same movie share one in-flight load
+ * - failed loads are not cached; a failed refresh keeps serving the previous value until the hard TTL
+ * - a degraded overview (rating summary unavailable) is cached only for the short degraded TTL, and
+ *   a refresh that comes back degraded keeps the previous complete value instead
+ *
+ * Metrics: cache.gets{cache=catalog.movie.overview,result=hit|miss} and friends (standard Caffeine binder).
+ */
+class MovieOverviewCache {
+
+    static final String CACHE_NAME = "catalog.movie.overview";
+
+    /**
+     * What the cache holds per movie id.
+     */
+    record MovieOverview(CatalogMovieDto movie, CatalogRatingSummaryDto ratingSummary) {
+
+        // rating-service didn't answer in time, so the summary is missing
+        boolean partial() {
+            return ratingSummary == null;
+        }
+    }
+
+    private final Function<Long, Mono<MovieOverview>> loader;
+
+    // null when max-size is 0 (cache disabled — every call goes to the loader)
+    private final AsyncLoadingCache<Long, MovieOverview> cache;
+
+    MovieOverviewCache(
+            Function<Long, Mono<MovieOverview>> loader,
+            long maxSize,
+            Duration refreshAfter,
+            Duration expireAfter,
+            Duration degradedExpireAfter,
+            MeterRegistry meterRegistry
+    ) {
+        this(loader, maxSize, refreshAfter, expireAfter, degradedExpireAfter, meterRegistry, Ticker.systemTicker());
+    }
+
+    // Ticker is injectable so tests can move time forward
+    MovieOverviewCache(
+            Function<Long, Mono<MovieOverview>> loader,
+            long maxSize,
+            Duration refreshAfter,
+            Duration expireAfter,
+            Duration degradedExpireAfter,
+            MeterRegistry meterRegistry,
+            Ticker ticker
+    ) {
+        this.loader = loader;
+
+        if (maxSize > 0) {
+            this.cache = Caffeine.newBuilder()
+                    .maximumSize(maxSize)
+                    .refreshAfterWrite(refreshAfter)
+                    .expireAfter(Expiry.writing((Long movieId, MovieOverview overview) ->
+                            overview.partial() ? degradedExpireAfter : expireAfter))
+                    .ticker(ticker)
+                    .recordStats()
+                    .buildAsync(new AsyncCacheLoader<Long, MovieOverview>() {
+                        @Override
+                        public CompletableFuture<MovieOverview> asyncLoad(Long movieId, Executor executor) {
+                            return loader.apply(movieId).toFuture();
+                        }
+
+                        // A failed reload leaves the old value in place, so a degraded one is turned into a failure
+                        @Override
+                        public CompletableFuture<MovieOverview> asyncReload(
+                                Long movieId, MovieOverview oldValue, Executor executor) {
+                            return loader.apply(movieId)
+                                    .flatMap(fresh -> fresh.partial() && !oldValue.partial()
+                                            ? Mono.<MovieOverview>error(new IllegalStateException("degraded reload"))
+                                            : Mono.just(fresh))
+                                    .toFuture();
+                        }
+                    });
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        }
+        else {
+            this.cache = null;
+        }
+    }
+
+    /**
+     * Cached overview for a movie, loading it on a miss.
+     *
+     * Cancelling the returned Mono (client went away) doesn't cancel the shared load —
+     * other callers may be waiting on the same future.
+     */
+    Mono<MovieOverview> get(Long movieId) {
+        if (cache == null) {
+            return loader.apply(movieId);
+        }
+        return Mono.fromFuture(() -> cache.get(movieId), true);
+    }
+}
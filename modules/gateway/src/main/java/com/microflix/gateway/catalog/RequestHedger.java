@@ -0,0 +1,196 @@
+package com.microflix.gateway.catalog;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Opt-in hedged requests for idempotent downstream GETs.
+ *
+ * If the first attempt hasn't answered within the route's recently observed p95, a second
+ * identical request is sent and whichever answers first wins; the other is cancelled. The
+ * second request goes back through the latency-aware load balancer: the stalled first attempt
+ * is still in flight on its instance, which multiplies that instance's P2C cost (latency x
+ * (in-flight + 1)), so the hedge goes to another instance unless that one is already busier or slower.
+ * With the latency-aware balancer off, round robin gives no such guarantee under concurrent traffic.
+ *
+ * - p95 comes from the last {@value #SAMPLES} attempt latencies per route, re-sorted at most once a second
+ * - no hedging until a route has {@code min-samples} latencies; never sooner than {@code min-delay}
+ * - hedges are capped by a budget: each request earns {@code budget-percent}% of a hedge, each hedge spends one
+ * - an attempt that fails before the hedge fires fails the request (4xx/5xx are answers, not slowness)
+ *
+ * Metrics: catalog.hedge.requests, catalog.hedge.sent and catalog.hedge.wins, tagged route=...
+ */
+@Component
+public class RequestHedger {
+
+    static final int SAMPLES = 512;
+
+    // Burst allowance: at most this many hedges can be sent back to back
+    private static final double MAX_BUDGET_CREDITS = 10.0;
+
+    private final boolean enabled;
+    private final double creditsPerRequest;
+    private final int minSamples;
+    private final long minDelayNanos;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Route> routes = new ConcurrentHashMap<>();
+
+    public RequestHedger(
+            MeterRegistry meterRegistry,
+            @Value("${app.catalog.hedging.enabled:false}") boolean enabled,
+            @Value("${app.catalog.hedging.budget-percent:5}") double budgetPercent,
+            @Value("${app.catalog.hedging.min-samples:50}") int minSamples,
+            @Value("${app.catalog.hedging.min-delay:PT0.005S}") Duration minDelay
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.creditsPerRequest = budgetPercent / 100.0;
+        this.minSamples = Math.max(1, Math.min(minSamples, SAMPLES));
+        this.minDelayNanos = minDelay.toNanos();
+    }
+
+    /**
+     * Run {@code call} (subscribed once per attempt), hedging it with a second attempt if the
+     * first is slower than the route's p95. Only pass idempotent requests.
+     */
+    public <T> Mono<T> hedge(String route, Supplier<Mono<T>> call) {
+        if (!enabled) {
+            return call.get();
+        }
+
+        Route stats = routes.computeIfAbsent(route, this::newRoute);
+        return Mono.defer(() -> {
+            stats.requests.increment();
+            stats.earnCredit();
+
+            Mono<T> primary = stats.timed(call.get());
+
+            long delayNanos = stats.hedgeDelayNanos();
+            if (delayNanos < 0) {
+                return primary;     // not enough samples yet
+            }
+
+            // Never completes if the budget is spent, so the race is then decided by the primary alone
+            Mono<T> hedged = Mono.delay(Duration.ofNanos(delayNanos))
+                    .flatMap(tick -> {
+                        if (!stats.spendCredit()) {
+                            return Mono.never();
+                        }
+                        stats.sent.increment();
+                        return stats.timed(call.get())
+                                .doOnNext(value -> stats.wins.increment());
+                    });
+
+            return Mono.firstWithSignal(primary, hedged);
+        });
+    }
+
+
+    ///  Helper Functions
+
+    private Route newRoute(String route) {
+        return new Route(
+                Counter.builder("catalog.hedge.requests")
+                        .description("Requests eligible for hedging")
+                        .tag("route", route)
+                        .register(meterRegistry),
+                Counter.builder("catalog.hedge.sent")
+                        .description("Hedge (second) requests sent")
+                        .tag("route", route)
+                        .register(meterRegistry),
+                Counter.builder("catalog.hedge.wins")
+                        .description("Hedge requests that answered before the first attempt")
+                        .tag("route", route)
+                        .register(meterRegistry)
+        );
+    }
+
+    /**
+     * Per-route latency window, p95 cache and hedge budget.
+     */
+    private final class Route {
+
+        final Counter requests;
+        final Counter sent;
+        final Counter wins;
+
+        // Ring buffer of recent attempt latencies (nanos). Racy slot writes are fine — it's a sample.
+        private final AtomicLongArray latencies = new AtomicLongArray(SAMPLES);
+        private final AtomicLong recorded = new AtomicLong();
+
+        private volatile long p95Nanos = -1;
+        private volatile long nextRecomputeNanos;
+
+        // Hedge budget in millionths of a hedge, so it fits an AtomicLong
+        private final AtomicLong microCredits = new AtomicLong();
+
+        Route(Counter requests, Counter sent, Counter wins) {
+            this.requests = requests;
+            this.sent = sent;
+            this.wins = wins;
+        }
+
+        // Latency of an attempt that answered, or was cancelled because the other one won (a lower bound)
+        <T> Mono<T> timed(Mono<T> attempt) {
+            long start = System.nanoTime();
+            return attempt.doFinally(signal -> {
+                if (signal == SignalType.ON_COMPLETE || signal == SignalType.CANCEL) {
+                    long slot = recorded.getAndIncrement() % SAMPLES;
+                    latencies.set((int) slot, System.nanoTime() - start);
+                }
+            });
+        }
+
+        // Delay before hedging, or -1 while there are too few samples to trust a p95
+        long hedgeDelayNanos() {
+            long count = recorded.get();
+            if (count < minSamples) {
+                return -1;
+            }
+
+            long now = System.nanoTime();
+            if (p95Nanos < 0 || now - nextRecomputeNanos >= 0) {
+                int n = (int) Math.min(count, SAMPLES);
+                long[] sorted = new long[n];
+                for (int i = 0; i < n; i++) {
+                    sorted[i] = latencies.get(i);
+                }
+                Arrays.sort(sorted);
+                p95Nanos = sorted[(int) Math.ceil(n * 0.95) - 1];
+                nextRecomputeNanos = now + 1_000_000_000L;
+            }
+            return Math.max(p95Nanos, minDelayNanos);
+        }
+
+        void earnCredit() {
+            long earn = (long) (creditsPerRequest * 1_000_000);
+            long max = (long) (MAX_BUDGET_CREDITS * 1_000_000);
+            microCredits.getAndUpdate(c -> Math.min(max, c + earn));
+        }
+
+        boolean spendCredit() {
+            while (true) {
+                long current = microCredits.get();
+                if (current < 1_000_000) {
+                    return false;
+                }
+                if (microCredits.compareAndSet(current, current - 1_000_000)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
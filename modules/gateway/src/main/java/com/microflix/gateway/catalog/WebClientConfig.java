@@ -1,17 +1,140 @@
 package com.microflix.gateway.catalog;
 
+import com.microflix.gateway.security.IdentityWebFilter;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
+import java.time.Duration;
+
+/**
+ * HTTP clients the catalog aggregation uses to call downstream services.
+ *
+ * One WebClient per downstream, built once at startup, each on its own Reactor Netty
+ * connection pool — so a slow movie-service can't exhaust the connections rating-service
+ * calls need, and every request reuses a warm keep-alive connection instead of building
+ * a client (codecs, filters, connector) per call.
+ *
+ * Pool metrics are published through Micrometer under reactor.netty.connection.provider.*
+ * (total/active/idle/pending connections, tagged name=movie-service|rating-service).
+ */
 @Configuration
 public class WebClientConfig {
 
+    static final String MOVIE_SERVICE = "movie-service";
+    static final String RATING_SERVICE = "rating-service";
+
+    private final int maxConnections;
+    private final int pendingAcquireMaxCount;
+    private final Duration pendingAcquireTimeout;
+    private final Duration maxIdleTime;
+    private final Duration maxLifeTime;
+    private final Duration evictInBackground;
+    private final Duration connectTimeout;
+    private final boolean h2c;
+
+    public WebClientConfig(
+            @Value("${app.downstream.pool.max-connections:200}") int maxConnections,
+            @Value("${app.downstream.pool.pending-acquire-max-count:1000}") int pendingAcquireMaxCount,
+            @Value("${app.downstream.pool.pending-acquire-timeout:PT2S}") Duration pendingAcquireTimeout,
+            @Value("${app.downstream.pool.max-idle-time:PT15S}") Duration maxIdleTime,
+            @Value("${app.downstream.pool.max-life-time:PT5M}") Duration maxLifeTime,
+            @Value("${app.downstream.pool.evict-in-background:PT10S}") Duration evictInBackground,
+            @Value("${app.downstream.connect-timeout:PT1S}") Duration connectTimeout,
+            @Value("${app.downstream.h2c:false}") boolean h2c
+    ) {
+        this.maxConnections = maxConnections;
+        this.pendingAcquireMaxCount = pendingAcquireMaxCount;
+        this.pendingAcquireTimeout = pendingAcquireTimeout;
+        this.maxIdleTime = maxIdleTime;
+        this.maxLifeTime = maxLifeTime;
+        this.evictInBackground = evictInBackground;
+        this.connectTimeout = connectTimeout;
+        this.h2c = h2c;
+    }
+
     // Load-balanced WebClient so we can call lb://movie-service, lb://rating-service, etc.
+    // Boot's customizers add the observation (http.client.requests span + W3C traceparent header)
     @Bean
     @LoadBalanced
-    public WebClient.Builder loadBalancedWebClientBuilder() {
-        return WebClient.builder();
+    public WebClient.Builder loadBalancedWebClientBuilder(ObjectProvider<WebClientCustomizer> customizers) {
+        WebClient.Builder builder = WebClient.builder();
+        customizers.orderedStream().forEach(customizer -> customizer.customize(builder));
+        return builder;
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider movieServiceConnectionProvider() {
+        return connectionProvider(MOVIE_SERVICE);
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider ratingServiceConnectionProvider() {
+        return connectionProvider(RATING_SERVICE);
+    }
+
+    @Bean
+    public WebClient movieServiceClient(
+            @LoadBalanced WebClient.Builder builder,
+            @Qualifier("movieServiceConnectionProvider") ConnectionProvider provider
+    ) {
+        return downstreamClient(builder, provider, MOVIE_SERVICE);
+    }
+
+    @Bean
+    public WebClient ratingServiceClient(
+            @LoadBalanced WebClient.Builder builder,
+            @Qualifier("ratingServiceConnectionProvider") ConnectionProvider provider
+    ) {
+        return downstreamClient(builder, provider, RATING_SERVICE);
+    }
+
+
+    ///  Helper Functions
+
+    /**
+     * Pool for one downstream service. Reactor Netty keeps one pool per remote address, so the
+     * limits below apply per service instance the load balancer picks.
+     *
+     * max-idle-time stays under Tomcat's 20s keep-alive timeout, so the gateway closes an idle
+     * connection before the server does and never writes a request into a half-closed socket.
+     * max-life-time lets connections move to newly registered instances.
+     */
+    private ConnectionProvider connectionProvider(String service) {
+        return ConnectionProvider.builder(service)
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)  // beyond this, fail fast instead of queueing
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(evictInBackground)
+                .metrics(true)                                   // Micrometer pool gauges
+                .build();
+    }
+
+    // Clone the load-balanced builder (keeps its lb:// filter) and pin it to one service + pool
+    private WebClient downstreamClient(WebClient.Builder builder, ConnectionProvider provider, String service) {
+        HttpClient httpClient = HttpClient.create(provider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis());
+        if (h2c) {
+            // Cleartext HTTP/2 via upgrade, falling back to HTTP/1.1 for instances that don't offer it
+            httpClient = httpClient.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+        }
+
+        return builder.clone()
+                .baseUrl("lb://" + service)
+                .filter(IdentityWebFilter.propagateIdentity())        // verified identity header, when the gateway set one
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
     }
 }
@@ -0,0 +1,9 @@
+package com.microflix.gateway.catalog.dto;
+
+///  One tile on the browse grid: movie, its rating summary, and the current user's badges
+///  ratingSummary is null only when rating-service was unavailable (see CatalogBrowseResponse.partial)
+public record CatalogBrowseItemDto(
+        CatalogMovieDto movie,
+        CatalogRatingSummaryDto ratingSummary,
+        CatalogMeDto me
+) {}
@@ -0,0 +1,15 @@
+package com.microflix.gateway.catalog.dto;
+
+import java.util.List;
+
+///  Response for the browse grid: one page of tiles plus movie-service's paging fields
+///  partial = true when rating-service didn't answer in time: ratingSummary is then null
+///  and/or me is the anonymous view on every tile, regardless of the real values
+public record CatalogBrowseResponse(
+        List<CatalogBrowseItemDto> content,
+        long totalElements,
+        int totalPages,
+        int number,
+        int size,
+        boolean partial
+) {}
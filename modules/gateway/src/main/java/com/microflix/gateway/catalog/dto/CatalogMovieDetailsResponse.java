@@ -2,8 +2,11 @@ package com.microflix.gateway.catalog.dto;
 
 ///  Response to give everything the movie detail page needs in one hit
 /// The movies info, rating summary, and user info
+/// partial = true when rating-service didn't answer in time: ratingSummary is then null
+/// and/or me is the anonymous view, regardless of the real values
 public record CatalogMovieDetailsResponse(
         CatalogMovieDto movie,
         CatalogRatingSummaryDto ratingSummary,
-        CatalogMeDto me
+        CatalogMeDto me,
+        boolean partial
 ) {}
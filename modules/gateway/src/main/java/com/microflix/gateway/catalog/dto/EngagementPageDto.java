@@ -0,0 +1,12 @@
+package com.microflix.gateway.catalog.dto;
+
+import java.util.List;
+
+/**
+ * One page of rating-service's watchlist: the engagement rows from the body plus
+ * the X-Next-Cursor response header (null on the last page).
+ */
+public record EngagementPageDto(
+        List<EngagementDto> items,
+        String nextCursor
+) {}
@@ -0,0 +1,13 @@
+package com.microflix.gateway.catalog.dto;
+
+import java.util.List;
+
+///  Internal DTO for movie-service's paged search `/movies?...` (Spring Data Page JSON)
+///  Only the fields the browse view passes on; the rest (pageable, sort, ...) are ignored
+public record MoviePageDto(
+        List<CatalogMovieDto> content,
+        long totalElements,
+        int totalPages,
+        int number,
+        int size
+) {}
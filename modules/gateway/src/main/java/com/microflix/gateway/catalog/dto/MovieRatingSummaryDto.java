@@ -0,0 +1,13 @@
+package com.microflix.gateway.catalog.dto;
+
+///  Internal DTO for rating-service `/ratings/summaries?ids=`
+///  Same as CatalogRatingSummaryDto plus the movie id, so batch results can be matched back
+public record MovieRatingSummaryDto(
+        Long movieId,
+        Double average,
+        Long count
+) {
+    public CatalogRatingSummaryDto toCatalog() {
+        return new CatalogRatingSummaryDto(average, count);
+    }
+}
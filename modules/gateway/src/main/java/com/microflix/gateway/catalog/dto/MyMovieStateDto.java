@@ -0,0 +1,15 @@
+package com.microflix.gateway.catalog.dto;
+
+import java.util.List;
+
+///  Internal DTO for rating-service `/ratings/movie/{id}/me/state` and `/ratings/me/state?ids=`
+///  The user's rating (or null) plus every engagement type they have on the movie
+public record MyMovieStateDto(
+        Long movieId,
+        Double rating,
+        List<String> engagements
+) {
+    public boolean has(String engagementType) {
+        return engagements != null && engagements.contains(engagementType);
+    }
+}
@@ -1,15 +1,19 @@
 package com.microflix.gateway.common.errors;
 
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import org.springframework.web.server.ServerWebExchange;
 
 import java.net.URI;
 import java.time.OffsetDateTime;
+import java.util.concurrent.TimeoutException;
 
 @RestControllerAdvice
 public class GatewayExceptionHandler {
@@ -33,6 +37,25 @@ public class GatewayExceptionHandler {
         );
     }
 
+    /**
+     * 503 when a downstream call was cut short by the gateway (timeout, open circuit breaker,
+     * full bulkhead) or couldn't connect, and the endpoint had no degraded answer to give.
+     */
+    @ExceptionHandler({
+            TimeoutException.class,
+            CallNotPermittedException.class,
+            BulkheadFullException.class,
+            WebClientRequestException.class
+    })
+    public ProblemDetail handleDownstreamUnavailable(Exception ex) {
+        log.warn("Downstream unavailable: {}", ex.toString());
+
+        var pd = ProblemDetail.forStatus(HttpStatus.SERVICE_UNAVAILABLE);
+        pd.setTitle("Service Unavailable");
+        pd.setDetail("A backend service is temporarily unavailable. Please retry shortly.");
+        return pd;
+    }
+
     /**
      * 500 fallback for any unexpected errors in rating-service.
      */
@@ -0,0 +1,208 @@
+package com.microflix.gateway.loadbalancer;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * In-flight requests and peak-EWMA latency per service instance, for {@link LatencyAwareLoadBalancer}.
+ *
+ * A LoadBalancerLifecycle bean, so Spring Cloud LoadBalancer reports every request it routes here:
+ * proxied lb:// routes (ReactiveLoadBalancerClientFilter) and the catalog WebClients alike.
+ *
+ * - latency: exponentially weighted, decaying with time constant {@code decay}; a response slower
+ *   than the average replaces it at once (peak), so a stalled instance is noticed on its first slow answer
+ * - an instance's average also decays towards zero while it gets no traffic, so a slow instance that
+ *   stopped being picked is eventually tried again
+ * - a failed request counts as {@code failure-penalty}, so an instance refusing connections fast
+ *   doesn't look like the fastest one
+ * - a request whose completion is never reported (cancelled, e.g. a losing hedge) stops counting as
+ *   in flight after {@code stale-after}, or once it is garbage collected
+ *
+ * Metrics: gateway.loadbalancer.inflight and gateway.loadbalancer.latency.ewma, tagged service, instance.
+ */
+@Component
+public class InstanceLoadTracker implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+    private record Outstanding(InstanceStats stats, long startNanos) {}
+
+    private final long decayNanos;
+    private final long failurePenaltyNanos;
+    private final LongSupplier nanoTime;
+    private final MeterRegistry meterRegistry;
+
+    private final Cache<String, InstanceStats> instances;
+    private final Cache<Request<?>, Outstanding> outstanding;
+
+    @Autowired
+    public InstanceLoadTracker(
+            MeterRegistry meterRegistry,
+            @Value("${app.loadbalancer.latency-aware.decay:PT10S}") Duration decay,
+            @Value("${app.loadbalancer.latency-aware.failure-penalty:PT1S}") Duration failurePenalty,
+            @Value("${app.loadbalancer.latency-aware.stale-after:PT1M}") Duration staleAfter
+    ) {
+        this(meterRegistry, decay, failurePenalty, staleAfter, System::nanoTime);
+    }
+
+    // Visible for tests: fake clock
+    InstanceLoadTracker(MeterRegistry meterRegistry, Duration decay, Duration failurePenalty, Duration staleAfter,
+                        LongSupplier nanoTime) {
+        this.meterRegistry = meterRegistry;
+        this.decayNanos = decay.toNanos();
+        this.failurePenaltyNanos = failurePenalty.toNanos();
+        this.nanoTime = nanoTime;
+
+        // Instances that left the registry drop out (with their gauges) once nobody asks about them
+        this.instances = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .ticker(nanoTime::getAsLong)
+                .executor(Runnable::run)
+                .removalListener((String key, InstanceStats stats, RemovalCause cause) -> {
+                    if (stats != null) {
+                        stats.gauges.forEach(meterRegistry::remove);
+                    }
+                })
+                .build();
+
+        // Keyed by request identity (weakKeys); however an entry leaves, its in-flight slot is released
+        this.outstanding = Caffeine.newBuilder()
+                .weakKeys()
+                .expireAfterWrite(staleAfter)
+                .ticker(nanoTime::getAsLong)
+                .scheduler(Scheduler.systemScheduler())
+                .executor(Runnable::run)
+                .removalListener((Request<?> request, Outstanding entry, RemovalCause cause) -> {
+                    if (entry != null) {
+                        entry.stats().inFlight.decrementAndGet();
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Relative cost of sending the next request to {@code instance}: its decayed latency
+     * times (in-flight + 1). Lower is better.
+     */
+    public double cost(String serviceId, ServiceInstance instance) {
+        return stats(serviceId, instance).cost(nanoTime.getAsLong());
+    }
+
+    @Override
+    public void onStart(Request<Object> request) {
+        // Nothing chosen yet
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        if (lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+        ServiceInstance server = lbResponse.getServer();
+        InstanceStats stats = stats(server.getServiceId(), server);
+        stats.inFlight.incrementAndGet();
+        outstanding.put(request, new Outstanding(stats, nanoTime.getAsLong()));
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        Outstanding entry = outstanding.asMap().remove(completionContext.getLoadBalancerRequest());
+        if (entry == null) {
+            return;     // discarded (no instance), or already expired as stale
+        }
+
+        long now = nanoTime.getAsLong();
+        long rtt = now - entry.startNanos();
+        if (completionContext.status() == CompletionContext.Status.FAILED) {
+            rtt = Math.max(rtt, failurePenaltyNanos);
+        }
+        entry.stats().observe(rtt, now);
+    }
+
+
+    ///  Helper Functions
+
+    // Visible for tests: flush pending expiry
+    void cleanUp() {
+        outstanding.cleanUp();
+        instances.cleanUp();
+    }
+
+    private InstanceStats stats(String serviceId, ServiceInstance instance) {
+        String address = instance.getHost() + ":" + instance.getPort();
+        return instances.get(serviceId + "/" + address, key -> newStats(serviceId, address));
+    }
+
+    private InstanceStats newStats(String serviceId, String address) {
+        InstanceStats stats = new InstanceStats(nanoTime.getAsLong());
+        stats.gauges = List.of(
+                Gauge.builder("gateway.loadbalancer.inflight", stats, s -> s.inFlight.get())
+                        .description("Requests in flight to a service instance")
+                        .tag("service", serviceId)
+                        .tag("instance", address)
+                        .register(meterRegistry),
+                Gauge.builder("gateway.loadbalancer.latency.ewma", stats, s -> s.latencyAt(nanoTime.getAsLong()) / 1e9)
+                        .description("Decaying peak-EWMA response time of a service instance")
+                        .baseUnit("seconds")
+                        .tag("service", serviceId)
+                        .tag("instance", address)
+                        .register(meterRegistry)
+        );
+        return stats;
+    }
+
+    /**
+     * Load of one instance. The EWMA and its timestamp change together, so they share a lock;
+     * in-flight is a plain counter.
+     */
+    private final class InstanceStats {
+
+        final AtomicInteger inFlight = new AtomicInteger();
+        List<Meter> gauges = List.of();
+
+        private double ewmaNanos;       // 0 until the first response (guarded by this)
+        private long stampNanos;        // last response (guarded by this)
+
+        InstanceStats(long now) {
+            this.stampNanos = now;
+        }
+
+        // Time-weighted: the longer since the last response, the more the new one counts
+        synchronized void observe(long rttNanos, long now) {
+            double weight = Math.exp(-(double) Math.max(0, now - stampNanos) / decayNanos);
+            ewmaNanos = rttNanos > ewmaNanos ? rttNanos : ewmaNanos * weight + rttNanos * (1 - weight);
+            stampNanos = now;
+        }
+
+        // Average as of now, decayed towards zero for the time since the last response
+        synchronized double latencyAt(long now) {
+            return ewmaNanos * Math.exp(-(double) Math.max(0, now - stampNanos) / decayNanos);
+        }
+
+        double cost(long now) {
+            int pending = inFlight.get();
+            double latency = latencyAt(now);
+            if (latency == 0 && pending > 0) {
+                // Never answered yet but already busy: assume the worst until it does
+                return failurePenaltyNanos + pending;
+            }
+            return latency * (pending + 1);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.microflix.gateway.loadbalancer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.SelectedInstanceCallback;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Power-of-two-choices load balancer: picks two instances at random and sends the request to
+ * the one with the lower {@link InstanceLoadTracker#cost} (latency x in-flight).
+ *
+ * Comparing two random instances instead of scanning for the global best keeps a burst of
+ * concurrent picks from all landing on the same "best" instance before its in-flight count moves,
+ * and costs O(1) per request.
+ */
+public class LatencyAwareLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    private final ObjectProvider<ServiceInstanceListSupplier> suppliers;
+    private final String serviceId;
+    private final InstanceLoadTracker tracker;
+
+    public LatencyAwareLoadBalancer(
+            ObjectProvider<ServiceInstanceListSupplier> suppliers,
+            String serviceId,
+            InstanceLoadTracker tracker
+    ) {
+        this.suppliers = suppliers;
+        this.serviceId = serviceId;
+        this.tracker = tracker;
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = suppliers.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request)
+                .next()
+                .map(instances -> {
+                    Response<ServiceInstance> response = choose(instances);
+                    if (supplier instanceof SelectedInstanceCallback callback && response.hasServer()) {
+                        callback.selectedServiceInstance(response.getServer());
+                    }
+                    return response;
+                });
+    }
+
+
+    ///  Helper Functions
+
+    Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+        int size = instances.size();
+        if (size == 0) {
+            return new EmptyResponse();
+        }
+        if (size == 1) {
+            return new DefaultResponse(instances.get(0));
+        }
+
+        // Two distinct indexes
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+
+        ServiceInstance a = instances.get(first);
+        ServiceInstance b = instances.get(second);
+        return new DefaultResponse(tracker.cost(serviceId, a) <= tracker.cost(serviceId, b) ? a : b);
+    }
+}
@@ -0,0 +1,35 @@
+package com.microflix.gateway.loadbalancer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.RoundRobinLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Load balancer for each lb:// service, created in that service's own LoadBalancer child context.
+ *
+ * Deliberately not a @Configuration: component scanning would otherwise register it in the main
+ * context as well. Wired in through {@link LoadBalancerConfig}.
+ */
+public class LatencyAwareLoadBalancerConfiguration {
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> latencyAwareLoadBalancer(
+            Environment environment,
+            LoadBalancerClientFactory clientFactory,
+            InstanceLoadTracker tracker,
+            @Value("${app.loadbalancer.latency-aware.enabled:true}") boolean enabled
+    ) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        var suppliers = clientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class);
+
+        // Off: Spring Cloud's default, kept selectable for A/B runs
+        return enabled
+                ? new LatencyAwareLoadBalancer(suppliers, serviceId, tracker)
+                : new RoundRobinLoadBalancer(suppliers, serviceId);
+    }
+}
@@ -0,0 +1,13 @@
+package com.microflix.gateway.loadbalancer;
+
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Makes {@link LatencyAwareLoadBalancer} the load balancer for every lb:// service, which covers
+ * both the proxied routes and the catalog WebClients.
+ */
+@Configuration
+@LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+}
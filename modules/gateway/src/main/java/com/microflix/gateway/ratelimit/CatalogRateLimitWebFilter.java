@@ -0,0 +1,50 @@
+package com.microflix.gateway.ratelimit;
+
+import com.microflix.gateway.ratelimit.RateLimitStore.Limits;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Rate limit for the gateway's own /api/v1/catalog/** endpoints.
+ *
+ * Those are controllers, not proxied routes, so the RateLimit route filter never sees them.
+ * All catalog endpoints share one bucket per caller (route "catalog"), sized by app.rate-limit.catalog.
+ * Runs after {@link com.microflix.gateway.security.IdentityWebFilter}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class CatalogRateLimitWebFilter implements WebFilter {
+
+    static final String ROUTE = "catalog";
+    private static final String PATH_PREFIX = "/api/v1/catalog/";
+
+    private final RequestThrottle throttle;
+    private final Limits userLimits;
+    private final Limits ipLimits;
+
+    public CatalogRateLimitWebFilter(
+            RequestThrottle throttle,
+            @Value("${app.rate-limit.catalog.user-capacity:60}") long userCapacity,
+            @Value("${app.rate-limit.catalog.user-refill-per-second:20}") double userRefillPerSecond,
+            @Value("${app.rate-limit.catalog.ip-capacity:30}") long ipCapacity,
+            @Value("${app.rate-limit.catalog.ip-refill-per-second:10}") double ipRefillPerSecond
+    ) {
+        this.throttle = throttle;
+        this.userLimits = new Limits(userCapacity, userRefillPerSecond);
+        this.ipLimits = new Limits(ipCapacity, ipRefillPerSecond);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!exchange.getRequest().getPath().value().startsWith(PATH_PREFIX)) {
+            return chain.filter(exchange);
+        }
+        return throttle.throttle(exchange, ROUTE, userLimits, ipLimits, () -> chain.filter(exchange));
+    }
+}
@@ -0,0 +1,152 @@
+package com.microflix.gateway.ratelimit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets in this gateway instance's memory.
+ *
+ * - lock-free: each bucket is one immutable (tokens, refilledAt) state swapped with compareAndSet
+ * - striped: keys are spread over {@code stripes} maps, each swept for expired buckets on its own
+ * - expiry: a bucket idle long enough to have refilled completely is indistinguishable from a new
+ *   one, so it is dropped; a stripe is swept at most every {@code sweep-interval}, by whichever
+ *   request touches it next — no background thread
+ *
+ * Limits are per instance: with N gateway instances a client gets up to N times the configured
+ * rate. Plug in a shared {@link RateLimitStore} when that matters.
+ *
+ * Metrics: gateway.ratelimit.buckets (buckets currently held).
+ */
+@Component
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    // Tokens are kept in millionths so partial refills aren't lost between requests
+    private static final long MICRO = 1_000_000L;
+
+    private final Stripe[] stripes;
+    private final long sweepIntervalNanos;
+    private final LongSupplier nanoTime;
+
+    @Autowired
+    public InMemoryRateLimitStore(
+            MeterRegistry meterRegistry,
+            @Value("${app.rate-limit.store.stripes:16}") int stripes,
+            @Value("${app.rate-limit.store.sweep-interval:PT30S}") Duration sweepInterval
+    ) {
+        this(stripes, sweepInterval, System::nanoTime);
+        Gauge.builder("gateway.ratelimit.buckets", this, InMemoryRateLimitStore::size)
+                .description("Rate-limit buckets held in memory")
+                .register(meterRegistry);
+    }
+
+    // Visible for tests: fake clock
+    InMemoryRateLimitStore(int stripes, Duration sweepInterval, LongSupplier nanoTime) {
+        this.stripes = new Stripe[Integer.highestOneBit(Math.max(1, stripes - 1)) << 1];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new Stripe(nanoTime.getAsLong() + sweepInterval.toNanos());
+        }
+        this.sweepIntervalNanos = sweepInterval.toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    @Override
+    public Mono<Decision> tryConsume(String key, Limits limits) {
+        return Mono.fromSupplier(() -> consume(key, limits));
+    }
+
+    /**
+     * Buckets currently held, across all stripes.
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.buckets.size();
+        }
+        return size;
+    }
+
+
+    ///  Helper Functions
+
+    Decision consume(String key, Limits limits) {
+        long now = nanoTime.getAsLong();
+        Stripe stripe = stripes[spread(key.hashCode()) & (stripes.length - 1)];
+        stripe.sweepIfDue(now, sweepIntervalNanos);
+
+        Bucket bucket = stripe.buckets.computeIfAbsent(key, k -> new Bucket(limits, now));
+        return bucket.tryConsume(limits, now);
+    }
+
+    // Same bit-spreading ConcurrentHashMap uses, so stripes get the high bits too
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Stripe {
+
+        final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+        final AtomicLong nextSweepNanos;
+
+        Stripe(long firstSweepNanos) {
+            this.nextSweepNanos = new AtomicLong(firstSweepNanos);
+        }
+
+        // Only the request that wins the CAS sweeps; the rest carry on
+        void sweepIfDue(long now, long intervalNanos) {
+            long due = nextSweepNanos.get();
+            if (now - due < 0 || !nextSweepNanos.compareAndSet(due, now + intervalNanos)) {
+                return;
+            }
+            buckets.values().removeIf(bucket -> bucket.isFullAt(now));
+        }
+    }
+
+    private record State(long microTokens, long refilledAtNanos) {}
+
+    private static final class Bucket {
+
+        private final AtomicReference<State> state;
+        private final long fullAfterNanos;     // time for an empty bucket to refill completely
+
+        Bucket(Limits limits, long now) {
+            this.state = new AtomicReference<>(new State(limits.capacity() * MICRO, now));
+            this.fullAfterNanos = (long) Math.ceil(limits.capacity() / limits.refillPerSecond() * 1e9);
+        }
+
+        Decision tryConsume(Limits limits, long now) {
+            long capacity = limits.capacity() * MICRO;
+            double microPerSecond = limits.refillPerSecond() * MICRO;
+
+            while (true) {
+                State current = state.get();
+                long elapsed = Math.max(0, now - current.refilledAtNanos());
+                long tokens = (long) Math.min(capacity, current.microTokens() + elapsed * microPerSecond / 1e9);
+
+                if (tokens < MICRO) {
+                    // Not written back: the refill since refilledAt is recomputed next time
+                    long waitNanos = (long) Math.ceil((MICRO - tokens) * 1e9 / microPerSecond);
+                    return Decision.refused(Duration.ofNanos(waitNanos));
+                }
+
+                State next = new State(tokens - MICRO, now);
+                if (state.compareAndSet(current, next)) {
+                    return Decision.allowed(next.microTokens() / MICRO);
+                }
+            }
+        }
+
+        boolean isFullAt(long now) {
+            return now - state.get().refilledAtNanos() >= fullAfterNanos;
+        }
+    }
+}
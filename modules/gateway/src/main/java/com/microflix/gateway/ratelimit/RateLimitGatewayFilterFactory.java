@@ -0,0 +1,89 @@
+package com.microflix.gateway.ratelimit;
+
+import com.microflix.gateway.ratelimit.RateLimitStore.Limits;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code RateLimit} route filter: token buckets per user (or per IP for anonymous callers), per route.
+ *
+ * <pre>
+ * filters:
+ *   - name: RateLimit
+ *     args:
+ *       user-capacity: 60
+ *       user-refill-per-second: 20
+ *       ip-capacity: 30
+ *       ip-refill-per-second: 10
+ * </pre>
+ *
+ * See {@link RequestThrottle} for keys, the 429 response and metrics.
+ */
+@Component
+public class RateLimitGatewayFilterFactory extends AbstractGatewayFilterFactory<RateLimitGatewayFilterFactory.Config> {
+
+    private final RequestThrottle throttle;
+
+    public RateLimitGatewayFilterFactory(RequestThrottle throttle) {
+        super(Config.class);
+        this.throttle = throttle;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        Limits userLimits = new Limits(config.getUserCapacity(), config.getUserRefillPerSecond());
+        Limits ipLimits = new Limits(config.getIpCapacity(), config.getIpRefillPerSecond());
+
+        return (exchange, chain) -> {
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            String routeId = route != null ? route.getId() : "unknown";
+            return throttle.throttle(exchange, routeId, userLimits, ipLimits, () -> chain.filter(exchange));
+        };
+    }
+
+    /**
+     * Bucket sizes and refill rates; defaults match app.rate-limit.catalog.
+     */
+    public static class Config {
+
+        private long userCapacity = 60;
+        private double userRefillPerSecond = 20;
+        private long ipCapacity = 30;
+        private double ipRefillPerSecond = 10;
+
+        public long getUserCapacity() {
+            return userCapacity;
+        }
+
+        public void setUserCapacity(long userCapacity) {
+            this.userCapacity = userCapacity;
+        }
+
+        public double getUserRefillPerSecond() {
+            return userRefillPerSecond;
+        }
+
+        public void setUserRefillPerSecond(double userRefillPerSecond) {
+            this.userRefillPerSecond = userRefillPerSecond;
+        }
+
+        public long getIpCapacity() {
+            return ipCapacity;
+        }
+
+        public void setIpCapacity(long ipCapacity) {
+            this.ipCapacity = ipCapacity;
+        }
+
+        public double getIpRefillPerSecond() {
+            return ipRefillPerSecond;
+        }
+
+        public void setIpRefillPerSecond(double ipRefillPerSecond) {
+            this.ipRefillPerSecond = ipRefillPerSecond;
+        }
+    }
+}
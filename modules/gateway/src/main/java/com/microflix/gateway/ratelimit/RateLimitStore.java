@@ -0,0 +1,49 @@
+package com.microflix.gateway.ratelimit;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Where token buckets live. The gateway ships {@link InMemoryRateLimitStore} (per instance);
+ * a shared implementation (e.g. Redis) can replace it by declaring a {@code @Primary}
+ * RateLimitStore bean, so limits hold across gateway instances.
+ *
+ * Reactive so a networked store doesn't block the event loop.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Take one token from the bucket {@code key} (created full on first use), refilling it
+     * first for the time since its last use.
+     */
+    Mono<Decision> tryConsume(String key, Limits limits);
+
+    /**
+     * Bucket size and refill rate. A bucket starts full, so {@code capacity} is the burst a
+     * client gets before being held to {@code refillPerSecond}.
+     */
+    record Limits(long capacity, double refillPerSecond) {
+
+        public Limits {
+            if (capacity < 1 || refillPerSecond <= 0) {
+                throw new IllegalArgumentException("Rate limit needs capacity >= 1 and refillPerSecond > 0");
+            }
+        }
+    }
+
+    /**
+     * Outcome of one tryConsume: allowed or not, whole tokens left, and (when refused) how long
+     * until the next token.
+     */
+    record Decision(boolean allowed, long remaining, Duration retryAfter) {
+
+        public static Decision allowed(long remaining) {
+            return new Decision(true, remaining, Duration.ZERO);
+        }
+
+        public static Decision refused(Duration retryAfter) {
+            return new Decision(false, 0, retryAfter);
+        }
+    }
+}
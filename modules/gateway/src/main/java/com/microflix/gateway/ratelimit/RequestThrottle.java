@@ -0,0 +1,148 @@
+package com.microflix.gateway.ratelimit;
+
+import com.microflix.gateway.ratelimit.RateLimitStore.Decision;
+import com.microflix.gateway.ratelimit.RateLimitStore.Limits;
+import com.microflix.gateway.security.GatewayJwtVerifier;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.support.ipresolver.RemoteAddressResolver;
+import org.springframework.cloud.gateway.support.ipresolver.XForwardedRemoteAddressResolver;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Decides whether one request may pass a rate limit, shared by the route filter
+ * ({@link RateLimitGatewayFilterFactory}) and the catalog endpoints ({@link CatalogRateLimitWebFilter}).
+ *
+ * - a request with a valid Bearer token is limited per user (JWT subject), anything else per client IP
+ * - buckets are per route: "route|user:alice@example.com", "route|ip:10.0.0.7"
+ * - the client IP is the socket peer, or with trusted-proxy-hops > 0 the X-Forwarded-For entry that
+ *   many hops back (anything further left is client-supplied and can't be trusted)
+ * - refused: 429 with Retry-After (whole seconds, rounded up) and a ProblemDetail body
+ * - allowed: X-RateLimit-Remaining with the tokens left in the bucket
+ * - if the store itself fails (a shared store being down), requests are let through
+ *
+ * Metrics: gateway.ratelimit.throttled{route=...,key=user|ip}.
+ */
+@Component
+public class RequestThrottle {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestThrottle.class);
+
+    static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    // Stand-in decision when the store errors or answers nothing (fail open, no remaining count to report)
+    private static final Decision STORE_UNAVAILABLE = new Decision(true, -1, Duration.ZERO);
+
+    private final RateLimitStore store;
+    private final GatewayJwtVerifier jwtVerifier;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final RemoteAddressResolver addressResolver;
+
+    public RequestThrottle(
+            RateLimitStore store,
+            GatewayJwtVerifier jwtVerifier,
+            MeterRegistry meterRegistry,
+            @Value("${app.rate-limit.enabled:true}") boolean enabled,
+            @Value("${app.rate-limit.trusted-proxy-hops:0}") int trustedProxyHops
+    ) {
+        this.store = store;
+        this.jwtVerifier = jwtVerifier;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.addressResolver = trustedProxyHops > 0
+                ? XForwardedRemoteAddressResolver.maxTrustedIndex(trustedProxyHops)
+                : new RemoteAddressResolver() {};
+    }
+
+    /**
+     * Run {@code next} if the caller has a token left in its bucket for {@code route};
+     * otherwise answer 429 without calling it.
+     */
+    public Mono<Void> throttle(ServerWebExchange exchange, String route, Limits userLimits, Limits ipLimits,
+                               Supplier<Mono<Void>> next) {
+        if (!enabled) {
+            return next.get();
+        }
+
+        String subject = subjectOf(exchange);
+        String keyType = subject != null ? "user" : "ip";
+        String key = route + "|" + keyType + ":" + (subject != null ? subject : clientIp(exchange));
+        Limits limits = subject != null ? userLimits : ipLimits;
+
+        return store.tryConsume(key, limits)
+                .onErrorResume(ex -> {
+                    log.warn("Rate limit store failed, letting request through: {}", ex.toString());
+                    return Mono.just(STORE_UNAVAILABLE);
+                })
+                .defaultIfEmpty(STORE_UNAVAILABLE)
+                .flatMap(decision -> {
+                    if (!decision.allowed()) {
+                        return tooManyRequests(exchange, route, keyType, decision);
+                    }
+                    if (decision != STORE_UNAVAILABLE) {
+                        exchange.getResponse().getHeaders().set(REMAINING_HEADER, Long.toString(decision.remaining()));
+                    }
+                    return next.get();
+                });
+    }
+
+
+    ///  Helper Functions
+
+    // Verified subject of the Bearer token, or null for anonymous or invalid tokens
+    private String subjectOf(ServerWebExchange exchange) {
+        String authorization = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (!StringUtils.hasText(authorization) || !authorization.startsWith("Bearer ")) {
+            return null;
+        }
+        try {
+            return jwtVerifier.subjectFor(authorization.substring(7));
+        }
+        catch (Exception ex) {
+            // Limited by IP instead; the downstream service still answers 401
+            return null;
+        }
+    }
+
+    private String clientIp(ServerWebExchange exchange) {
+        InetSocketAddress address = addressResolver.resolve(exchange);
+        if (address == null) {
+            return "unknown";
+        }
+        return address.getAddress() != null ? address.getAddress().getHostAddress() : address.getHostString();
+    }
+
+    private Mono<Void> tooManyRequests(ServerWebExchange exchange, String route, String keyType, Decision decision) {
+        meterRegistry.counter("gateway.ratelimit.throttled", "route", route, "key", keyType).increment();
+
+        long retryAfterSeconds = Math.max(1, (decision.retryAfter().toMillis() + 999) / 1000);
+        String body = """
+                {"type":"about:blank","title":"Too Many Requests","status":429,\
+                "detail":"Rate limit exceeded. Retry after %d seconds."}"""
+                .formatted(retryAfterSeconds);
+
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.getHeaders().setContentType(MediaType.APPLICATION_PROBLEM_JSON);
+
+        DataBuffer buffer = response.bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8));
+        return response.writeWith(Mono.just(buffer));
+    }
+}
@@ -0,0 +1,142 @@
+package com.microflix.gateway.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Verifies user JWTs once at the gateway and turns them into a signed internal identity header
+ * (and, for the rate limiter, the verified subject).
+ *
+ * Same checks as the services' own verifiers (HMAC signature + issuer + exp). The resulting header
+ * value is cached per token (keyed by SHA-256, never the raw token) until the token's exp, capped
+ * at max-ttl — so repeat requests with the same token cost one SHA-256 and a lookup.
+ *
+ * Metrics: cache.gets{cache=gateway.jwt.identity,result=hit|miss} (standard Caffeine binder).
+ */
+@Component
+public class GatewayJwtVerifier {
+
+    static final String CACHE_NAME = "gateway.jwt.identity";
+
+    private record TokenKey(long a, long b, long c, long d) {}
+
+    private record CachedIdentity(String header, String subject, long expiresAtNanos) {}
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);     // mandatory in every JRE
+        }
+    });
+
+    private final JWTVerifier verifier;
+    private final InternalIdentitySigner signer;
+    private final Cache<TokenKey, CachedIdentity> cache;
+    private final Duration maxTtl;
+
+    public GatewayJwtVerifier(
+            InternalIdentitySigner signer,
+            MeterRegistry meterRegistry,
+            @Value("${app.jwt.secret:secret-secret-local-key}") String secret,
+            @Value("${app.jwt.issuer:microflix-user-service}") String issuer,
+            @Value("${app.jwt.cache.max-size:10000}") long cacheMaxSize,
+            @Value("${app.jwt.cache.max-ttl:PT15M}") Duration maxTtl
+    ) {
+        this.signer = signer;
+        this.maxTtl = maxTtl;
+
+        // Use HMAC with a shared secret; matches the issuer service.
+        this.verifier = JWT.require(Algorithm.HMAC256(secret))
+                .withIssuer(issuer)
+                .build();
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(Math.max(cacheMaxSize, 0))
+                .expireAfter(Expiry.creating((TokenKey key, CachedIdentity cached) ->
+                        Duration.ofNanos(Math.max(0, cached.expiresAtNanos() - System.nanoTime()))))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Signed identity header value for a valid token.
+     * Throws (JWTVerificationException or a claim parse error) for an invalid one — never cached.
+     */
+    public String identityHeaderFor(String token) {
+        return verified(token).header();
+    }
+
+    /**
+     * The token's subject (the user's email) for a valid token, from the same cache.
+     * Throws like {@link #identityHeaderFor} for an invalid one.
+     */
+    public String subjectFor(String token) {
+        return verified(token).subject();
+    }
+
+
+    ///  Helper Functions
+
+    // Cached result for a valid token, verifying (and caching) it on a miss
+    private CachedIdentity verified(String token) {
+        TokenKey key = keyOf(token);
+        CachedIdentity cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        DecodedJWT jwt = verifier.verify(token);
+        String userId = jwt.getClaim("userId").asString();
+        String roles = jwt.getClaim("roles").asString();
+        if (userId == null || jwt.getSubject() == null) {
+            throw new JWTVerificationException("Token is missing the userId or sub claim");
+        }
+
+        Instant expiresAt = jwt.getExpiresAtAsInstant();
+        long ttlNanos = maxTtl.toNanos();
+        if (expiresAt != null) {
+            ttlNanos = Math.min(ttlNanos, Duration.between(Instant.now(), expiresAt).toNanos());
+        }
+
+        // The header never outlives the cache entry that produced it
+        long headerExpiresAt = Instant.now().plusNanos(Math.max(ttlNanos, 0)).getEpochSecond();
+        String header = signer.sign(
+                userId,
+                jwt.getSubject(),
+                roles == null ? "" : roles,
+                headerExpiresAt
+        );
+
+        CachedIdentity identity = new CachedIdentity(header, jwt.getSubject(), System.nanoTime() + ttlNanos);
+        if (ttlNanos > 0) {
+            cache.put(key, identity);
+        }
+        return identity;
+    }
+
+    private static TokenKey keyOf(String token) {
+        byte[] digest = SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        ByteBuffer buf = ByteBuffer.wrap(digest);
+        return new TokenKey(buf.getLong(), buf.getLong(), buf.getLong(), buf.getLong());
+    }
+}
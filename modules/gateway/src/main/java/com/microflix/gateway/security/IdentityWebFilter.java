@@ -0,0 +1,106 @@
+package com.microflix.gateway.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Verifies the caller's JWT once at the gateway and forwards a signed identity header.
+ *
+ * - Always strips any X-Internal-Identity sent by a client, so it can't be spoofed through the gateway
+ * - With app.identity.enabled, a valid Bearer token adds the signed header to the proxied request
+ *   (routes) and to the Reactor context (catalog WebClient calls, see {@link #propagateIdentity()})
+ * - An invalid or expired token adds nothing: the Authorization header still goes downstream and
+ *   the service rejects it exactly as before
+ *
+ * Services only trust the header when their own app.identity.trusted-header.enabled is on.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class IdentityWebFilter implements WebFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(IdentityWebFilter.class);
+
+    // Reactor context key carrying the signed header for downstream WebClient calls
+    static final String CONTEXT_KEY = IdentityWebFilter.class.getName() + ".identity";
+
+    private final GatewayJwtVerifier jwtVerifier;
+    private final boolean enabled;
+
+    public IdentityWebFilter(
+            GatewayJwtVerifier jwtVerifier,
+            @Value("${app.identity.enabled:false}") boolean enabled
+    ) {
+        this.jwtVerifier = jwtVerifier;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String identity = enabled ? identityFor(exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION)) : null;
+
+        boolean spoofed = exchange.getRequest().getHeaders().containsKey(InternalIdentitySigner.HEADER);
+        if (identity == null && !spoofed) {
+            return chain.filter(exchange);
+        }
+
+        ServerWebExchange mutated = exchange.mutate()
+                .request(request -> request.headers(headers -> {
+                    headers.remove(InternalIdentitySigner.HEADER);
+                    if (identity != null) {
+                        headers.set(InternalIdentitySigner.HEADER, identity);
+                    }
+                }))
+                .build();
+
+        if (identity == null) {
+            return chain.filter(mutated);
+        }
+        return chain.filter(mutated)
+                .contextWrite(context -> context.put(CONTEXT_KEY, identity));
+    }
+
+    /**
+     * WebClient filter that copies the verified identity (if any) from the current request's
+     * Reactor context onto an outgoing downstream call.
+     */
+    public static ExchangeFilterFunction propagateIdentity() {
+        return (request, next) -> Mono.deferContextual(context -> {
+            if (!context.hasKey(CONTEXT_KEY)) {
+                return next.exchange(request);
+            }
+            return next.exchange(ClientRequest.from(request)
+                    .header(InternalIdentitySigner.HEADER, context.<String>get(CONTEXT_KEY))
+                    .build());
+        });
+    }
+
+
+    ///  Helper Functions
+
+    // Signed identity for a Bearer header, or null if there's no usable token
+    private String identityFor(String authorization) {
+        if (!StringUtils.hasText(authorization) || !authorization.startsWith("Bearer ")) {
+            return null;
+        }
+        try {
+            return jwtVerifier.identityHeaderFor(authorization.substring(7));
+        }
+        catch (Exception ex) {
+            // Leave it to the downstream service, which returns its usual 401 ProblemDetail
+            log.debug("Gateway JWT verification failed: {}", ex.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.microflix.gateway.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Builds the signed internal identity header the gateway forwards after verifying a JWT.
+ *
+ *   X-Internal-Identity: v1.<base64url(userId \n email \n rolesCsv \n expEpochSeconds)>.<base64url(HMAC-SHA256)>
+ *
+ * The HMAC covers "v1.<payload>" and uses a secret shared only between the gateway and the
+ * services (app.identity.secret), not the JWT secret, so a leaked identity header can't be
+ * turned into a user-facing token. Services verify it with one HMAC and a split — no JSON parse.
+ * The secret has no default: with app.identity.enabled and no (or the old dev) secret, startup fails.
+ */
+@Component
+public class InternalIdentitySigner {
+
+    public static final String HEADER = "X-Internal-Identity";
+
+    private static final String VERSION = "v1";
+    private static final Base64.Encoder BASE64 = Base64.getUrlEncoder().withoutPadding();
+
+    // The placeholder that used to ship as the default; never accepted as a real secret
+    static final String DEV_SECRET = "internal-identity-local-secret";
+
+    private final SecretKeySpec key;
+
+    // Mac isn't thread-safe; one per thread instead of a new one per request
+    private final ThreadLocal<Mac> mac;
+
+    public InternalIdentitySigner(
+            @Value("${app.identity.enabled:false}") boolean enabled,
+            @Value("${app.identity.secret:}") String secret
+    ) {
+        this.key = keyFor(enabled, secret);
+        this.mac = ThreadLocal.withInitial(this::newMac);
+    }
+
+    /**
+     * Header value for a verified user, valid until {@code expiresAtEpochSeconds}.
+     */
+    public String sign(String userId, String email, String rolesCsv, long expiresAtEpochSeconds) {
+        String payload = String.join("\n", userId, email, rolesCsv, Long.toString(expiresAtEpochSeconds));
+        String signed = VERSION + "." + BASE64.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        byte[] signature = mac.get().doFinal(signed.getBytes(StandardCharsets.US_ASCII));
+        return signed + "." + BASE64.encodeToString(signature);
+    }
+
+
+    ///  Helper Functions
+
+    private Mac newMac() {
+        try {
+            Mac m = Mac.getInstance("HmacSHA256");
+            m.init(key);
+            return m;
+        }
+        catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);      // mandatory in every JRE
+        }
+    }
+
+    // Forwarding needs a real shared secret. Off, headers are still built (the JWT verifier caches
+    // them for rate-limit keys) but never leave the gateway, so a random per-process key is enough.
+    private static SecretKeySpec keyFor(boolean enabled, String secret) {
+        byte[] bytes;
+        if (enabled) {
+            if (!StringUtils.hasText(secret) || DEV_SECRET.equals(secret)) {
+                throw new IllegalStateException(
+                        "app.identity.enabled needs app.identity.secret (INTERNAL_IDENTITY_SECRET) set to a private value");
+            }
+            bytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        else {
+            bytes = new byte[32];
+            new SecureRandom().nextBytes(bytes);
+        }
+        return new SecretKeySpec(bytes, "HmacSHA256");
+    }
+}
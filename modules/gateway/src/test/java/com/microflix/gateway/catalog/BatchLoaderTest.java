@@ -0,0 +1,102 @@
+package com.microflix.gateway.catalog;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Batching, de-duplication and fan-out of the gateway's cross-request micro-batcher.
+ * The batch function is a plain in-memory lookup that records every call it gets.
+ */
+class BatchLoaderTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<List<Long>> calls = new CopyOnWriteArrayList<>();
+
+    @Test
+    void lookupsWithinWindow_goOutAsOneBatch_andEachCallerGetsItsOwnValue() {
+        BatchLoader<Long, String> loader = loader(Duration.ofMillis(50), 10);
+
+        CompletableFuture<String> a = loader.load(1L).toFuture();
+        CompletableFuture<String> b = loader.load(2L).toFuture();
+        CompletableFuture<String> c = loader.load(3L).toFuture();
+
+        assertEquals("movie 1", a.join());
+        assertEquals("movie 2", b.join());
+        assertEquals("movie 3", c.join());
+        assertEquals(List.of(List.of(1L, 2L, 3L)), calls);
+        assertEquals(3.0, registry.get("catalog.batch.size").tag("loader", "test").summary().totalAmount());
+    }
+
+    @Test
+    void duplicateKeys_shareOneSlot() {
+        BatchLoader<Long, String> loader = loader(Duration.ofMillis(50), 10);
+
+        CompletableFuture<String> first = loader.load(7L).toFuture();
+        CompletableFuture<String> second = loader.load(7L).toFuture();
+
+        assertEquals("movie 7", first.join());
+        assertEquals("movie 7", second.join());
+        assertEquals(List.of(List.of(7L)), calls);
+        assertEquals(1.0, registry.get("catalog.batch.collapsed").tag("loader", "test").counter().count());
+    }
+
+    @Test
+    void fullBatch_goesOutWithoutWaitingForWindow() {
+        BatchLoader<Long, String> loader = loader(Duration.ofHours(1), 2);
+
+        CompletableFuture<String> a = loader.load(1L).toFuture();
+        CompletableFuture<String> b = loader.load(2L).toFuture();
+
+        assertEquals("movie 1", a.join());
+        assertEquals("movie 2", b.join());
+        assertEquals(List.of(List.of(1L, 2L)), calls);
+    }
+
+    @Test
+    void keyMissingFromResult_completesEmpty() {
+        BatchLoader<Long, String> loader = loader(Duration.ofMillis(5), 10);
+
+        assertNull(loader.load(404L).block(Duration.ofSeconds(5)));
+    }
+
+    @Test
+    void failedBatch_failsEveryCallerInIt() {
+        BatchLoader<Long, String> loader = new BatchLoader<>(
+                "test",
+                ids -> Mono.error(new IllegalStateException("movie-service down")),
+                Duration.ofHours(1), 2, registry);
+
+        CompletableFuture<String> a = loader.load(1L).toFuture();
+        CompletableFuture<String> b = loader.load(2L).toFuture();
+
+        assertThrows(Exception.class, a::join);
+        assertThrows(Exception.class, b::join);
+    }
+
+
+    // Knows every id except 404
+    private BatchLoader<Long, String> loader(Duration window, int maxBatchSize) {
+        return new BatchLoader<>("test", ids -> {
+            calls.add(List.copyOf(ids));
+            Map<Long, String> result = new HashMap<>();
+            for (Long id : ids) {
+                if (id != 404L) {
+                    result.put(id, "movie " + id);
+                }
+            }
+            return Mono.just(result);
+        }, window, maxBatchSize, registry);
+    }
+}
@@ -0,0 +1,75 @@
+package com.microflix.gateway.catalog;
+
+import com.microflix.gateway.catalog.dto.CatalogBrowseItemDto;
+import com.microflix.gateway.catalog.dto.CatalogMeDto;
+import com.microflix.gateway.catalog.dto.CatalogMovieDto;
+import com.microflix.gateway.catalog.dto.CatalogRatingSummaryDto;
+import com.microflix.gateway.catalog.dto.MyMovieStateDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests the pure-function join behind the browse grid: movies from the search page,
+ * plus the batch summary and batch "my state" results from rating-service.
+ */
+class CatalogServiceBrowseJoinTest {
+
+    private static final List<CatalogMovieDto> MOVIES = List.of(
+            movie(3L, "Tenet"),
+            movie(1L, "Inception"),
+            movie(2L, "Interstellar")
+    );
+
+    @Test
+    void joinBrowse_keepsSearchOrder_andAttachesEachMoviesSummaryAndState() {
+        Map<Long, CatalogRatingSummaryDto> summaries = Map.of(
+                1L, new CatalogRatingSummaryDto(8.8, 10L),
+                2L, new CatalogRatingSummaryDto(8.6, 4L),
+                3L, new CatalogRatingSummaryDto(7.3, 2L)
+        );
+        Map<Long, MyMovieStateDto> states = Map.of(
+                1L, new MyMovieStateDto(1L, 9.0, List.of("WATCHLIST", "LIKE")),
+                3L, new MyMovieStateDto(3L, null, List.of("WATCHLIST"))
+        );
+
+        List<CatalogBrowseItemDto> result = CatalogService.joinBrowse(MOVIES, summaries, states);
+
+        assertEquals(List.of(3L, 1L, 2L), result.stream().map(i -> i.movie().id()).toList());
+        assertEquals(7.3, result.get(0).ratingSummary().average());
+        assertEquals(new CatalogMeDto(null, true), result.get(0).me());
+        assertEquals(new CatalogMeDto(9.0, true), result.get(1).me());
+        assertEquals(CatalogMeDto.anonymous(), result.get(2).me());
+    }
+
+    @Test
+    void joinBrowse_movieMissingFromSummaries_getsEmptySummary() {
+        List<CatalogBrowseItemDto> result = CatalogService.joinBrowse(
+                MOVIES, Map.of(1L, new CatalogRatingSummaryDto(8.8, 10L)), Map.of());
+
+        assertEquals(CatalogRatingSummaryDto.empty(), result.get(0).ratingSummary());
+        assertEquals(10L, result.get(1).ratingSummary().count());
+    }
+
+    @Test
+    void joinBrowse_summariesUnavailable_leavesEverySummaryNull() {
+        List<CatalogBrowseItemDto> result = CatalogService.joinBrowse(MOVIES, null, Map.of());
+
+        result.forEach(item -> assertNull(item.ratingSummary()));
+    }
+
+    @Test
+    void joinBrowse_anonymous_everyTileGetsAnonymousMe() {
+        List<CatalogBrowseItemDto> result = CatalogService.joinBrowse(MOVIES, Map.of(), Map.of());
+
+        result.forEach(item -> assertEquals(CatalogMeDto.anonymous(), item.me()));
+    }
+
+    private static CatalogMovieDto movie(Long id, String title) {
+        return new CatalogMovieDto(id, title, null, null, null, null, null, List.of());
+    }
+}
@@ -13,13 +13,9 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
- * Tests the pure-function join that glues watchlist engagements to movie metadata.
- *
- * This is the only piece of the watchlist aggregation with non-trivial logic — the rest
- * is WebClient wiring that would need a MockWebServer / WireMock to exercise. Rather than
- * stand that up for one endpoint (no existing pattern in the gateway module), we test the
- * correctness-critical helper directly and rely on the live stack for end-to-end coverage
- * via the Piece 5 k6 measurement run.
+ * Tests the pure-function join that glues watchlist engagements to movie metadata,
+ * and the chunking that splits each page for hydration. The paging, concurrent hydration
+ * and NDJSON endpoint around them are covered over HTTP in CatalogServiceWatchlistStreamTest.
  */
 class CatalogServiceWatchlistJoinTest {
 
@@ -88,6 +84,18 @@ class CatalogServiceWatchlistJoinTest {
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    void chunk_splitsInOrder_withShortLastChunk() {
+        List<List<Integer>> chunks = CatalogService.chunk(List.of(1, 2, 3, 4, 5), 2);
+
+        assertEquals(List.of(List.of(1, 2), List.of(3, 4), List.of(5)), chunks);
+    }
+
+    @Test
+    void chunk_emptyList_hasNoChunks() {
+        assertTrue(CatalogService.chunk(List.of(), 25).isEmpty());
+    }
+
     private static CatalogMovieDto movie(Long id, String title) {
         return new CatalogMovieDto(id, title, null, null, null, null, null, List.of());
     }
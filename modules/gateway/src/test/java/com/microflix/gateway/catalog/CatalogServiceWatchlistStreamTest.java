@@ -0,0 +1,160 @@
+package com.microflix.gateway.catalog;
+
+import com.microflix.gateway.catalog.dto.CatalogWatchlistItemDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The watchlist walk end to end over HTTP: cursor pages from rating-service (expand), chunked
+ * hydration through movie-service's batch endpoint (flatMapSequential), and the NDJSON endpoint.
+ *
+ * A local Netty server stands in for both services. The watchlist is 8 movies over two cursor
+ * pages (5 + 3); with chunk-size 2 that is five batch calls, and earlier chunks are answered
+ * last, so the output order can only come from re-sequencing, not from arrival order.
+ */
+class CatalogServiceWatchlistStreamTest {
+
+    private static final OffsetDateTime NEWEST = OffsetDateTime.of(2026, 4, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+    private static final String AUTH = "Bearer token";
+
+    private static final AtomicInteger inFlight = new AtomicInteger();
+    private static final AtomicInteger maxInFlight = new AtomicInteger();
+    private static final AtomicInteger batchCalls = new AtomicInteger();
+
+    private static final DisposableServer DOWNSTREAM = HttpServer.create()
+            .port(0)
+            .route(routes -> routes
+                    .get("/api/v1/engagements/watchlist", (req, res) -> {
+                        // Page 1 is movies 1–5 with a cursor to page 2, movies 6–8
+                        boolean firstPage = !new QueryStringDecoder(req.uri()).parameters().containsKey("cursor");
+                        var response = res.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+                        if (firstPage) {
+                            response = response.header("X-Next-Cursor", "page-2");
+                        }
+                        return response.sendString(Mono.just(firstPage ? engagements(1, 5) : engagements(6, 8)));
+                    })
+                    .get("/api/v1/movies/batch", (req, res) -> {
+                        List<Long> ids = Arrays.stream(new QueryStringDecoder(req.uri()).parameters().get("ids").get(0)
+                                .split(",")).map(Long::valueOf).toList();
+                        batchCalls.incrementAndGet();
+                        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+
+                        // Earlier chunks answer later; movies come back in reverse id order
+                        Duration delay = Duration.ofMillis((9 - ids.get(0)) * 40);
+                        return res.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                .sendString(Mono.delay(delay)
+                                        .map(tick -> movies(ids.reversed()))
+                                        .doFinally(signal -> inFlight.decrementAndGet()));
+                    }))
+            .bindNow();
+
+    @AfterAll
+    static void stopServer() {
+        DOWNSTREAM.disposeNow();
+    }
+
+    private final CatalogService catalogService = catalogService();
+
+    @BeforeEach
+    void resetCounters() {
+        batchCalls.set(0);
+        maxInFlight.set(0);
+    }
+
+    @Test
+    void streamWatchlist_acrossCursorPages_keepsAddedAtDescOrder() {
+        List<CatalogWatchlistItemDto> items = catalogService.streamWatchlist(AUTH)
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L), items.stream().map(i -> i.movie().id()).toList());
+        for (int i = 1; i < items.size(); i++) {
+            assertTrue(items.get(i).addedAt().isBefore(items.get(i - 1).addedAt()), "addedAt desc at " + i);
+        }
+        assertEquals("Movie 6", items.get(5).movie().title());     // first row of the second page
+
+        assertEquals(5, batchCalls.get());                           // [1,2] [3,4] [5] | [6,7] [8]
+        assertTrue(maxInFlight.get() > 1, "chunks are hydrated concurrently");
+    }
+
+    @Test
+    void streamEndpoint_writesOneJsonObjectPerLine_inWatchlistOrder() {
+        WebTestClient client = WebTestClient.bindToController(new CatalogController(catalogService))
+                .configureClient()
+                .responseTimeout(Duration.ofSeconds(5))
+                .build();
+
+        String body = client.get()
+                .uri("/api/v1/catalog/watchlist/stream")
+                .header(HttpHeaders.AUTHORIZATION, AUTH)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        List<String> lines = body.lines().filter(line -> !line.isBlank()).toList();
+        assertEquals(8, lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            assertTrue(lines.get(i).startsWith("{") && lines.get(i).contains("\"id\":" + (i + 1) + ","),
+                    "line " + i + ": " + lines.get(i));
+        }
+    }
+
+
+    private static CatalogService catalogService() {
+        var registry = new SimpleMeterRegistry();
+        WebClient client = WebClient.create("http://localhost:" + DOWNSTREAM.port());
+        return new CatalogService(
+                client,
+                client,
+                new DownstreamResilience(registry, Duration.ofSeconds(2), Duration.ofSeconds(2), 50,
+                        Duration.ofSeconds(1), 50, Duration.ofSeconds(10), 200),
+                new RequestHedger(registry, false, 5, 50, Duration.ofMillis(5)),
+                registry,
+                ObservationRegistry.NOOP,
+                100, Duration.ofSeconds(30), Duration.ofMinutes(10), Duration.ofSeconds(5),
+                false, Duration.ofMillis(5), 50,
+                2,      // chunk-size
+                4       // hydration-concurrency
+        );
+    }
+
+    // Movie n was added n minutes before NEWEST, so ascending ids are addedAt desc
+    private static String engagements(int from, int to) {
+        return IntStream.rangeClosed(from, to)
+                .mapToObj(id -> "{\"movieId\":" + id + ",\"addedAt\":\"" + NEWEST.minusMinutes(id) + "\"}")
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+
+    private static String movies(List<Long> ids) {
+        return ids.stream()
+                .map(id -> "{\"id\":" + id + ",\"title\":\"Movie " + id + "\",\"genres\":[]}")
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+}
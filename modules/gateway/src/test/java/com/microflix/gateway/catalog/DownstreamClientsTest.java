@@ -0,0 +1,89 @@
+package com.microflix.gateway.catalog;
+
+import io.micrometer.core.instrument.Metrics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClient;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The per-downstream clients resolve lb://movie-service through the load balancer
+ * and publish their pool gauges. A local Netty server stands in for movie-service, and
+ * a fixed instance list points the load balancer at it.
+ */
+@SpringBootTest(properties = "eureka.client.enabled=false")
+class DownstreamClientsTest {
+
+    private static final DisposableServer MOVIE_SERVICE = HttpServer.create()
+            .port(0)
+            .route(routes -> routes.get("/api/v1/movies/{id}",
+                    (req, res) -> res.sendString(Mono.just("movie " + req.param("id")))))
+            .bindNow();
+
+    // Loaded into movie-service's LoadBalancer child context next to the latency-aware balancer
+    @TestConfiguration
+    @LoadBalancerClient(name = WebClientConfig.MOVIE_SERVICE, configuration = MovieServiceInstances.class)
+    static class LocalMovieService {
+    }
+
+    static class MovieServiceInstances {
+
+        /**
+         * The lb:// filter swaps in the chosen instance's scheme. Eureka instances report one;
+         * DefaultServiceInstance returns null (no setter either), which would leave lb:// in the URL.
+         */
+        @Bean
+        ServiceInstanceListSupplier movieServiceInstances() {
+            ServiceInstance instance = new DefaultServiceInstance(
+                    "movie-service-1", WebClientConfig.MOVIE_SERVICE, "localhost", MOVIE_SERVICE.port(), false) {
+                @Override
+                public String getScheme() {
+                    return "http";
+                }
+            };
+            return ServiceInstanceListSuppliers.from(WebClientConfig.MOVIE_SERVICE, instance);
+        }
+    }
+
+    @AfterAll
+    static void stopServer() {
+        MOVIE_SERVICE.disposeNow();
+    }
+
+    @Autowired
+    @Qualifier("movieServiceClient")
+    WebClient movieServiceClient;
+
+    @Test
+    void callsGoThroughLoadBalancerAndDedicatedPool() {
+        for (int i = 0; i < 3; i++) {
+            String body = movieServiceClient.get()
+                    .uri("/api/v1/movies/{id}", 42)
+                    .retrieve()
+                    .bodyToMono(String.class)
+                    .block();
+            assertThat(body).isEqualTo("movie 42");
+        }
+
+        // Sequential calls reuse one keep-alive connection from the movie-service pool
+        assertThat(Metrics.globalRegistry.find("reactor.netty.connection.provider.total.connections")
+                .tag("name", WebClientConfig.MOVIE_SERVICE)
+                .gauge())
+                .isNotNull()
+                .satisfies(gauge -> assertThat(gauge.value()).isEqualTo(1.0));
+    }
+}
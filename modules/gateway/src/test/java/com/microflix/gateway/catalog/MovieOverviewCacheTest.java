@@ -0,0 +1,161 @@
+package com.microflix.gateway.catalog;
+
+import com.microflix.gateway.catalog.MovieOverviewCache.MovieOverview;
+import com.microflix.gateway.catalog.dto.CatalogMovieDto;
+import com.microflix.gateway.catalog.dto.CatalogRatingSummaryDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Soft/hard TTL and miss-collapsing behaviour of the gateway's movie overview cache,
+ * driven by a fake ticker instead of real time.
+ */
+class MovieOverviewCacheTest {
+
+    private static final Duration SOFT = Duration.ofSeconds(30);
+    private static final Duration HARD = Duration.ofMinutes(10);
+    private static final Duration DEGRADED = Duration.ofSeconds(5);
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void freshEntry_isServedWithoutReloading() {
+        MovieOverviewCache cache = cache(id -> Mono.just(overview(id, loads.incrementAndGet())));
+
+        cache.get(1L).block();
+        cache.get(1L).block();
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void concurrentMisses_shareOneLoad() {
+        Sinks.One<MovieOverview> pending = Sinks.one();
+        MovieOverviewCache cache = cache(id -> {
+            loads.incrementAndGet();
+            return pending.asMono();
+        });
+
+        CompletableFuture<MovieOverview> first = cache.get(1L).toFuture();
+        CompletableFuture<MovieOverview> second = cache.get(1L).toFuture();
+        assertFalse(first.isDone());
+
+        pending.tryEmitValue(overview(1L, 1));
+
+        assertEquals(1, loads.get());
+        assertEquals(1L, first.join().ratingSummary().count());
+        assertEquals(1L, second.join().ratingSummary().count());
+    }
+
+    @Test
+    void pastSoftTtl_servesStaleValueAndRefreshesInBackground() {
+        // The reload stays in flight until the test emits it, so the stale read can't see its result
+        Sinks.One<MovieOverview> reload = Sinks.one();
+        MovieOverviewCache cache = cache(id -> loads.incrementAndGet() == 1
+                ? Mono.just(overview(id, 1))
+                : reload.asMono());
+        cache.get(1L).block();
+
+        nanos.addAndGet(SOFT.plusSeconds(1).toNanos());
+
+        // This caller gets the old value at once, and starts the reload
+        assertEquals(1L, cache.get(1L).block().ratingSummary().count());
+        assertEquals(2, loads.get());
+        assertEquals(1L, cache.get(1L).block().ratingSummary().count());     // still stale, one reload in flight
+        assertEquals(2, loads.get());
+
+        reload.tryEmitValue(overview(1L, 2));
+
+        assertEquals(2L, cache.get(1L).block().ratingSummary().count());
+    }
+
+    @Test
+    void pastHardTtl_waitsForFreshValue() {
+        MovieOverviewCache cache = cache(id -> Mono.just(overview(id, loads.incrementAndGet())));
+        cache.get(1L).block();
+
+        nanos.addAndGet(HARD.plusSeconds(1).toNanos());
+
+        assertEquals(2L, cache.get(1L).block().ratingSummary().count());
+    }
+
+    @Test
+    void failedLoad_isNotCached() {
+        MovieOverviewCache cache = cache(id -> loads.incrementAndGet() == 1
+                ? Mono.error(new IllegalStateException("movie-service down"))
+                : Mono.just(overview(id, loads.get())));
+
+        assertThrows(IllegalStateException.class, () -> cache.get(1L).block());
+        assertEquals(2L, cache.get(1L).block().ratingSummary().count());
+    }
+
+    @Test
+    void degradedOverview_expiresAfterDegradedTtl() {
+        MovieOverviewCache cache = cache(id -> loads.incrementAndGet() == 1
+                ? Mono.just(degraded(id))
+                : Mono.just(overview(id, loads.get())));
+        assertNull(cache.get(1L).block().ratingSummary());
+
+        nanos.addAndGet(DEGRADED.plusSeconds(1).toNanos());
+
+        assertEquals(2L, cache.get(1L).block().ratingSummary().count());
+    }
+
+    @Test
+    void degradedRefresh_keepsPreviousCompleteValue() {
+        MovieOverviewCache cache = cache(id -> loads.incrementAndGet() == 1
+                ? Mono.just(overview(id, 1))
+                : Mono.just(degraded(id)));
+        cache.get(1L).block();
+
+        nanos.addAndGet(SOFT.plusSeconds(1).toNanos());
+        cache.get(1L).block();      // triggers the refresh, which comes back degraded
+
+        assertEquals(2, loads.get());
+        assertEquals(1L, cache.get(1L).block().ratingSummary().count());
+    }
+
+    @Test
+    void zeroMaxSize_disablesCaching() {
+        MovieOverviewCache cache = new MovieOverviewCache(
+                id -> Mono.just(overview(id, loads.incrementAndGet())),
+                0, SOFT, HARD, DEGRADED, new SimpleMeterRegistry(), nanos::get);
+
+        cache.get(1L).block();
+        cache.get(1L).block();
+
+        assertEquals(2, loads.get());
+    }
+
+
+    private MovieOverviewCache cache(Function<Long, Mono<MovieOverview>> loader) {
+        return new MovieOverviewCache(loader, 100, SOFT, HARD, DEGRADED, new SimpleMeterRegistry(), nanos::get);
+    }
+
+    private static MovieOverview degraded(Long id) {
+        return new MovieOverview(overview(id, 0).movie(), null);
+    }
+
+    // Rating count doubles as a load counter, so tests can tell which load a value came from
+    private static MovieOverview overview(Long id, long loadNumber) {
+        return new MovieOverview(
+                new CatalogMovieDto(id, "Movie " + id, null, null, null, null, null, List.of()),
+                new CatalogRatingSummaryDto(8.0, loadNumber)
+        );
+    }
+}
@@ -0,0 +1,86 @@
+package com.microflix.gateway.catalog;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * When the gateway sends a second attempt, who wins, and how the budget limits it.
+ * Routes are warmed with instant answers, so the hedge delay is the configured min-delay.
+ */
+class RequestHedgerTest {
+
+    private static final int MIN_SAMPLES = 20;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    @Test
+    void disabled_sendsExactlyOneAttempt() {
+        RequestHedger hedger = hedger(false, 100);
+        warmUp(hedger);
+        attempts.set(0);
+
+        assertEquals("slow", hedger.hedge("route", this::slowThenFast).block(Duration.ofSeconds(5)));
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void slowFirstAttempt_isHedged_andHedgeWins() {
+        RequestHedger hedger = hedger(true, 100);
+        warmUp(hedger);
+        attempts.set(0);
+
+        assertEquals("fast", hedger.hedge("route", this::slowThenFast).block(Duration.ofSeconds(5)));
+        assertEquals(2, attempts.get());
+        assertEquals(1.0, registry.get("catalog.hedge.sent").tag("route", "route").counter().count());
+        assertEquals(1.0, registry.get("catalog.hedge.wins").tag("route", "route").counter().count());
+    }
+
+    @Test
+    void exhaustedBudget_waitsForFirstAttempt() {
+        RequestHedger hedger = hedger(true, 0);
+        warmUp(hedger);
+        attempts.set(0);
+
+        assertEquals("slow", hedger.hedge("route", this::slowThenFast).block(Duration.ofSeconds(5)));
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void fastError_isNotHedged() {
+        RequestHedger hedger = hedger(true, 100);
+        warmUp(hedger);
+        attempts.set(0);
+
+        assertThrows(IllegalStateException.class, () -> hedger.hedge("route", () -> {
+            attempts.incrementAndGet();
+            return Mono.<String>error(new IllegalStateException("404"));
+        }).block(Duration.ofSeconds(5)));
+        assertEquals(1, attempts.get());
+    }
+
+
+    private RequestHedger hedger(boolean enabled, double budgetPercent) {
+        return new RequestHedger(registry, enabled, budgetPercent, MIN_SAMPLES, Duration.ofMillis(20));
+    }
+
+    private void warmUp(RequestHedger hedger) {
+        for (int i = 0; i < MIN_SAMPLES; i++) {
+            hedger.hedge("route", () -> Mono.just("warm")).block();
+        }
+    }
+
+    // First attempt stalls for 2s (the "GC-pausing instance"), any later one answers at once
+    private Mono<String> slowThenFast() {
+        return attempts.incrementAndGet() == 1
+                ? Mono.delay(Duration.ofSeconds(2)).thenReturn("slow")
+                : Mono.just("fast");
+    }
+}
@@ -0,0 +1,141 @@
+package com.microflix.gateway.loadbalancer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Instance choice of the P2C load balancer from tracked latency and in-flight counts,
+ * driven by a fake clock. With two instances P2C always compares both, so picks are deterministic.
+ */
+class LatencyAwareLoadBalancerTest {
+
+    private static final String SERVICE = "movie-service";
+    private static final ServiceInstance FAST = new DefaultServiceInstance("fast", SERVICE, "10.0.0.1", 8083, false);
+    private static final ServiceInstance SLOW = new DefaultServiceInstance("slow", SERVICE, "10.0.0.2", 8083, false);
+
+    private final AtomicLong nanos = new AtomicLong(1_000_000_000L);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final InstanceLoadTracker tracker = new InstanceLoadTracker(
+            registry, Duration.ofSeconds(10), Duration.ofSeconds(1), Duration.ofMinutes(1), nanos::get);
+    private final LatencyAwareLoadBalancer loadBalancer = loadBalancer(FAST, SLOW);
+
+    @Test
+    void slowerInstance_isAvoided() {
+        complete(start(FAST), Duration.ofMillis(5), CompletionContext.Status.SUCCESS);
+        complete(start(SLOW), Duration.ofMillis(200), CompletionContext.Status.SUCCESS);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(FAST, choose());
+        }
+    }
+
+    @Test
+    void busierInstance_isAvoided_atEqualLatency() {
+        complete(start(FAST), Duration.ofMillis(10), CompletionContext.Status.SUCCESS);
+        complete(start(SLOW), Duration.ofMillis(10), CompletionContext.Status.SUCCESS);
+
+        start(FAST);
+        start(FAST);
+
+        assertEquals(SLOW, choose());
+        assertEquals(2.0, registry.get("gateway.loadbalancer.inflight").tag("instance", "10.0.0.1:8083").gauge().value());
+    }
+
+    @Test
+    void hedge_avoidsInstanceStillHoldingTheStalledFirstAttempt() {
+        // FAST has the better record, so the first attempt goes there...
+        complete(start(FAST), Duration.ofMillis(10), CompletionContext.Status.SUCCESS);
+        complete(start(SLOW), Duration.ofMillis(15), CompletionContext.Status.SUCCESS);
+        assertEquals(FAST, choose());
+
+        // ...and stalls (GC pause). Its in-flight request doubles FAST's cost, so the hedge sent
+        // at the route's p95 loses the comparison there and goes to SLOW instead.
+        start(FAST);
+        nanos.addAndGet(Duration.ofMillis(20).toNanos());
+
+        assertEquals(SLOW, choose());
+    }
+
+    @Test
+    void idleSlowInstance_isRetriedOnceItsLatencyHasDecayed() {
+        complete(start(SLOW), Duration.ofMillis(200), CompletionContext.Status.SUCCESS);
+        nanos.addAndGet(Duration.ofSeconds(60).toNanos());
+
+        // FAST keeps answering in 5ms; SLOW's 200ms has faded to ~0.5ms after 6 time constants
+        complete(start(FAST), Duration.ofMillis(5), CompletionContext.Status.SUCCESS);
+
+        assertEquals(SLOW, choose());
+    }
+
+    @Test
+    void failedRequest_countsAsPenalty() {
+        complete(start(FAST), Duration.ofMillis(50), CompletionContext.Status.SUCCESS);
+        complete(start(SLOW), Duration.ofMillis(1), CompletionContext.Status.FAILED);     // connection refused, fast
+
+        assertEquals(FAST, choose());
+    }
+
+    @Test
+    void unmeasuredInstanceWithRequestsInFlight_isNotFlooded() {
+        complete(start(FAST), Duration.ofMillis(20), CompletionContext.Status.SUCCESS);
+        start(SLOW);        // first request to a new instance, no answer yet
+
+        assertEquals(FAST, choose());
+    }
+
+    @Test
+    void abandonedRequest_stopsCountingAfterStaleAfter() {
+        complete(start(FAST), Duration.ofMillis(10), CompletionContext.Status.SUCCESS);
+        complete(start(SLOW), Duration.ofMillis(10), CompletionContext.Status.SUCCESS);
+        start(FAST);        // cancelled, completion never reported
+
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+        tracker.cleanUp();
+
+        assertEquals(0.0, registry.get("gateway.loadbalancer.inflight").tag("instance", "10.0.0.1:8083").gauge().value());
+    }
+
+    @Test
+    void noInstances_givesEmptyResponse() {
+        assertFalse(loadBalancer(new ServiceInstance[0]).choose(new DefaultRequest<>()).block().hasServer());
+    }
+
+
+    private ServiceInstance choose() {
+        return loadBalancer.choose(new DefaultRequest<>()).block().getServer();
+    }
+
+    private Request<Object> start(ServiceInstance instance) {
+        Request<Object> request = new DefaultRequest<>();
+        tracker.onStartRequest(request, new DefaultResponse(instance));
+        return request;
+    }
+
+    private void complete(Request<Object> request, Duration took, CompletionContext.Status status) {
+        nanos.addAndGet(took.toNanos());
+        tracker.onComplete(new CompletionContext<>(status, request, null));
+    }
+
+    private LatencyAwareLoadBalancer loadBalancer(ServiceInstance... instances) {
+        ServiceInstanceListSupplier supplier = ServiceInstanceListSuppliers.from(SERVICE, instances);
+        var provider = new StaticListableBeanFactory(Map.of("supplier", supplier))
+                .getBeanProvider(ServiceInstanceListSupplier.class);
+        return new LatencyAwareLoadBalancer(provider, SERVICE, tracker);
+    }
+}
@@ -0,0 +1,115 @@
+package com.microflix.gateway.ratelimit;
+
+import com.microflix.gateway.ratelimit.RateLimitStore.Decision;
+import com.microflix.gateway.ratelimit.RateLimitStore.Limits;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Token-bucket arithmetic, Retry-After and idle-bucket expiry of the in-memory store,
+ * driven by a fake clock instead of real time.
+ */
+class InMemoryRateLimitStoreTest {
+
+    private static final Limits LIMITS = new Limits(3, 1.0);      // burst of 3, then one per second
+    private static final Duration SWEEP = Duration.ofSeconds(30);
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final InMemoryRateLimitStore store = new InMemoryRateLimitStore(16, SWEEP, nanos::get);
+
+    @Test
+    void newBucket_allowsBurstUpToCapacity_thenRefuses() {
+        assertEquals(2, store.consume("k", LIMITS).remaining());
+        assertEquals(1, store.consume("k", LIMITS).remaining());
+        assertEquals(0, store.consume("k", LIMITS).remaining());
+
+        Decision refused = store.consume("k", LIMITS);
+        assertFalse(refused.allowed());
+        assertEquals(Duration.ofSeconds(1), refused.retryAfter());
+    }
+
+    @Test
+    void refusal_reportsTimeUntilNextToken() {
+        drain("k");
+        nanos.addAndGet(Duration.ofMillis(400).toNanos());
+
+        assertEquals(Duration.ofMillis(600), store.consume("k", LIMITS).retryAfter());
+    }
+
+    @Test
+    void tokensRefillOverTime_butNeverAboveCapacity() {
+        drain("k");
+
+        nanos.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertTrue(store.consume("k", LIMITS).allowed());
+        assertFalse(store.consume("k", LIMITS).allowed());
+
+        nanos.addAndGet(Duration.ofHours(1).toNanos());
+        assertEquals(2, store.consume("k", LIMITS).remaining());
+    }
+
+    @Test
+    void keys_haveIndependentBuckets() {
+        drain("alice");
+
+        assertFalse(store.consume("alice", LIMITS).allowed());
+        assertTrue(store.consume("bob", LIMITS).allowed());
+    }
+
+    @Test
+    void idleFullBuckets_areSweptAfterInterval() {
+        store.consume("idle", LIMITS);
+        assertEquals(1, store.size());
+
+        // Refilled after 1s, but only dropped when its stripe is next touched after the sweep interval
+        nanos.addAndGet(SWEEP.plusSeconds(1).toNanos());
+        for (int i = 0; i < 64; i++) {
+            store.consume("other-" + i, LIMITS);
+        }
+
+        assertEquals(64, store.size());
+    }
+
+    @Test
+    void concurrentConsumers_neverGetMoreThanCapacity() throws InterruptedException {
+        Limits limits = new Limits(1000, 1.0);
+        AtomicInteger allowed = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+
+        for (int i = 0; i < 4000; i++) {
+            pool.execute(() -> {
+                if (store.consume("hot", limits).allowed()) {
+                    allowed.incrementAndGet();
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(1000, allowed.get());
+    }
+
+    @Test
+    void invalidLimits_areRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new Limits(0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new Limits(5, 0));
+    }
+
+
+    private void drain(String key) {
+        for (int i = 0; i < LIMITS.capacity(); i++) {
+            assertTrue(store.consume(key, LIMITS).allowed());
+        }
+    }
+}
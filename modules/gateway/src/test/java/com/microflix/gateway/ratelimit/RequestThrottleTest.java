@@ -0,0 +1,181 @@
+package com.microflix.gateway.ratelimit;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.microflix.gateway.ratelimit.RateLimitStore.Decision;
+import com.microflix.gateway.ratelimit.RateLimitStore.Limits;
+import com.microflix.gateway.security.GatewayJwtVerifier;
+import com.microflix.gateway.security.InternalIdentitySigner;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * What a throttled or allowed request looks like on the wire: bucket key choice, the 429
+ * response (Retry-After, ProblemDetail body), X-RateLimit-Remaining, and failing open.
+ * The store is a stub answering a fixed decision and recording the keys it was asked for.
+ */
+class RequestThrottleTest {
+
+    private static final String JWT_SECRET = "test-secret";
+    private static final String ISSUER = "microflix-user-service";
+    private static final Limits USER_LIMITS = new Limits(60, 20);
+    private static final Limits IP_LIMITS = new Limits(30, 10);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final GatewayJwtVerifier jwtVerifier = new GatewayJwtVerifier(
+            new InternalIdentitySigner(false, ""), registry, JWT_SECRET, ISSUER, 100, Duration.ofMinutes(15));
+
+    private final List<String> keys = new ArrayList<>();
+    private final List<Limits> limits = new ArrayList<>();
+    private final AtomicInteger nextCalls = new AtomicInteger();
+
+    @Test
+    void validBearerToken_isLimitedPerUser() {
+        var exchange = exchange(MockServerHttpRequest.get("/api/v1/ratings")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token(JWT_SECRET)));
+
+        throttle(store(Decision.allowed(59)), 0, exchange);
+
+        assertEquals(List.of("ratings|user:a@example.com"), keys);
+        assertEquals(List.of(USER_LIMITS), limits);
+    }
+
+    @Test
+    void anonymousOrInvalidToken_isLimitedPerIp() {
+        throttle(store(Decision.allowed(29)), 0, exchange(MockServerHttpRequest.get("/api/v1/ratings")));
+        throttle(store(Decision.allowed(28)), 0, exchange(MockServerHttpRequest.get("/api/v1/ratings")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token("forged-secret"))));
+
+        assertEquals(List.of("ratings|ip:10.0.0.7", "ratings|ip:10.0.0.7"), keys);
+        assertEquals(List.of(IP_LIMITS, IP_LIMITS), limits);
+    }
+
+    @Test
+    void trustedProxyHops_readsClientIpFromForwardedFor() {
+        var exchange = exchange(MockServerHttpRequest.get("/api/v1/ratings")
+                .header("X-Forwarded-For", "198.51.100.1, 203.0.113.9"));
+
+        throttle(store(Decision.allowed(29)), 1, exchange);
+
+        // One trusted hop: the rightmost entry, not the client-supplied one to its left
+        assertEquals(List.of("ratings|ip:203.0.113.9"), keys);
+    }
+
+    @Test
+    void refused_answers429WithRetryAfterAndProblemDetail_withoutCallingNext() {
+        var exchange = exchange(MockServerHttpRequest.get("/api/v1/ratings"));
+
+        throttle(store(Decision.refused(Duration.ofMillis(1_200))), 0, exchange);
+
+        var response = exchange.getResponse();
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("2", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));     // 1.2s rounds up
+        assertEquals(MediaType.APPLICATION_PROBLEM_JSON, response.getHeaders().getContentType());
+        assertNull(response.getHeaders().getFirst(RequestThrottle.REMAINING_HEADER));
+        assertEquals(0, nextCalls.get());
+
+        String body = response.getBodyAsString().block();
+        assertTrue(body.contains("\"status\":429"), body);
+        assertTrue(body.contains("\"title\":\"Too Many Requests\""), body);
+        assertTrue(body.contains("Retry after 2 seconds"), body);
+
+        assertEquals(1.0, registry.get("gateway.ratelimit.throttled")
+                .tag("route", "ratings").tag("key", "ip").counter().count());
+    }
+
+    @Test
+    void retryAfter_isAtLeastOneSecond() {
+        var exchange = exchange(MockServerHttpRequest.get("/api/v1/ratings"));
+
+        throttle(store(Decision.refused(Duration.ofMillis(5))), 0, exchange);
+
+        assertEquals("1", exchange.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void allowed_callsNextAndReportsRemaining() {
+        var exchange = exchange(MockServerHttpRequest.get("/api/v1/ratings"));
+
+        throttle(store(Decision.allowed(12)), 0, exchange);
+
+        assertEquals(1, nextCalls.get());
+        assertEquals("12", exchange.getResponse().getHeaders().getFirst(RequestThrottle.REMAINING_HEADER));
+    }
+
+    @Test
+    void storeFailure_failsOpen_withoutRemainingHeader() {
+        var failing = exchange(MockServerHttpRequest.get("/api/v1/ratings"));
+        throttle((key, l) -> Mono.error(new IllegalStateException("store down")), 0, failing);
+
+        var empty = exchange(MockServerHttpRequest.get("/api/v1/ratings"));
+        throttle((key, l) -> Mono.empty(), 0, empty);
+
+        assertEquals(2, nextCalls.get());
+        assertNull(failing.getResponse().getHeaders().getFirst(RequestThrottle.REMAINING_HEADER));
+        assertNull(empty.getResponse().getHeaders().getFirst(RequestThrottle.REMAINING_HEADER));
+        assertNull(failing.getResponse().getStatusCode());
+    }
+
+    @Test
+    void disabled_neverAsksTheStore() {
+        var throttle = new RequestThrottle(store(Decision.refused(Duration.ofSeconds(1))), jwtVerifier, registry, false, 0);
+
+        throttle.throttle(exchange(MockServerHttpRequest.get("/api/v1/ratings")), "ratings", USER_LIMITS, IP_LIMITS,
+                this::next).block();
+
+        assertEquals(1, nextCalls.get());
+        assertTrue(keys.isEmpty());
+    }
+
+
+    private void throttle(RateLimitStore store, int trustedProxyHops, MockServerWebExchange exchange) {
+        new RequestThrottle(store, jwtVerifier, registry, true, trustedProxyHops)
+                .throttle(exchange, "ratings", USER_LIMITS, IP_LIMITS, this::next)
+                .block(Duration.ofSeconds(5));
+    }
+
+    private RateLimitStore store(Decision decision) {
+        return (key, l) -> {
+            keys.add(key);
+            limits.add(l);
+            return Mono.just(decision);
+        };
+    }
+
+    private Mono<Void> next() {
+        nextCalls.incrementAndGet();
+        return Mono.empty();
+    }
+
+    private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        return MockServerWebExchange.from(request.remoteAddress(new InetSocketAddress("10.0.0.7", 54321)));
+    }
+
+    private static String token(String secret) {
+        return JWT.create()
+                .withIssuer(ISSUER)
+                .withSubject("a@example.com")
+                .withClaim("userId", UUID.randomUUID().toString())
+                .withClaim("roles", "USER")
+                .withExpiresAt(Instant.now().plusSeconds(600))
+                .sign(Algorithm.HMAC256(secret));
+    }
+}
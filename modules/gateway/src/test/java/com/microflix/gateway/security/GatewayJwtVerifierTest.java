@@ -0,0 +1,112 @@
+package com.microflix.gateway.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Gateway-side JWT verification, identity header signing, and the filter that forwards it.
+ */
+class GatewayJwtVerifierTest {
+
+    private static final String SECRET = "test-secret";
+    private static final String ISSUER = "microflix-user-service";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final GatewayJwtVerifier verifier = new GatewayJwtVerifier(
+            new InternalIdentitySigner(true, "identity-secret"), registry, SECRET, ISSUER, 100, Duration.ofMinutes(15));
+
+    @Test
+    void identityHeader_carriesUserAndRoles() {
+        UUID userId = UUID.randomUUID();
+
+        String header = verifier.identityHeaderFor(token(userId, Instant.now().plusSeconds(600), SECRET));
+
+        String payload = new String(Base64.getUrlDecoder().decode(header.split("\\.")[1]), StandardCharsets.UTF_8);
+        String[] parts = payload.split("\n");
+        assertEquals(userId.toString(), parts[0]);
+        assertEquals("a@example.com", parts[1]);
+        assertEquals("USER", parts[2]);
+    }
+
+    @Test
+    void sameToken_isVerifiedOnce() {
+        String token = token(UUID.randomUUID(), Instant.now().plusSeconds(600), SECRET);
+
+        assertSame(verifier.identityHeaderFor(token), verifier.identityHeaderFor(token));
+        assertEquals(1.0, registry.get("cache.gets")
+                .tag("cache", GatewayJwtVerifier.CACHE_NAME).tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void forgedOrExpiredToken_throws() {
+        String forged = token(UUID.randomUUID(), Instant.now().plusSeconds(600), "other-secret");
+        String expired = token(UUID.randomUUID(), Instant.now().minusSeconds(5), SECRET);
+
+        assertThrows(JWTVerificationException.class, () -> verifier.identityHeaderFor(forged));
+        assertThrows(JWTVerificationException.class, () -> verifier.identityHeaderFor(expired));
+    }
+
+    @Test
+    void identityEnabled_withoutPrivateSecret_failsAtStartup() {
+        assertThrows(IllegalStateException.class, () -> new InternalIdentitySigner(true, ""));
+        assertThrows(IllegalStateException.class,
+                () -> new InternalIdentitySigner(true, InternalIdentitySigner.DEV_SECRET));
+
+        // Off, headers are only cached for rate-limit keys, so a blank secret still starts
+        assertNotNull(new InternalIdentitySigner(false, "").sign("u", "a@example.com", "USER", 0));
+    }
+
+    @Test
+    void filter_replacesClientSuppliedIdentityHeader() {
+        String token = token(UUID.randomUUID(), Instant.now().plusSeconds(600), SECRET);
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/engagements/watchlist")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .header(InternalIdentitySigner.HEADER, "v1.spoofed.header"));
+
+        assertEquals(verifier.identityHeaderFor(token), forwardedIdentity(new IdentityWebFilter(verifier, true), exchange));
+    }
+
+    @Test
+    void filter_disabled_stillStripsClientSuppliedIdentityHeader() {
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/engagements/watchlist")
+                .header(InternalIdentitySigner.HEADER, "v1.spoofed.header"));
+
+        assertNull(forwardedIdentity(new IdentityWebFilter(verifier, false), exchange));
+    }
+
+
+    private static String forwardedIdentity(IdentityWebFilter filter, MockServerWebExchange exchange) {
+        AtomicReference<String> forwarded = new AtomicReference<>();
+        filter.filter(exchange, next -> {
+            forwarded.set(next.getRequest().getHeaders().getFirst(InternalIdentitySigner.HEADER));
+            return Mono.empty();
+        }).block();
+        return forwarded.get();
+    }
+
+    private static String token(UUID userId, Instant expiresAt, String secret) {
+        return JWT.create()
+                .withIssuer(ISSUER)
+                .withSubject("a@example.com")
+                .withClaim("userId", userId.toString())
+                .withClaim("roles", "USER")
+                .withExpiresAt(expiresAt)
+                .sign(Algorithm.HMAC256(secret));
+    }
+}
@@ -51,9 +51,21 @@ public class MovieController {
      * Unknown ids are silently dropped. Capped at {@link MovieService#MAX_BATCH_SIZE} ids
      * per call. Used by the gateway's watchlist aggregation endpoint to hydrate engagement
      * rows in a single round-trip instead of fanning out N /{id} calls.
+     *
+     * Optional fields= (see {@link MovieField}) returns only those properties, plus id:
+     *
+     *   GET /api/v1/movies/batch?ids=12,7,42&fields=title,releaseYear,posterUrl
      */
     @GetMapping("/batch")
-    public ResponseEntity<List<MovieResponse>> getMoviesByIds(@RequestParam List<Long> ids) {
+    public ResponseEntity<List<?>> getMoviesByIds(
+            @RequestParam List<Long> ids,
+            @RequestParam(required = false) String fields
+    ) {
+
+        var requestedFields = MovieField.parse(fields);
+        if (requestedFields != null) {
+            return ResponseEntity.ok(movieService.getMoviesByIds(ids, requestedFields));
+        }
 
         var response = movieService.getMoviesByIds(ids);
 
@@ -93,23 +105,32 @@ public class MovieController {
      *  - genre: exact genre name (case-insensitive), e.g. "Action"
      *  - year: release year, e.g. 2010
      *  - sort: sort key, e.g. "created_desc" (default), "title_asc", "year_desc"
+     *  - fields: optional sparse fieldset (see {@link MovieField}); only these properties
+     *    (plus id) are selected and returned
      *
      * Examples:
      *  GET /api/v1/movies
      *  GET /api/v1/movies?query=inception
      *  GET /api/v1/movies?genre=Action&year=2010
      *  GET /api/v1/movies?sort=title_asc
+     *  GET /api/v1/movies?fields=title,releaseYear,posterUrl
      */
     @GetMapping
-    public ResponseEntity<Page<MovieResponse>> searchMovies(
+    public ResponseEntity<Page<?>> searchMovies(
             @RequestParam(required = false) String query,
             @RequestParam(required = false) String genre,
             @RequestParam(required = false) Integer year,
             @RequestParam(required = false, defaultValue = "created_desc") String sort,
             @RequestParam(required = false, defaultValue = "0") int page,
-            @RequestParam(required = false, defaultValue = "20") int size
+            @RequestParam(required = false, defaultValue = "20") int size,
+            @RequestParam(required = false) String fields
     ) {
 
+        var requestedFields = MovieField.parse(fields);
+        if (requestedFields != null) {
+            return ResponseEntity.ok(movieService.searchMovies(query, genre, year, sort, page, size, requestedFields));
+        }
+
         var response = movieService.searchMovies(query, genre, year, sort, page, size);
 
         return ResponseEntity.ok(response);
@@ -0,0 +1,77 @@
+package com.microflix.movieservice.movie;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Fields a client can ask for with {@code ?fields=} on the movie list endpoints (sparse fieldsets).
+ *
+ * Names match MovieResponse's JSON properties. Every field except {@link #GENRES} is a column on
+ * movies with the same entity attribute name; genres come from a join and are loaded separately.
+ */
+public enum MovieField {
+
+    ID("id"),
+    TITLE("title"),
+    OVERVIEW("overview"),
+    RELEASE_YEAR("releaseYear"),
+    RUNTIME("runtime"),
+    TMDB_ID("tmdbId"),
+    POSTER_URL("posterUrl"),
+    BACKDROP_URL("backdropUrl"),
+    GENRES("genres"),
+    CREATED_AT("createdAt"),
+    UPDATED_AT("updatedAt");
+
+    private final String jsonName;
+
+    MovieField(String jsonName) {
+        this.jsonName = jsonName;
+    }
+
+    /**
+     * JSON property name, and for column fields also the Movie entity attribute.
+     */
+    public String jsonName() {
+        return jsonName;
+    }
+
+    public boolean isColumn() {
+        return this != GENRES;
+    }
+
+    /**
+     * Parses a comma-separated field list, e.g. "title,releaseYear,posterUrl".
+     * Returns null for a null/blank list (= every field). id is always included.
+     * Throws IllegalArgumentException for an unknown field name.
+     */
+    public static Set<MovieField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+
+        Set<MovieField> parsed = EnumSet.of(ID);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (!trimmed.isEmpty()) {
+                parsed.add(fromJsonName(trimmed));
+            }
+        }
+        return parsed;
+    }
+
+
+    ///  Helper Functions
+
+    private static MovieField fromJsonName(String name) {
+        for (MovieField field : values()) {
+            if (field.jsonName.equals(name)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown field '" + name + "' (allowed: "
+                + Arrays.stream(values()).map(MovieField::jsonName).collect(Collectors.joining(",")) + ")");
+    }
+}
@@ -0,0 +1,29 @@
+package com.microflix.movieservice.movie;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Custom MovieRepository fragment: movie queries that select only the requested columns.
+ *
+ * Each row is a map of JSON field name → value, holding exactly the requested fields
+ * (plus id), in {@link MovieField} order.
+ */
+public interface MovieProjectionRepository {
+
+    /**
+     * One page of movies matching {@code spec}, selecting only {@code fields}.
+     */
+    Page<Map<String, Object>> findProjected(Specification<Movie> spec, Pageable pageable, Set<MovieField> fields);
+
+    /**
+     * Movies with the given ids (in no particular order), selecting only {@code fields}.
+     */
+    List<Map<String, Object>> findProjectedByIdIn(Collection<Long> ids, Set<MovieField> fields);
+}
@@ -0,0 +1,156 @@
+package com.microflix.movieservice.movie;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Criteria tuple queries behind {@link MovieProjectionRepository}.
+ *
+ * The SELECT list is built from the requested fields only, so e.g. a grid page asking for
+ * id,title,releaseYear,posterUrl never reads the overview TEXT column. Sort columns are
+ * selected too (Postgres requires ORDER BY columns in a SELECT DISTINCT list, and the genre
+ * filter uses DISTINCT) but are left out of the returned rows. Genres, when requested, are one
+ * extra query for the whole page instead of a lazy collection load per movie.
+ */
+class MovieProjectionRepositoryImpl implements MovieProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<Map<String, Object>> findProjected(Specification<Movie> spec, Pageable pageable, Set<MovieField> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Movie> root = query.from(Movie.class);
+
+        Predicate where = spec.toPredicate(root, query, cb);
+        if (where != null) {
+            query.where(where);
+        }
+        query.multiselect(selections(root, fields, pageable.getSort()));
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        List<Tuple> tuples = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        return PageableExecutionUtils.getPage(toRows(tuples, fields), pageable, () -> count(spec));
+    }
+
+    @Override
+    public List<Map<String, Object>> findProjectedByIdIn(Collection<Long> ids, Set<MovieField> fields) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Movie> root = query.from(Movie.class);
+
+        query.multiselect(selections(root, fields, Sort.unsorted()));
+        query.where(root.get("id").in(ids));
+
+        return toRows(entityManager.createQuery(query).getResultList(), fields);
+    }
+
+
+    ///  Helper Functions
+
+    // Requested columns (id always) plus any sort columns, each aliased by its attribute name
+    private static List<Selection<?>> selections(Root<Movie> root, Set<MovieField> fields, Sort sort) {
+        Set<String> attributes = new LinkedHashSet<>();
+        attributes.add(MovieField.ID.jsonName());
+        for (MovieField field : fields) {
+            if (field.isColumn()) {
+                attributes.add(field.jsonName());
+            }
+        }
+        for (Sort.Order order : sort) {
+            attributes.add(order.getProperty());
+        }
+
+        List<Selection<?>> selections = new ArrayList<>(attributes.size());
+        for (String attribute : attributes) {
+            selections.add(root.get(attribute).alias(attribute));
+        }
+        return selections;
+    }
+
+    private List<Map<String, Object>> toRows(List<Tuple> tuples, Set<MovieField> fields) {
+        Map<Long, List<String>> genres = fields.contains(MovieField.GENRES)
+                ? genresByMovieId(tuples.stream().map(t -> t.get("id", Long.class)).toList())
+                : Map.of();
+
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (MovieField field : fields) {
+                if (field.isColumn()) {
+                    row.put(field.jsonName(), tuple.get(field.jsonName()));
+                }
+                else {
+                    row.put(field.jsonName(), genres.getOrDefault(tuple.get("id", Long.class), List.of()));
+                }
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    // Genre names per movie for a whole page in one query, sorted like MovieResponse.genres
+    private Map<Long, List<String>> genresByMovieId(List<Long> movieIds) {
+        if (movieIds.isEmpty()) {
+            return Map.of();
+        }
+
+        List<Object[]> pairs = entityManager.createQuery(
+                        "select mg.movie.id, g.name from MovieGenre mg join mg.genre g where mg.movie.id in :ids",
+                        Object[].class)
+                .setParameter("ids", movieIds)
+                .getResultList();
+
+        Map<Long, List<String>> byMovie = new HashMap<>();
+        for (Object[] pair : pairs) {
+            byMovie.computeIfAbsent((Long) pair[0], id -> new ArrayList<>()).add((String) pair[1]);
+        }
+        byMovie.values().forEach(names -> names.sort(String.CASE_INSENSITIVE_ORDER));
+        return byMovie;
+    }
+
+    // Same count SimpleJpaRepository runs for findAll(spec, pageable)
+    private long count(Specification<Movie> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Movie> root = query.from(Movie.class);
+
+        Predicate where = spec.toPredicate(root, query, cb);
+        if (where != null) {
+            query.where(where);
+        }
+        query.select(query.isDistinct() ? cb.countDistinct(root) : cb.count(root));
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -9,8 +9,8 @@ import org.springframework.stereotype.Repository;
 import java.util.Optional;
 
 
-@Repository         // JPA repository for Movie entities.
-public interface MovieRepository extends JpaRepository<Movie, Long>, JpaSpecificationExecutor<Movie> {
+@Repository         // JPA repository for Movie entities (+ column-projected reads, see MovieProjectionRepository).
+public interface MovieRepository extends JpaRepository<Movie, Long>, JpaSpecificationExecutor<Movie>, MovieProjectionRepository {
 
     // Checks if a movie exists with the given TMDB id.
     boolean existsByTmdbId(Long tmdbId);
@@ -21,6 +21,7 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Service
 public class MovieService {         // Encapsulates business logic for movie operations.
@@ -96,6 +97,35 @@ public class MovieService {         // Encapsulates business logic for movie ope
         return ordered;
     }
 
+    /**
+     * Sparse-fieldset variant of {@link #getMoviesByIds(List)}: same ordering, dropping and cap,
+     * but each movie is a map holding only {@code fields} (plus id), read with a query that
+     * selects only those columns.
+     */
+    public List<Map<String, Object>> getMoviesByIds(List<Long> ids, Set<MovieField> fields) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException(
+                    "Batch size cannot exceed " + MAX_BATCH_SIZE + " (was " + ids.size() + ")");
+        }
+
+        Map<Long, Map<String, Object>> byId = new HashMap<>();
+        for (Map<String, Object> movie : movieRepository.findProjectedByIdIn(ids, fields)) {
+            byId.put((Long) movie.get(MovieField.ID.jsonName()), movie);
+        }
+
+        List<Map<String, Object>> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Map<String, Object> movie = byId.get(id);
+            if (movie != null) {
+                ordered.add(movie);
+            }
+        }
+        return ordered;
+    }
+
     /**
      * Creates a new movie from the request DTO and returns the saved movie.
      */
@@ -192,10 +222,41 @@ public class MovieService {         // Encapsulates business logic for movie ope
             int page,
             int size
     ) {
+        // "Give me a page of movies that match the rules in spec, sorted according to sort"
+        Page<Movie> pageResult = movieRepository.findAll(searchSpecification(query, genre, year), searchPage(sort, page, size));
+
+        // Map each movie in list of movies to a movie response and return list
+        return pageResult.map(this::toMovieResponse);
+    }
+
+    /**
+     * Sparse-fieldset variant of {@link #searchMovies}: same filters, sorting and paging, but each
+     * movie is a map holding only {@code fields} (plus id), and only those columns are selected.
+     */
+    public Page<Map<String, Object>> searchMovies(
+            String query,
+            String genre,
+            Integer year,
+            String sort,
+            int page,
+            int size,
+            Set<MovieField> fields
+    ) {
+        return movieRepository.findProjected(searchSpecification(query, genre, year), searchPage(sort, page, size), fields);
+    }
+
+
+
+
+    ///  Helper Function
+
+    /**
+     * Builds the search filters (title contains, exact year, genre name) as one Specification.
+     */
+    private Specification<Movie> searchSpecification(String query, String genre, Integer year) {
         // Normalize input: treat blank strings as null
         String normalizedQuery = (query == null || query.isBlank()) ? null : query.trim();  // cond ? true : false
         String normalizedGenre = (genre == null || genre.isBlank()) ? null : genre.trim();
-        String normalizedSort = (sort == null || sort.isBlank()) ? "created_desc" : sort.trim(); // default to created_desc if empty
 
 
         // Start with an "always true" specification (cb.conjunction()) -> a conjunction with zero conjuncts (A conjunction with zero conjuncts is true)
@@ -247,24 +308,24 @@ public class MovieService {         // Encapsulates business logic for movie ope
             mainSpecification = mainSpecification.and(genreSpec);
         }
 
+        return mainSpecification;
+    }
+
+    /**
+     * Page request for a search: page + size, sorted by the sort key.
+     */
+    private PageRequest searchPage(String sort, int page, int size) {
+        String normalizedSort = (sort == null || sort.isBlank()) ? "created_desc" : sort.trim(); // default to created_desc if empty
+
         // Decide how to sort the results based on the sortKey
         Sort sorting = mapSort(normalizedSort);  // mapSort will return a Sort object that Spring Data uses to generate ORDER BY in SQL
 
         // Creating a page request
-        PageRequest pageRequest = PageRequest.of(page, size, sorting);
-
-        // "Give me a page of movies that match the rules in spec, sorted according to sort"
-        Page<Movie> pageResult = movieRepository.findAll(mainSpecification, pageRequest);
-
-        // Map each movie in list of movies to a movie response and return list
-        return pageResult.map(this::toMovieResponse);
+        return PageRequest.of(page, size, sorting);
     }
 
 
 
-
-    ///  Helper Function
-
     /**
      * Maps a Movie entity to a MovieResponse DTO.
      */
@@ -0,0 +1,87 @@
+package com.microflix.movieservice.movie;
+
+import com.microflix.movieservice.genre.Genre;
+import com.microflix.movieservice.genre.GenreRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Sparse fieldsets (fields=) on the movie list endpoints, against H2 (PostgreSQL compat mode).
+ * Proves the tuple queries return exactly the requested properties, keep batch order, and
+ * still filter/sort/page like the full search.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class MovieServiceSparseFieldsIntegrationTest {
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private GenreRepository genreRepository;
+
+    @Test
+    void parse_alwaysIncludesId_andRejectsUnknownFields() {
+        assertEquals(EnumSet.of(MovieField.ID, MovieField.TITLE, MovieField.POSTER_URL),
+                MovieField.parse("title, posterUrl"));
+        assertNull(MovieField.parse(" "));
+        assertThrows(IllegalArgumentException.class, () -> MovieField.parse("title,password"));
+    }
+
+    @Test
+    void getMoviesByIds_withFields_returnsOnlyThoseFields_inInputOrder() {
+        Long id1 = persistMovie("Inception", 2010, "Action", "Sci-Fi");
+        Long id2 = persistMovie("Interstellar", 2014);
+
+        List<Map<String, Object>> result = movieService.getMoviesByIds(
+                List.of(id2, 9_999_999L, id1), MovieField.parse("title,releaseYear,genres"));
+
+        assertEquals(List.of(id2, id1), result.stream().map(m -> m.get("id")).toList());
+        assertEquals(List.of("id", "title", "releaseYear", "genres"), List.copyOf(result.get(1).keySet()));
+        assertEquals("Inception", result.get(1).get("title"));
+        assertEquals(List.of("Action", "Sci-Fi"), result.get(1).get("genres"));
+        assertEquals(List.of(), result.get(0).get("genres"));
+    }
+
+    @Test
+    void searchMovies_withFields_filtersSortsAndPagesLikeFullSearch() {
+        persistMovie("Inception", 2010, "Action");
+        persistMovie("Tenet", 2020, "Action");
+        persistMovie("Interstellar", 2014, "Drama");
+
+        Page<Map<String, Object>> page = movieService.searchMovies(
+                null, "action", null, "year_desc", 0, 1, MovieField.parse("title"));
+
+        assertEquals(2, page.getTotalElements());
+        assertEquals(List.of(Map.of("id", page.getContent().get(0).get("id"), "title", "Tenet")), page.getContent());
+    }
+
+    private Long persistMovie(String title, int year, String... genres) {
+        Movie m = new Movie();
+        m.setTitle(title);
+        m.setReleaseYear(year);
+        m.setOverview("A long overview that grid views never need.");
+        for (String name : genres) {
+            Genre genre = genreRepository.findByNameIgnoreCase(name)
+                    .orElseGet(() -> genreRepository.save(new Genre(name)));
+            m.addGenre(genre);
+        }
+        return movieRepository.save(m).getId();
+    }
+}
@@ -2,8 +2,10 @@ package com.microflix.rating_service;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling          // trending snapshot job
 public class RatingServiceApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,42 @@
+package com.microflix.rating_service.common.locks;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Single-runner guard for scheduled jobs that every instance schedules.
+ *
+ * Backed by Postgres pg_try_advisory_xact_lock: the lock belongs to the caller's transaction and
+ * is released on commit or rollback, so a crashed instance can't leave it held. Other databases
+ * (H2 in tests) have no advisory locks; there the lock is always granted.
+ */
+@Component
+public class AdvisoryLocks {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean supported;
+
+    public AdvisoryLocks(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.supported = Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) con ->
+                "PostgreSQL".equals(con.getMetaData().getDatabaseProductName())));
+    }
+
+    /**
+     * Try to take the named lock for the rest of the current transaction, without waiting.
+     *
+     * @return false if another transaction (usually another instance's run) already holds it
+     */
+    public boolean tryLockForTransaction(String name) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Advisory lock '" + name + "' needs an active transaction");
+        }
+        if (!supported) {
+            return true;
+        }
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "select pg_try_advisory_xact_lock(hashtext(?))", Boolean.class, name));
+    }
+}
@@ -0,0 +1,126 @@
+package com.microflix.rating_service.common.observability;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Spans below the HTTP request that Spring Boot doesn't create on its own.
+ *
+ * - repository.query: one per Spring Data repository call (derived, @Query, Specification and
+ *   custom fragment methods alike), named e.g. "rating-repository.find-by-user-id-and-movie-id"
+ *   (Micrometer lower-hyphenates the "RatingRepository.findByUserIdAndMovieId" contextual name)
+ * - jdbc.connection.acquire: time spent waiting for a Hikari connection, so pool waits show up
+ *   as their own span instead of hiding inside the first query of a transaction
+ *
+ * Both are Micrometer Observations, so each also records a timer of the same name.
+ */
+@Configuration
+public class TracingConfig {
+
+    static final String REPOSITORY_OBSERVATION = "repository.query";
+    static final String CONNECTION_OBSERVATION = "jdbc.connection.acquire";
+
+    // Static + ObjectProvider: post-processors are created before the registry, which is looked up per call
+    @Bean
+    public static BeanPostProcessor repositoryObservationPostProcessor(ObjectProvider<ObservationRegistry> registry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, information) -> proxyFactory.addAdvice(
+                                    new RepositoryObservationInterceptor(registry, information.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public static BeanPostProcessor connectionObservationPostProcessor(ObjectProvider<ObservationRegistry> registry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ObservedDataSource)) {
+                    return new ObservedDataSource(dataSource, registry);
+                }
+                return bean;
+            }
+        };
+    }
+
+
+    ///  Helper Functions
+
+    private static ObservationRegistry registry(ObjectProvider<ObservationRegistry> registry) {
+        return registry.getIfAvailable(() -> ObservationRegistry.NOOP);
+    }
+
+    private static final class RepositoryObservationInterceptor implements MethodInterceptor {
+
+        private final ObjectProvider<ObservationRegistry> registry;
+        private final String repository;
+
+        RepositoryObservationInterceptor(ObjectProvider<ObservationRegistry> registry, Class<?> repositoryInterface) {
+            this.registry = registry;
+            this.repository = repositoryInterface.getSimpleName();
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            if (invocation.getMethod().getDeclaringClass() == Object.class) {
+                return invocation.proceed();        // toString/equals/hashCode on the proxy
+            }
+
+            String method = invocation.getMethod().getName();
+            return Observation.createNotStarted(REPOSITORY_OBSERVATION, registry(registry))
+                    .contextualName(repository + "." + method)
+                    .lowCardinalityKeyValue("repository", repository)
+                    .lowCardinalityKeyValue("method", method)
+                    .observeChecked(invocation::proceed);
+        }
+    }
+
+    // Unwrapped by Boot's DataSourceUnwrapper, so Hikari pool metrics still find the HikariDataSource.
+    // AutoCloseable so the context still shuts the pool down through the wrapper.
+    private static final class ObservedDataSource extends DelegatingDataSource implements AutoCloseable {
+
+        private final ObjectProvider<ObservationRegistry> registry;
+
+        ObservedDataSource(DataSource target, ObjectProvider<ObservationRegistry> registry) {
+            super(target);
+            this.registry = registry;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return Observation.createNotStarted(CONNECTION_OBSERVATION, registry(registry))
+                    .observeChecked(() -> obtainTargetDataSource().getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return Observation.createNotStarted(CONNECTION_OBSERVATION, registry(registry))
+                    .observeChecked(() -> obtainTargetDataSource().getConnection(username, password));
+        }
+
+        @Override
+        public void close() throws Exception {
+            if (obtainTargetDataSource() instanceof AutoCloseable pool) {
+                pool.close();
+            }
+        }
+    }
+}
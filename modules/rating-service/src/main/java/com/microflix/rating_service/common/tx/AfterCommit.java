@@ -0,0 +1,31 @@
+package com.microflix.rating_service.common.tx;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers in-memory side effects (caches, leaderboards) until the DB change they mirror commits,
+ * so a rolled-back write never reaches them and a concurrent reader never sees them first.
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {}
+
+    /**
+     * Run the action once the current transaction commits; dropped on rollback.
+     * Outside a transaction (unit tests, imports with their own commits), runs immediately.
+     */
+    public static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+        else {
+            action.run();
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.microflix.rating_service.engagement;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.PartitionKey;
 
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
@@ -28,7 +29,9 @@ public class Engagement {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    // ID of the user who engaged with the movie (from JWT)
+    // ID of the user who engaged with the movie (from JWT).
+    // engagements is hash-partitioned on user_id (V6); @PartitionKey keeps entity UPDATE/DELETE pruned
+    @PartitionKey
     @Column(name = "user_id", nullable = false)
     private UUID userId;
 
@@ -50,14 +50,39 @@ public class EngagementController {
     }
 
     /**
-     * Get the current user's watchlist.
+     * Response header carrying the cursor for the next watchlist page (absent on the last page).
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /**
+     * Get the current user's watchlist, newest first.
+     *
+     * Without limit, returns the whole list (original behaviour).
+     * With limit, returns one page and sets X-Next-Cursor when there is more:
+     *
+     *   GET /api/v1/engagements/watchlist?limit=50
+     *   GET /api/v1/engagements/watchlist?limit=50&cursor=<X-Next-Cursor from previous page>
      */
     @GetMapping("/watchlist")
-    public ResponseEntity<List<EngagementItemResponse>> getWatchlist(@AuthenticationPrincipal CurrentUser user) {
+    public ResponseEntity<List<EngagementItemResponse>> getWatchlist(
+            @AuthenticationPrincipal CurrentUser user,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor
+    ) {
 
-        var response = engagementService.getWatchlist(user.id());
+        if (limit == null) {
+            var response = engagementService.getWatchlist(user.id());
 
-        return ResponseEntity.ok(response);
+            return ResponseEntity.ok(response);
+        }
+
+        var page = engagementService.getWatchlistPage(user.id(), cursor, limit);
+
+        var response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
     }
 
     /**
@@ -71,4 +96,85 @@ public class EngagementController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Of the given movie ids, which are on the current user's watchlist.
+     *
+     *   GET /api/v1/engagements/watchlist/contains?ids=12,7,42  →  [12, 42]
+     *
+     * Answered from the in-memory membership cache.
+     */
+    @GetMapping("/watchlist/contains")
+    public ResponseEntity<List<Long>> watchlistMembership(
+            @AuthenticationPrincipal CurrentUser user,
+            @RequestParam List<Long> ids
+    ) {
+
+        var response = engagementService.watchlistMembership(user.id(), ids);
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Engagement counts for many movies (public):
+     *
+     *   GET /api/v1/engagements/counts?ids=12,7,42  →  [{movieId, watchlistCount, favouriteCount, likeCount}, ...]
+     *
+     * One entry per distinct id, in input order; unknown movies are all zeros.
+     * Capped at {@link EngagementService#MAX_COUNTS_BATCH_SIZE} ids.
+     */
+    @GetMapping("/counts")
+    public ResponseEntity<List<MovieEngagementCountsResponse>> getCounts(@RequestParam List<Long> ids) {
+
+        var response = engagementService.getCounts(ids);
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Add an engagement of any type for the current user (idempotent).
+     *
+     *   PUT /api/v1/engagements/{watchlist|favourite|like}/{movieId}  →  204
+     */
+    @PutMapping("/{type}/{movieId}")
+    public ResponseEntity<Void> addEngagement(
+            @AuthenticationPrincipal CurrentUser user,
+            @PathVariable String type,
+            @PathVariable Long movieId
+    ) {
+
+        engagementService.addEngagement(user.id(), movieId, EngagementType.fromPath(type));
+
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
+    /**
+     * Remove an engagement of any type for the current user (idempotent).
+     */
+    @DeleteMapping("/{type}/{movieId}")
+    public ResponseEntity<Void> removeEngagement(
+            @AuthenticationPrincipal CurrentUser user,
+            @PathVariable String type,
+            @PathVariable Long movieId
+    ) {
+
+        engagementService.removeEngagement(user.id(), movieId, EngagementType.fromPath(type));
+
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
+    /**
+     * List the current user's engagements of one type, newest first.
+     * (The watchlist has its own mapping above with pagination.)
+     */
+    @GetMapping("/{type}")
+    public ResponseEntity<List<EngagementItemResponse>> getEngagements(
+            @AuthenticationPrincipal CurrentUser user,
+            @PathVariable String type
+    ) {
+
+        var response = engagementService.getEngagements(user.id(), EngagementType.fromPath(type));
+
+        return ResponseEntity.ok(response);
+    }
+
 }
@@ -1,20 +1,146 @@
 package com.microflix.rating_service.engagement;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * engagements is hash-partitioned on user_id (V6). Every query here is scoped to one user,
+ * so each one — including the native insert/delete — prunes to a single partition.
+ * Keep it that way: a new per-movie query across all users would fan out to every partition.
+ */
 @Repository
 public interface EngagementRepository extends JpaRepository<Engagement, Long> {
 
     Optional<Engagement> findByUserIdAndMovieIdAndType(UUID userId, Long movieId, EngagementType type);
 
-    List<Engagement> findByUserIdAndTypeOrderByCreatedAtDesc(UUID userId, EngagementType type);
+
+
+    // ---------- Ordered reads + keyset pagination (idx_engagements_user_type_created) ----------
+
+    /**
+     * A user's engagements of one type, newest first. id breaks ties between equal
+     * timestamps, so the full list and the paged reads below agree on order.
+     */
+    List<Engagement> findByUserIdAndTypeOrderByCreatedAtDescIdDesc(UUID userId, EngagementType type);
+
+    /**
+     * Just the columns a watchlist page needs. All of them live in idx_engagements_user_type_created
+     * (id and created_at as keys, movie_id INCLUDEd), so the paged reads below can be answered by an
+     * Index Only Scan instead of fetching each heap row for the full entity.
+     */
+    interface WatchlistRow {
+        Long getId();
+        Long getMovieId();
+        OffsetDateTime getCreatedAt();
+    }
+
+    /**
+     * First page of the same ordering.
+     */
+    @Query("""
+    select e.id as id, e.movieId as movieId, e.createdAt as createdAt
+    from Engagement e
+    where e.userId = :userId
+      and e.type = :type
+    order by e.createdAt desc, e.id desc
+    """)
+    List<WatchlistRow> findFirstPage(UUID userId, EngagementType type, Limit limit);
+
+    /**
+     * The page after (createdAt, id): rows strictly older in (createdAt desc, id desc) order.
+     * Walks the covering index from the cursor position — cost is O(limit), not O(offset).
+     */
+    @Query("""
+    select e.id as id, e.movieId as movieId, e.createdAt as createdAt
+    from Engagement e
+    where e.userId = :userId
+      and e.type = :type
+      and (e.createdAt < :createdAt or (e.createdAt = :createdAt and e.id < :id))
+    order by e.createdAt desc, e.id desc
+    """)
+    List<WatchlistRow> findPageAfter(
+            UUID userId,
+            EngagementType type,
+            OffsetDateTime createdAt,
+            Long id,
+            Limit limit
+    );
 
     boolean existsByUserIdAndMovieIdAndType(UUID userId, Long movieId, EngagementType type);
 
-    void deleteByUserIdAndMovieIdAndType(UUID userId, Long movieId, EngagementType type);
+    /**
+     * Just the movie ids of a user's engagements of one type — loads WatchlistMembershipCache.
+     * Index Only Scan on idx_engagements_user_type_created (movie_id is INCLUDEd).
+     */
+    @Query("""
+    select e.movieId from Engagement e
+    where e.userId = :userId and e.type = :type
+    """)
+    List<Long> findMovieIdsByUserIdAndType(UUID userId, EngagementType type);
+
+
+    // ---------- Per-user state for many movies ----------
+
+    /**
+     * Narrow row for "which engagements does this user have on these movies".
+     */
+    interface UserMovieEngagementProjection {
+        Long getMovieId();
+        EngagementType getType();
+    }
+
+    /**
+     * All of the user's engagement types for a set of movies in one query.
+     * Served by the uk_engagement_user_movie_type (user_id, movie_id, type) index.
+     */
+    @Query("""
+    select e.movieId as movieId,
+           e.type as type
+    from Engagement e
+    where e.userId = :userId
+      and e.movieId in :movieIds
+    """)
+    List<UserMovieEngagementProjection> findUserEngagementsForMovies(UUID userId, Collection<Long> movieIds);
+
+
+    // ---------- Single-statement writes ----------
+
+    /**
+     * Inserts one engagement row, or does nothing if the (user, movie, type) row already exists.
+     *
+     * One round-trip instead of exists-then-save, and race-free: two concurrent clicks both
+     * reach the unique constraint and exactly one of them inserts.
+     *
+     * type is the enum name (e.g. "WATCHLIST") — native queries don't go through @Enumerated.
+     * Returns the number of rows inserted (1 = added, 0 = already there).
+     */
+    @Modifying
+    @Query(value = """
+    insert into engagements (user_id, movie_id, type, created_at)
+    values (:userId, :movieId, :type, :createdAt)
+    on conflict on constraint uk_engagement_user_movie_type do nothing
+    """, nativeQuery = true)
+    int insertIfAbsent(UUID userId, Long movieId, String type, OffsetDateTime createdAt);
+
+    /**
+     * Deletes the (user, movie, type) row directly, without loading it first.
+     *
+     * Replaces the derived deleteBy..., which Spring Data runs as SELECT + one DELETE per entity.
+     * Returns the number of rows deleted (1 = removed, 0 = wasn't there).
+     */
+    @Modifying
+    @Query(value = """
+    delete from engagements
+    where user_id = :userId and movie_id = :movieId and type = :type
+    """, nativeQuery = true)
+    int deleteOne(UUID userId, Long movieId, String type);
 }
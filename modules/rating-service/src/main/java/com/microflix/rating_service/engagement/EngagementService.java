@@ -1,50 +1,168 @@
 package com.microflix.rating_service.engagement;
 
+import com.microflix.rating_service.common.tx.AfterCommit;
+import com.microflix.rating_service.trending.TrendingEngine;
+import com.microflix.rating_service.trending.TrendingSignal;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
 public class EngagementService {
 
     private final EngagementRepository engagementRepository;
+    private final WatchlistMembershipCache watchlistCache;
+    private final TrendingEngine trending;
+    private final MovieEngagementCountsRepository countsRepository;
 
-    public EngagementService(EngagementRepository engagementRepository) {
+    public EngagementService(
+            EngagementRepository engagementRepository,
+            WatchlistMembershipCache watchlistCache,
+            TrendingEngine trending,
+            MovieEngagementCountsRepository countsRepository
+    ) {
         this.engagementRepository = engagementRepository;
+        this.watchlistCache = watchlistCache;
+        this.trending = trending;
+        this.countsRepository = countsRepository;
     }
 
     /**
      * Add the given movie to the user's watchlist.
      * If it's already there, do nothing (idempotent).
+     *
+     * Returns true if the movie was added, false if it was already on the watchlist.
      */
     @Transactional
-    public void addToWatchlist(UUID userId, Long movieId) {
+    public boolean addToWatchlist(UUID userId, Long movieId) {
+        return addEngagement(userId, movieId, EngagementType.WATCHLIST);
+    }
 
-        // Check if already in Watchlist
-        boolean exists = engagementRepository.existsByUserIdAndMovieIdAndType(userId, movieId, EngagementType.WATCHLIST);
-        if (exists) {
-            return; // already in watchlist
-        }
+    /**
+     * Remove the given movie from the user's watchlist.
+     * If it's not there, this is a no-op.
+     *
+     * Returns true if a row was deleted, false if the movie wasn't on the watchlist.
+     */
+    @Transactional
+    public boolean removeFromWatchlist(UUID userId, Long movieId) {
+        return removeEngagement(userId, movieId, EngagementType.WATCHLIST);
+    }
 
-        var engagement = new Engagement();
+    /**
+     * Record an engagement of the given type (idempotent).
+     *
+     * Single INSERT ... ON CONFLICT DO NOTHING, so concurrent adds can't race each other.
+     * When a row was actually inserted, the movie's counter is bumped in the same transaction,
+     * so movie_engagement_counts never drifts from engagements.
+     * Returns true if the engagement was added, false if it already existed.
+     */
+    @Transactional
+    public boolean addEngagement(UUID userId, Long movieId, EngagementType type) {
 
-        engagement.setUserId(userId);
-        engagement.setMovieId(movieId);
-        engagement.setType(EngagementType.WATCHLIST);
+        int inserted = engagementRepository.insertIfAbsent(
+                userId,
+                movieId,
+                type.name(),
+                OffsetDateTime.now(ZoneOffset.UTC)      // app-clock in UTC, same as Engagement.onCreate()
+        );
 
-        engagementRepository.save(engagement);
+        boolean added = inserted > 0;
+        if (added) {
+            applyCountDelta(movieId, type, 1);
 
+            if (type == EngagementType.WATCHLIST) {
+                watchlistCache.onAdded(userId, movieId);
+                AfterCommit.run(() -> trending.record(movieId, TrendingSignal.WATCHLIST_ADD));
+            }
+        }
+        return added;
     }
 
     /**
-     * Remove the given movie from the user's watchlist.
-     * If it's not there, this is a no-op.
+     * Remove an engagement of the given type (no-op if absent).
+     *
+     * Returns true if a row was deleted; the counter is decremented in the same transaction.
      */
     @Transactional
-    public void removeFromWatchlist(UUID userId, Long movieId) {
-        engagementRepository.deleteByUserIdAndMovieIdAndType(userId, movieId, EngagementType.WATCHLIST);
+    public boolean removeEngagement(UUID userId, Long movieId, EngagementType type) {
+        int deleted = engagementRepository.deleteOne(userId, movieId, type.name());
+
+        boolean removed = deleted > 0;
+        if (removed) {
+            applyCountDelta(movieId, type, -1);
+
+            if (type == EngagementType.WATCHLIST) {
+                watchlistCache.onRemoved(userId, movieId);
+            }
+        }
+        return removed;
+    }
+
+    private void applyCountDelta(Long movieId, EngagementType type, int delta) {
+        countsRepository.applyDelta(
+                movieId,
+                type == EngagementType.WATCHLIST ? delta : 0,
+                type == EngagementType.FAVOURITE ? delta : 0,
+                type == EngagementType.LIKE ? delta : 0
+        );
+    }
+
+    /**
+     * List the current user's engagements of one type, newest first.
+     */
+    @Transactional(readOnly = true)
+    public List<EngagementItemResponse> getEngagements(UUID userId, EngagementType type) {
+
+        return engagementRepository.findByUserIdAndTypeOrderByCreatedAtDescIdDesc(userId, type)
+                .stream()
+                .map(e -> new EngagementItemResponse(userId, e.getMovieId(), type, e.getCreatedAt()))
+                .toList();
+    }
+
+    /**
+     * Maximum number of ids accepted by {@link #getCounts(List)}.
+     */
+    public static final int MAX_COUNTS_BATCH_SIZE = 300;
+
+    /**
+     * Engagement counts for many movies, one entry per distinct id in input order.
+     * Movies nobody has engaged with come back as all zeros.
+     *
+     * One primary-key IN query on movie_engagement_counts — no COUNT(*) over engagements.
+     */
+    @Transactional(readOnly = true)
+    public List<MovieEngagementCountsResponse> getCounts(List<Long> movieIds) {
+        if (movieIds == null || movieIds.isEmpty()) {
+            return List.of();
+        }
+        if (movieIds.size() > MAX_COUNTS_BATCH_SIZE) {
+            throw new IllegalArgumentException(
+                    "Batch size cannot exceed " + MAX_COUNTS_BATCH_SIZE + " (was " + movieIds.size() + ")");
+        }
+
+        List<Long> distinct = movieIds.stream().distinct().toList();
+
+        Map<Long, MovieEngagementCounts> byId = new HashMap<>();
+        for (MovieEngagementCounts c : countsRepository.findAllById(distinct)) {
+            byId.put(c.getMovieId(), c);
+        }
+
+        return distinct.stream()
+                .map(id -> {
+                    var c = byId.get(id);
+                    return c == null
+                            ? new MovieEngagementCountsResponse(id, 0, 0, 0)
+                            : new MovieEngagementCountsResponse(id, c.getWatchlistCount(), c.getFavouriteCount(), c.getLikeCount());
+                })
+                .toList();
     }
 
     /**
@@ -53,16 +171,77 @@ public class EngagementService {
     @Transactional(readOnly = true)
     public List<EngagementItemResponse> getWatchlist(UUID userId) {
 
-        return engagementRepository.findByUserIdAndTypeOrderByCreatedAtDesc(userId, EngagementType.WATCHLIST)
+        return engagementRepository.findByUserIdAndTypeOrderByCreatedAtDescIdDesc(userId, EngagementType.WATCHLIST)
                 .stream()
                 .map(e -> new EngagementItemResponse(userId, e.getMovieId(), EngagementType.WATCHLIST, e.getCreatedAt()))
                 .toList();
     }
 
+    /**
+     * Maximum number of ids accepted by {@link #watchlistMembership(UUID, List)}.
+     */
+    public static final int MAX_MEMBERSHIP_BATCH_SIZE = 300;
+
+    /**
+     * Maximum page size for {@link #getWatchlistPage(UUID, String, int)}.
+     */
+    public static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * One page of the user's watchlist, newest first, using keyset (cursor) pagination.
+     *
+     * cursor is null for the first page, otherwise the nextCursor from the previous page.
+     * Fetches limit + 1 rows so we know whether another page exists without a COUNT.
+     */
+    @Transactional(readOnly = true)
+    public WatchlistPage getWatchlistPage(UUID userId, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        Limit fetch = Limit.of(limit + 1);
+
+        List<EngagementRepository.WatchlistRow> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = engagementRepository.findFirstPage(userId, EngagementType.WATCHLIST, fetch);
+        }
+        else {
+            var after = WatchlistCursor.decode(cursor);
+            rows = engagementRepository.findPageAfter(userId, EngagementType.WATCHLIST, after.createdAt(), after.id(), fetch);
+        }
+
+        boolean hasMore = rows.size() > limit;
+        List<EngagementRepository.WatchlistRow> page = hasMore ? rows.subList(0, limit) : rows;
+
+        String nextCursor = hasMore ? WatchlistCursor.of(page.get(page.size() - 1)).encode() : null;
+
+        var items = page.stream()
+                .map(e -> new EngagementItemResponse(userId, e.getMovieId(), EngagementType.WATCHLIST, e.getCreatedAt()))
+                .toList();
+
+        return new WatchlistPage(items, nextCursor);
+    }
+
     /**
      * Check if the given movie is in the user's watchlist.
+     * Served from WatchlistMembershipCache — no DB hit once the user's watchlist is loaded.
      */
     public boolean inWatchlist(Long movieId, UUID userId) {
-        return engagementRepository.existsByUserIdAndMovieIdAndType(userId, movieId, EngagementType.WATCHLIST);
+        return watchlistCache.contains(userId, movieId);
+    }
+
+    /**
+     * Of the given movie ids, return the ones on the user's watchlist (input order).
+     * One cache lookup for the whole batch.
+     */
+    public List<Long> watchlistMembership(UUID userId, List<Long> movieIds) {
+        if (movieIds == null || movieIds.isEmpty()) {
+            return List.of();
+        }
+        if (movieIds.size() > MAX_MEMBERSHIP_BATCH_SIZE) {
+            throw new IllegalArgumentException(
+                    "Batch size cannot exceed " + MAX_MEMBERSHIP_BATCH_SIZE + " (was " + movieIds.size() + ")");
+        }
+        return watchlistCache.retainOnWatchlist(userId, movieIds);
     }
 }
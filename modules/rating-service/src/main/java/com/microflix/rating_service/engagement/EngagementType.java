@@ -2,10 +2,23 @@ package com.microflix.rating_service.engagement;
 
 /**
  * Types of engagement a user can have with a movie.
- * For now only using WATCHLIST.
  */
 public enum EngagementType {
     WATCHLIST,
     FAVOURITE,
-    LIKE
+    LIKE;
+
+    /**
+     * Parses the lowercase path form used by /api/v1/engagements/{type}/... ("watchlist", "favourite", "like").
+     * Unknown values are a client error (400 via IllegalArgumentException).
+     */
+    public static EngagementType fromPath(String value) {
+        for (EngagementType type : values()) {
+            if (type.name().equalsIgnoreCase(value)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown engagement type: " + value);
+    }
+
 }
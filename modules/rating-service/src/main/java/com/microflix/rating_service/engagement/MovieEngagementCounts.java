@@ -0,0 +1,31 @@
+package com.microflix.rating_service.engagement;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Per-movie engagement totals, maintained in the same transaction as every engagement
+ * insert/delete so "N people liked this" is a primary-key read, never a COUNT(*).
+ */
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PUBLIC)
+@AllArgsConstructor
+@Entity
+@Table(name = "movie_engagement_counts")
+public class MovieEngagementCounts {
+
+    @Id
+    @Column(name = "movie_id", nullable = false)
+    private Long movieId;
+
+    @Column(name = "watchlist_count", nullable = false)
+    private long watchlistCount;
+
+    @Column(name = "favourite_count", nullable = false)
+    private long favouriteCount;
+
+    @Column(name = "like_count", nullable = false)
+    private long likeCount;
+
+}
@@ -0,0 +1,27 @@
+package com.microflix.rating_service.engagement;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository         // JPA repository for per-movie engagement counters.
+public interface MovieEngagementCountsRepository extends JpaRepository<MovieEngagementCounts, Long> {
+
+    /**
+     * Adds the given deltas (+1 / -1 / 0 per column) to a movie's counters, creating the row
+     * on first use. One statement; the row lock serialises concurrent updates to the same movie.
+     * Counts never go below zero.
+     */
+    @Modifying
+    @Query(value = """
+    insert into movie_engagement_counts (movie_id, watchlist_count, favourite_count, like_count)
+    values (:movieId, greatest(:watchlist, 0), greatest(:favourite, 0), greatest(:like, 0))
+    on conflict (movie_id) do update set
+        watchlist_count = greatest(movie_engagement_counts.watchlist_count + :watchlist, 0),
+        favourite_count = greatest(movie_engagement_counts.favourite_count + :favourite, 0),
+        like_count      = greatest(movie_engagement_counts.like_count + :like, 0)
+    """, nativeQuery = true)
+    int applyDelta(Long movieId, int watchlist, int favourite, int like);
+
+}
@@ -0,0 +1,11 @@
+package com.microflix.rating_service.engagement;
+
+/**
+ * How many users have each engagement type on a movie.
+ */
+public record MovieEngagementCountsResponse(
+        Long movieId,
+        long watchlistCount,
+        long favouriteCount,
+        long likeCount
+) {}
@@ -0,0 +1,47 @@
+package com.microflix.rating_service.engagement;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+/**
+ * Keyset position in a watchlist: the (createdAt, id) of the last row the client has seen.
+ *
+ * Sent to clients as an opaque URL-safe string so the format can change without breaking them.
+ * createdAt is kept at microsecond precision — that's what Postgres timestamptz stores, so the
+ * cursor compares equal to the row it came from.
+ */
+public record WatchlistCursor(OffsetDateTime createdAt, Long id) {
+
+    public static WatchlistCursor of(EngagementRepository.WatchlistRow row) {
+        return new WatchlistCursor(row.getCreatedAt(), row.getId());
+    }
+
+    public String encode() {
+        long micros = ChronoUnit.MICROS.between(Instant.EPOCH, createdAt.toInstant());
+        String raw = micros + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses a cursor produced by {@link #encode()}.
+     * Throws IllegalArgumentException (→ 400) for anything malformed.
+     */
+    public static WatchlistCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(':');
+
+            long micros = Long.parseLong(raw.substring(0, sep));
+            long id = Long.parseLong(raw.substring(sep + 1));
+
+            OffsetDateTime createdAt = Instant.EPOCH.plus(micros, ChronoUnit.MICROS).atOffset(ZoneOffset.UTC);
+            return new WatchlistCursor(createdAt, id);
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Invalid watchlist cursor");
+        }
+    }
+}
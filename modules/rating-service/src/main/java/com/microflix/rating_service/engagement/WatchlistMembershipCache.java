@@ -0,0 +1,160 @@
+package com.microflix.rating_service.engagement;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.microflix.rating_service.common.tx.AfterCommit;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Per-user watchlist membership held in memory, so "is movie X on my watchlist"
+ * (every authed detail view) and bulk membership checks don't touch Postgres.
+ *
+ * Each user's watchlist is a sorted long[] of movie ids — 8 bytes per entry, binary-searched.
+ * Arrays are never mutated in place: writes swap in a new copy, so readers need no locking.
+ *
+ * - Loaded lazily from the engagements table on first access for a user
+ * - Updated write-through after addToWatchlist / removeFromWatchlist commit
+ * - Bounded by total bytes (not entry count), since watchlists vary wildly in size
+ * - Dropped app.watchlist-cache.expire-after-write after loading, however often it is read
+ *
+ * The cache is per instance and write-through only sees this instance's writes. A watchlist
+ * change made through another instance shows up here only after the entry expires, so
+ * membership can be stale for up to expire-after-write when rating-service runs replicated.
+ *
+ * Metrics: cache.gets{cache=watchlist.membership,result=hit|miss} (standard Caffeine binder),
+ * plus watchlist.membership.cache.bytes and watchlist.membership.cache.hit.ratio gauges.
+ */
+@Component
+public class WatchlistMembershipCache {
+
+    static final String CACHE_NAME = "watchlist.membership";
+
+    // Rough per-entry overhead: array header + key UUID + Caffeine node
+    private static final int ENTRY_OVERHEAD_BYTES = 16 + 32 + 64;
+
+    private final EngagementRepository engagementRepository;
+    private final LoadingCache<UUID, long[]> cache;
+
+    public WatchlistMembershipCache(
+            EngagementRepository engagementRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.watchlist-cache.max-bytes:67108864}") long maxBytes,
+            @Value("${app.watchlist-cache.expire-after-write:60s}") Duration expireAfterWrite
+    ) {
+        this.engagementRepository = engagementRepository;
+
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((UUID userId, long[] movieIds) -> weightOf(movieIds))
+                .expireAfterWrite(expireAfterWrite)                 // bounds cross-instance staleness
+                .recordStats()
+                .build(this::load);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+
+        Gauge.builder(CACHE_NAME + ".cache.bytes", cache, WatchlistMembershipCache::weightedBytes)
+                .description("Approximate bytes held by cached per-user watchlists")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+
+        Gauge.builder(CACHE_NAME + ".cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Fraction of membership lookups served without a DB load")
+                .register(meterRegistry);
+    }
+
+    /**
+     * True if the movie is on the user's watchlist. Loads the watchlist once on a miss.
+     */
+    public boolean contains(UUID userId, Long movieId) {
+        return Arrays.binarySearch(cache.get(userId), movieId) >= 0;
+    }
+
+    /**
+     * The subset of movieIds that are on the user's watchlist, in input order.
+     * One cache lookup for the whole batch.
+     */
+    public List<Long> retainOnWatchlist(UUID userId, Collection<Long> movieIds) {
+        long[] watchlist = cache.get(userId);
+
+        List<Long> result = new ArrayList<>();
+        for (Long movieId : movieIds) {
+            if (movieId != null && Arrays.binarySearch(watchlist, movieId) >= 0) {
+                result.add(movieId);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Record that a movie was added. Applied after the surrounding transaction commits,
+     * and only to users already cached — absent users load fresh on their next read.
+     * If a lazy load for this user is in flight, computeIfPresent waits for it and then applies
+     * the delta, so the cache can't end up missing a committed write.
+     */
+    public void onAdded(UUID userId, Long movieId) {
+        AfterCommit.run(() -> cache.asMap().computeIfPresent(userId, (id, current) -> insert(current, movieId)));
+    }
+
+    /**
+     * Record that a movie was removed. Same commit/cached-only rules as {@link #onAdded}.
+     */
+    public void onRemoved(UUID userId, Long movieId) {
+        AfterCommit.run(() -> cache.asMap().computeIfPresent(userId, (id, current) -> remove(current, movieId)));
+    }
+
+
+    ///  Helper Functions
+
+    private long[] load(UUID userId) {
+        return engagementRepository.findMovieIdsByUserIdAndType(userId, EngagementType.WATCHLIST)
+                .stream()
+                .mapToLong(Long::longValue)
+                .sorted()
+                .toArray();
+    }
+
+    // weightedSize is only brought up to date by Caffeine's async maintenance; cleanUp runs it now
+    private static double weightedBytes(LoadingCache<UUID, long[]> cache) {
+        cache.cleanUp();
+        return cache.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L);
+    }
+
+    static int weightOf(long[] movieIds) {
+        return ENTRY_OVERHEAD_BYTES + movieIds.length * Long.BYTES;
+    }
+
+    static long[] insert(long[] sorted, long movieId) {
+        int pos = Arrays.binarySearch(sorted, movieId);
+        if (pos >= 0) {
+            return sorted;      // already present
+        }
+        int at = -(pos + 1);
+        long[] next = new long[sorted.length + 1];
+        System.arraycopy(sorted, 0, next, 0, at);
+        next[at] = movieId;
+        System.arraycopy(sorted, at, next, at + 1, sorted.length - at);
+        return next;
+    }
+
+    static long[] remove(long[] sorted, long movieId) {
+        int at = Arrays.binarySearch(sorted, movieId);
+        if (at < 0) {
+            return sorted;      // not present
+        }
+        long[] next = new long[sorted.length - 1];
+        System.arraycopy(sorted, 0, next, 0, at);
+        System.arraycopy(sorted, at + 1, next, at, sorted.length - at - 1);
+        return next;
+    }
+}
@@ -0,0 +1,12 @@
+package com.microflix.rating_service.engagement;
+
+import java.util.List;
+
+/**
+ * One page of a user's watchlist plus the cursor for the next page
+ * (null when this is the last page).
+ */
+public record WatchlistPage(
+        List<EngagementItemResponse> items,
+        String nextCursor
+) {}
@@ -0,0 +1,37 @@
+package com.microflix.rating_service.importer;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.SQLException;
+
+@RestController
+@RequestMapping("/api/v1/ratings/admin")
+public class RatingImportController {
+
+    private final RatingImportService importService;
+
+    public RatingImportController(RatingImportService importService) {
+        this.importService = importService;
+    }
+
+    /**
+     * Bulk import a MovieLens-style ratings CSV (ADMIN only).
+     *
+     *   curl -X POST -H 'Content-Type: text/csv' -H "Authorization: Bearer $TOKEN" \
+     *        --data-binary @ratings.csv http://localhost:8084/api/v1/ratings/admin/import
+     *
+     * The raw request body is streamed straight into Postgres — never buffered in memory.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<RatingImportReport> importCsv(InputStream body) throws IOException, SQLException {
+
+        var response = importService.importMovieLensCsv(body);
+
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,16 @@
+package com.microflix.rating_service.importer;
+
+/**
+ * Result of one CSV import.
+ *
+ * rowsRead     data lines streamed into Postgres (header excluded)
+ * rowsMerged   ratings inserted or changed (unchanged duplicates and out-of-range rows don't count)
+ * chunks       COPY + merge transactions committed
+ */
+public record RatingImportReport(
+        long rowsRead,
+        long rowsMerged,
+        int chunks,
+        long elapsedMillis,
+        long rowsPerSecond
+) {}
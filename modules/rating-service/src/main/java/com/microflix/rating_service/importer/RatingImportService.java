@@ -0,0 +1,187 @@
+package com.microflix.rating_service.importer;
+
+import com.microflix.rating_service.leaderboard.RatingLeaderboard;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Bulk-loads MovieLens-style rating CSVs (userId,movieId,rating,timestamp) into ratings.
+ *
+ * The file is streamed in chunks of app.import.chunk-rows lines. Each chunk is:
+ *   1. COPY ... FROM STDIN into a session-local temp table (no WAL, no per-row round trips)
+ *   2. merged into ratings with one INSERT ... SELECT ... ON CONFLICT DO UPDATE
+ *   3. committed — the temp table is ON COMMIT DELETE ROWS, so it empties itself
+ *
+ * Memory stays constant whatever the file size: one line and one 64 KiB copy buffer on the
+ * JVM side, one chunk in the temp table on the database side. Backpressure is the blocking
+ * socket: the next line is only read once Postgres has accepted the previous bytes, so a
+ * slow database slows the upload instead of buffering it.
+ *
+ * Mapping into our model:
+ *   userId     integer → deterministic UUID md5('movielens:' || userId), so re-imports upsert
+ *   rating     0.5–5.0 stars → rating_times_ten 10–100 (×20); anything else is skipped
+ *   timestamp  epoch seconds → created_at / updated_at
+ *
+ * Afterwards ratings is ANALYZEd and the in-memory leaderboard rebuilt. Imports are
+ * historical, so they don't feed trending; also-liked picks them up on its next run.
+ */
+@Service
+public class RatingImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(RatingImportService.class);
+
+    private static final int COPY_BUFFER_BYTES = 64 * 1024;
+
+    static final String CREATE_STAGING_SQL = """
+            create temp table if not exists rating_import_staging (
+                source_user_id  bigint         not null,
+                movie_id        bigint         not null,
+                rating          numeric(3, 1)  not null,
+                rated_at        bigint         not null
+            ) on commit delete rows
+            """;
+
+    static final String COPY_SQL =
+            "copy rating_import_staging (source_user_id, movie_id, rating, rated_at) from stdin with (format csv)";
+
+    // DISTINCT ON: a chunk may rate the same (user, movie) twice, and ON CONFLICT can't touch a row
+    // twice in one statement — keep the latest. The WHERE on the update skips no-op rewrites.
+    static final String MERGE_SQL = """
+            insert into ratings (user_id, movie_id, rating_times_ten, created_at, updated_at)
+            select distinct on (user_id, movie_id) user_id, movie_id, rating_times_ten, rated_at, rated_at
+            from (
+                select md5('movielens:' || source_user_id)::uuid as user_id,
+                       movie_id,
+                       (rating * 20)::int                          as rating_times_ten,
+                       to_timestamp(rated_at)                      as rated_at
+                from rating_import_staging
+                where rating between 0.5 and 5.0
+            ) s
+            order by user_id, movie_id, rated_at desc
+            on conflict on constraint uk_ratings_user_movie do update
+            set rating_times_ten = excluded.rating_times_ten,
+                updated_at       = excluded.updated_at
+            where ratings.rating_times_ten <> excluded.rating_times_ten
+            """;
+
+    private final DataSource dataSource;
+    private final RatingLeaderboard leaderboard;
+    private final int chunkRows;
+
+    public RatingImportService(
+            DataSource dataSource,
+            RatingLeaderboard leaderboard,
+            @Value("${app.import.chunk-rows:100000}") int chunkRows
+    ) {
+        if (chunkRows < 1) {
+            throw new IllegalArgumentException("app.import.chunk-rows must be positive");
+        }
+        this.dataSource = dataSource;
+        this.leaderboard = leaderboard;
+        this.chunkRows = chunkRows;
+    }
+
+    /**
+     * Stream the CSV into ratings. A leading header line (anything not starting with a digit) is skipped.
+     * Chunks already committed stay committed if a later one fails, and the leaderboard is rebuilt
+     * whenever at least one chunk committed, failure or not.
+     */
+    public RatingImportReport importMovieLensCsv(InputStream csv) throws IOException, SQLException {
+        long started = System.nanoTime();
+        long rowsRead = 0;
+        long rowsMerged = 0;
+        int chunks = 0;
+
+        var reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8), COPY_BUFFER_BYTES);
+
+        try (Connection con = dataSource.getConnection()) {
+            boolean autoCommit = con.getAutoCommit();
+            con.setAutoCommit(false);
+            try (Statement st = con.createStatement()) {
+                st.execute(CREATE_STAGING_SQL);
+                con.commit();
+
+                var copyApi = con.unwrap(PGConnection.class).getCopyAPI();
+
+                String line = reader.readLine();
+                if (line != null && !line.isEmpty() && !Character.isDigit(line.charAt(0))) {
+                    line = reader.readLine();      // header
+                }
+
+                while (line != null) {
+                    int copied = 0;
+                    CopyIn copy = copyApi.copyIn(COPY_SQL);
+                    try {
+                        var out = new PGCopyOutputStream(copy, COPY_BUFFER_BYTES);
+                        while (line != null && copied < chunkRows) {
+                            if (!line.isBlank()) {
+                                out.write(line.getBytes(StandardCharsets.UTF_8));
+                                out.write('\n');
+                                copied++;
+                            }
+                            line = reader.readLine();
+                        }
+                        out.close();                // flushes and ends the COPY
+                    }
+                    catch (IOException e) {
+                        throw badInputOr(e, rowsRead + copied);
+                    }
+                    finally {
+                        if (copy.isActive()) {
+                            copy.cancelCopy();
+                        }
+                    }
+
+                    rowsMerged += st.executeUpdate(MERGE_SQL);
+                    con.commit();
+                    rowsRead += copied;
+                    chunks++;
+
+                    log.debug("Rating import: chunk {} committed, {} rows so far", chunks, rowsRead);
+                }
+
+                st.execute("analyze ratings");
+                con.commit();
+            }
+            catch (SQLException | IOException | RuntimeException e) {
+                con.rollback();
+                throw e;
+            }
+            finally {
+                con.setAutoCommit(autoCommit);
+            }
+        }
+        finally {
+            if (chunks > 0) {
+                leaderboard.rebuild();      // committed chunks are in ratings even when a later one failed
+            }
+        }
+
+        long elapsedMillis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        var report = new RatingImportReport(rowsRead, rowsMerged, chunks, elapsedMillis, rowsRead * 1000 / elapsedMillis);
+        log.info("Rating import: {}", report);
+        return report;
+    }
+
+    // A COPY that Postgres rejected for its content (SQLSTATE class 22, e.g. "x" as a movie id)
+    // is the caller's fault → IllegalArgumentException (400). Anything else stays an I/O failure.
+    private static IOException badInputOr(IOException e, long rowsBefore) {
+        if (e.getCause() instanceof SQLException sql && sql.getSQLState() != null && sql.getSQLState().startsWith("22")) {
+            throw new IllegalArgumentException(
+                    "Invalid CSV at or before data row " + rowsBefore + ": " + sql.getMessage(), e);
+        }
+        return e;
+    }
+}
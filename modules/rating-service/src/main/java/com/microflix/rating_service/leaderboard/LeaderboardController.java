@@ -0,0 +1,39 @@
+package com.microflix.rating_service.leaderboard;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Public "top rated" leaderboard: movies ranked by Bayesian-weighted average rating, paged with
+ * limit/offset and read from the in-memory {@link RatingLeaderboard}.
+ */
+@RestController
+@RequestMapping("/api/v1/ratings")
+public class LeaderboardController {
+
+    private final LeaderboardService leaderboardService;
+
+    public LeaderboardController(LeaderboardService leaderboardService) {
+        this.leaderboardService = leaderboardService;
+    }
+
+    /**
+     * Returns the highest-rated movies, best first.
+     *
+     *   GET /api/v1/ratings/top?limit=20&offset=0
+     *
+     * Served from memory — no query per request.
+     */
+    @GetMapping("/top")
+    public ResponseEntity<List<TopRatedMovieResponse>> getTopRated(
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "0") int offset
+    ) {
+
+        var response = leaderboardService.getTopRated(limit, offset);
+
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,39 @@
+package com.microflix.rating_service.leaderboard;
+
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class LeaderboardService {       // Validates paging and reads the in-memory leaderboard.
+
+    /**
+     * Maximum page size for {@link #getTopRated(int, int)}.
+     */
+    public static final int MAX_LIMIT = 100;
+
+    /**
+     * Deepest offset served — pages walk the ranking from the top, so keep the walk short.
+     */
+    public static final int MAX_OFFSET = 10_000;
+
+    private final RatingLeaderboard leaderboard;
+
+    public LeaderboardService(RatingLeaderboard leaderboard) {
+        this.leaderboard = leaderboard;
+    }
+
+    /**
+     * Highest-rated movies by Bayesian weighted average, best first.
+     */
+    public List<TopRatedMovieResponse> getTopRated(int limit, int offset) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (offset < 0 || offset > MAX_OFFSET) {
+            throw new IllegalArgumentException("offset must be between 0 and " + MAX_OFFSET);
+        }
+
+        return leaderboard.page(offset, limit);
+    }
+}
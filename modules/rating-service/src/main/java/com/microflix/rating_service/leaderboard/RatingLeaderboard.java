@@ -0,0 +1,220 @@
+package com.microflix.rating_service.leaderboard;
+
+import com.microflix.rating_service.common.tx.AfterCommit;
+import com.microflix.rating_service.rating.RatingRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory "top rated" leaderboard ranked by a Bayesian weighted average:
+ *
+ *   score = (v / (v + m)) * R + (m / (v + m)) * C
+ *
+ *   v = the movie's rating count, R = its average,
+ *   m = app.leaderboard.min-votes (the prior's weight), C = mean of all ratings (the prior).
+ *
+ * A movie with a handful of 10s doesn't outrank one with hundreds of 9s until it has
+ * enough votes to pull away from C.
+ *
+ * - Full rebuild from one GROUP BY on startup, before the web server takes traffic, and again
+ *   every app.leaderboard.rebuild-interval so drift (another instance's writes, a delta racing
+ *   a rebuild) can't accumulate
+ * - Rating writes apply their delta to one movie after their transaction commits:
+ *   O(log n) remove + re-insert. A rolled-back write never reaches the ranking
+ * - C is anchored at rebuild time; when the live global mean drifts past
+ *   REANCHOR_THRESHOLD, every movie is re-scored in memory (no DB)
+ * - Reads walk a skip list without locking; a page costs O(offset + limit).
+ *   A movie being re-scored can be briefly absent from a concurrent read.
+ */
+@Component
+public class RatingLeaderboard implements SmartInitializingSingleton {
+
+    // Re-score everything once the global mean moves this far (times-ten units → 0.05 points)
+    static final double REANCHOR_THRESHOLD = 0.5;
+
+    /**
+     * Per-movie stats plus the score it is currently ranked by.
+     * Immutable — an update removes the old entry and inserts a new one.
+     */
+    record Entry(Long movieId, long sumTimesTen, long count, double score) {}
+
+    private static final Comparator<Entry> RANKING = Comparator
+            .comparingDouble(Entry::score).reversed()
+            .thenComparing(Entry::movieId);             // stable order for equal scores
+
+    private final RatingRepository ratingRepository;
+    private final double minVotes;
+
+    // Swapped wholesale on re-anchor so readers never see a half-built ranking
+    private volatile ConcurrentSkipListSet<Entry> ranking = new ConcurrentSkipListSet<>(RANKING);
+
+    // Guarded by this — writers are serialized, readers only touch ranking
+    private final Map<Long, Entry> byMovie = new HashMap<>();
+    private long globalSumTimesTen;
+    private long globalCount;
+    private double priorMeanTimesTen;
+
+    public RatingLeaderboard(
+            RatingRepository ratingRepository,
+            @Value("${app.leaderboard.min-votes:10}") double minVotes
+    ) {
+        if (minVotes <= 0) {
+            throw new IllegalArgumentException("app.leaderboard.min-votes must be positive");
+        }
+        this.ratingRepository = ratingRepository;
+        this.minVotes = minVotes;
+    }
+
+    /**
+     * Runs after all beans exist but before the embedded server starts,
+     * so no rating write can slip between the GROUP BY and the first delta.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.leaderboard.rebuild-interval:PT15M}",
+            fixedDelayString = "${app.leaderboard.rebuild-interval:PT15M}"
+    )
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * Reload every movie's totals from the database and re-score from scratch.
+     */
+    public synchronized void rebuild() {
+        byMovie.clear();
+        globalSumTimesTen = 0;
+        globalCount = 0;
+
+        for (var row : ratingRepository.findTotalsPerMovie()) {
+            byMovie.put(row.getMovieId(), new Entry(row.getMovieId(), row.getSumTimesTen(), row.getCount(), 0));
+            globalSumTimesTen += row.getSumTimesTen();
+            globalCount += row.getCount();
+        }
+
+        reanchor();
+    }
+
+    /**
+     * A rating was created (previousTimesTen == null) or changed.
+     * Applied after the surrounding transaction commits.
+     */
+    public void onRatingSaved(Long movieId, Integer previousTimesTen, int newTimesTen) {
+        if (previousTimesTen == null) {
+            AfterCommit.run(() -> apply(movieId, newTimesTen, 1));
+        }
+        else if (previousTimesTen != newTimesTen) {
+            AfterCommit.run(() -> apply(movieId, newTimesTen - previousTimesTen, 0));
+        }
+    }
+
+    /**
+     * A rating was deleted. Applied after the surrounding transaction commits.
+     */
+    public void onRatingDeleted(Long movieId, int removedTimesTen) {
+        AfterCommit.run(() -> apply(movieId, -removedTimesTen, -1));
+    }
+
+    /**
+     * One page of the leaderboard, best first. Ranks are 1-based and continue across pages.
+     */
+    public List<TopRatedMovieResponse> page(int offset, int limit) {
+        List<TopRatedMovieResponse> result = new ArrayList<>(limit);
+
+        int position = 0;
+        for (Entry entry : ranking) {
+            if (position++ < offset) {
+                continue;
+            }
+            if (result.size() == limit) {
+                break;
+            }
+            result.add(new TopRatedMovieResponse(
+                    position,
+                    entry.movieId(),
+                    round(entry.score() / 10.0),
+                    round(entry.sumTimesTen() / (double) entry.count() / 10.0),
+                    entry.count()
+            ));
+        }
+        return result;
+    }
+
+    /**
+     * Number of ranked (rated at least once) movies.
+     */
+    public int size() {
+        return ranking.size();
+    }
+
+
+    ///  Helper Functions
+
+    private synchronized void apply(Long movieId, long deltaSumTimesTen, long deltaCount) {
+        globalSumTimesTen += deltaSumTimesTen;
+        globalCount += deltaCount;
+
+        Entry old = byMovie.remove(movieId);
+        long sum = deltaSumTimesTen;
+        long count = deltaCount;
+        if (old != null) {
+            ranking.remove(old);
+            sum += old.sumTimesTen();
+            count += old.count();
+        }
+
+        if (count > 0) {
+            Entry updated = new Entry(movieId, sum, count, score(sum, count));
+            byMovie.put(movieId, updated);
+            ranking.add(updated);
+        }
+
+        if (Math.abs(currentMeanTimesTen() - priorMeanTimesTen) > REANCHOR_THRESHOLD) {
+            reanchor();
+        }
+    }
+
+    /**
+     * Re-base the prior on the current global mean and re-score every movie. O(n log n).
+     */
+    private void reanchor() {
+        priorMeanTimesTen = currentMeanTimesTen();
+
+        var rescored = new ConcurrentSkipListSet<>(RANKING);
+        for (var it = byMovie.entrySet().iterator(); it.hasNext(); ) {
+            var slot = it.next();
+            Entry e = slot.getValue();
+            Entry updated = new Entry(e.movieId(), e.sumTimesTen(), e.count(), score(e.sumTimesTen(), e.count()));
+            slot.setValue(updated);
+            rescored.add(updated);
+        }
+
+        ranking = rescored;
+    }
+
+    private double score(long sumTimesTen, long count) {
+        double average = sumTimesTen / (double) count;
+        return (count * average + minVotes * priorMeanTimesTen) / (count + minVotes);
+    }
+
+    private double currentMeanTimesTen() {
+        return globalCount == 0 ? 0.0 : globalSumTimesTen / (double) globalCount;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
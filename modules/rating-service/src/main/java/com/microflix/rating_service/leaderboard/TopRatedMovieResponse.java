@@ -0,0 +1,17 @@
+package com.microflix.rating_service.leaderboard;
+
+/**
+ * One leaderboard row.
+ *
+ * @param rank    1-based position on the leaderboard
+ * @param score   Bayesian weighted average (1.0–10.0), what the list is sorted by
+ * @param average plain average of the movie's ratings
+ * @param count   number of ratings
+ */
+public record TopRatedMovieResponse(
+        int rank,
+        Long movieId,
+        double score,
+        double average,
+        long count
+) {}
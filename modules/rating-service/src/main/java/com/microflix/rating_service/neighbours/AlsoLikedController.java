@@ -0,0 +1,39 @@
+package com.microflix.rating_service.neighbours;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Public "people who liked this also liked" reads: a movie's nearest neighbours by rating
+ * patterns, read from the table {@link ItemSimilarityJob} precomputes.
+ */
+@RestController
+@RequestMapping("/api/v1/ratings")
+public class AlsoLikedController {
+
+    private final AlsoLikedService alsoLikedService;
+
+    public AlsoLikedController(AlsoLikedService alsoLikedService) {
+        this.alsoLikedService = alsoLikedService;
+    }
+
+    /**
+     * Returns movies similar to this one by rating patterns, best first.
+     *
+     *   GET /api/v1/ratings/movie/{movieId}/also-liked?limit=10
+     *
+     * One indexed read of precomputed neighbours.
+     */
+    @GetMapping("/movie/{movieId}/also-liked")
+    public ResponseEntity<List<AlsoLikedResponse>> getAlsoLiked(
+            @PathVariable Long movieId,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+
+        var response = alsoLikedService.getAlsoLiked(movieId, limit);
+
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,11 @@
+package com.microflix.rating_service.neighbours;
+
+/**
+ * One "also liked" movie.
+ *
+ * @param similarity adjusted cosine similarity to the requested movie, (0, 1]
+ */
+public record AlsoLikedResponse(
+        Long movieId,
+        double similarity
+) {}
@@ -0,0 +1,36 @@
+package com.microflix.rating_service.neighbours;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class AlsoLikedService {     // Reads precomputed item-item neighbours.
+
+    /**
+     * Maximum number of neighbours returned — also the number the job stores per movie.
+     */
+    public static final int MAX_LIMIT = 50;
+
+    private final MovieNeighbourRepository neighbourRepository;
+
+    public AlsoLikedService(MovieNeighbourRepository neighbourRepository) {
+        this.neighbourRepository = neighbourRepository;
+    }
+
+    /**
+     * Movies most similar to the given one by rating patterns, best first.
+     * Empty until the similarity job has run, or if the movie has too few ratings.
+     */
+    public List<AlsoLikedResponse> getAlsoLiked(Long movieId, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        return neighbourRepository.findByMovieIdOrderByNeighbourRankAsc(movieId, Limit.of(limit))
+                .stream()
+                .map(n -> new AlsoLikedResponse(n.getNeighbourId(), n.getSimilarity()))
+                .toList();
+    }
+}
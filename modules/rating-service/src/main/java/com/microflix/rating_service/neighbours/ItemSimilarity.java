@@ -0,0 +1,194 @@
+package com.microflix.rating_service.neighbours;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Top-K item-item cosine neighbours over a RatingMatrix.
+ *
+ * For each movie i: walk its raters, then each rater's other movies, accumulating the
+ * dot product with every co-rated movie j in a dense scratch array. Then
+ * sim(i, j) = dot / (|i| · |j|), kept if enough users rated both and the similarity is positive.
+ *
+ * Movies are split into ranges and run as a fork-join RecursiveAction tree. Every movie's
+ * row is independent, so tasks share nothing but the read-only matrix and their own output slots.
+ */
+final class ItemSimilarity {
+
+    // Leaf task size: big enough to amortise task overhead, small enough to balance skewed rows
+    private static final int MOVIES_PER_LEAF = 32;
+
+    /**
+     * Flat top-K result: movie i's neighbours are neighbours[i*k .. i*k+k), best first, -1 past the end.
+     */
+    record Result(int k, int[] neighbours, float[] similarities) {}
+
+    private ItemSimilarity() {}
+
+    static Result compute(RatingMatrix matrix, int k, int minCoRaters, ForkJoinPool pool) {
+        int n = matrix.movieCount();
+        int[] neighbours = new int[n * k];
+        float[] similarities = new float[n * k];
+        Arrays.fill(neighbours, -1);
+
+        pool.invoke(new Task(matrix, k, minCoRaters, neighbours, similarities, 0, n));
+
+        return new Result(k, neighbours, similarities);
+    }
+
+
+    ///  Helper Functions
+
+    private static final class Task extends RecursiveAction {
+
+        // Per-thread scratch sized to the movie count, reused across leaves
+        private static final ThreadLocal<Scratch> SCRATCH = new ThreadLocal<>();
+
+        private final RatingMatrix m;
+        private final int k;
+        private final int minCoRaters;
+        private final int[] neighbours;
+        private final float[] similarities;
+        private final int from;
+        private final int to;
+
+        Task(RatingMatrix m, int k, int minCoRaters, int[] neighbours, float[] similarities, int from, int to) {
+            this.m = m;
+            this.k = k;
+            this.minCoRaters = minCoRaters;
+            this.neighbours = neighbours;
+            this.similarities = similarities;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > MOVIES_PER_LEAF) {
+                int mid = (from + to) >>> 1;
+                invokeAll(
+                        new Task(m, k, minCoRaters, neighbours, similarities, from, mid),
+                        new Task(m, k, minCoRaters, neighbours, similarities, mid, to)
+                );
+                return;
+            }
+
+            Scratch s = SCRATCH.get();
+            if (s == null || s.dot.length != m.movieCount()) {
+                s = new Scratch(m.movieCount(), k);
+                SCRATCH.set(s);
+            }
+            for (int i = from; i < to; i++) {
+                topNeighbours(i, s);
+            }
+        }
+
+        private void topNeighbours(int i, Scratch s) {
+            if (m.movieNorms[i] == 0) {
+                return;                             // every rater sat exactly on their mean
+            }
+
+            int touched = 0;
+            for (int p = m.movieRowStart[i]; p < m.movieRowStart[i + 1]; p++) {
+                int user = m.movieUsers[p];
+                float vi = m.movieValues[p];
+                for (int q = m.userRowStart[user]; q < m.userRowStart[user + 1]; q++) {
+                    int j = m.userMovies[q];
+                    if (j == i) {
+                        continue;
+                    }
+                    if (s.coRaters[j]++ == 0) {
+                        s.touched[touched++] = j;
+                    }
+                    s.dot[j] += vi * m.userValues[q];
+                }
+            }
+
+            int heapSize = 0;
+            for (int t = 0; t < touched; t++) {
+                int j = s.touched[t];
+                double dot = s.dot[j];
+                int coRaters = s.coRaters[j];
+                s.dot[j] = 0;
+                s.coRaters[j] = 0;
+
+                if (coRaters < minCoRaters || m.movieNorms[j] == 0) {
+                    continue;
+                }
+                float sim = (float) (dot / (m.movieNorms[i] * m.movieNorms[j]));
+                if (sim <= 0) {
+                    continue;
+                }
+                if (heapSize < k) {
+                    s.heapIds[heapSize] = j;
+                    s.heapSims[heapSize] = sim;
+                    siftUp(s.heapIds, s.heapSims, heapSize++);
+                }
+                else if (sim > s.heapSims[0]) {
+                    s.heapIds[0] = j;
+                    s.heapSims[0] = sim;
+                    siftDown(s.heapIds, s.heapSims, heapSize);
+                }
+            }
+
+            // Drain the min-heap from the back so slot 0 is the best neighbour
+            int base = i * k;
+            for (int r = heapSize - 1; r >= 0; r--) {
+                neighbours[base + r] = s.heapIds[0];
+                similarities[base + r] = s.heapSims[0];
+                s.heapIds[0] = s.heapIds[r];
+                s.heapSims[0] = s.heapSims[r];
+                siftDown(s.heapIds, s.heapSims, r);
+            }
+        }
+    }
+
+    private static final class Scratch {
+        final double[] dot;
+        final int[] coRaters;
+        final int[] touched;
+        final int[] heapIds;
+        final float[] heapSims;
+
+        Scratch(int movies, int k) {
+            dot = new double[movies];
+            coRaters = new int[movies];
+            touched = new int[movies];
+            heapIds = new int[k];
+            heapSims = new float[k];
+        }
+    }
+
+    private static void siftUp(int[] ids, float[] heap, int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= heap[i]) {
+                return;
+            }
+            swap(ids, heap, i, parent);
+            i = parent;
+        }
+    }
+
+    private static void siftDown(int[] ids, float[] heap, int size) {
+        int i = 0;
+        while (true) {
+            int smallest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < size && heap[left] < heap[smallest]) smallest = left;
+            if (right < size && heap[right] < heap[smallest]) smallest = right;
+            if (smallest == i) {
+                return;
+            }
+            swap(ids, heap, i, smallest);
+            i = smallest;
+        }
+    }
+
+    private static void swap(int[] ids, float[] heap, int a, int b) {
+        int id = ids[a]; ids[a] = ids[b]; ids[b] = id;
+        float s = heap[a]; heap[a] = heap[b]; heap[b] = s;
+    }
+}
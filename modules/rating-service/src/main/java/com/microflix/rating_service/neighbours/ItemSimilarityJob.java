@@ -0,0 +1,183 @@
+package com.microflix.rating_service.neighbours;
+
+import com.microflix.rating_service.common.locks.AdvisoryLocks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Offline item-item collaborative filtering job.
+ *
+ * 1. Stream every rating (user, movie, value) into a RatingMatrix — a forward-only cursor,
+ *    no entities, so memory is the primitive arrays only
+ * 2. Compute each movie's top-K cosine neighbours on a fork-join pool
+ * 3. Replace movie_neighbours with JDBC batch inserts, generating rows one batch at a time
+ *
+ * Runs on app.neighbours.cron (nightly by default) on every instance, but the whole run is one
+ * transaction that starts by taking an advisory lock: only one instance computes, the others
+ * skip. Without it, concurrent delete + insert of the same primary keys would deadlock or fail
+ * on duplicates. The transaction (and one pooled connection) is held for the length of the run.
+ */
+@Component
+public class ItemSimilarityJob {
+
+    private static final Logger log = LoggerFactory.getLogger(ItemSimilarityJob.class);
+
+    private static final int FETCH_SIZE = 10_000;
+    private static final int INSERT_BATCH_SIZE = 1_000;
+    private static final String LOCK_NAME = "rating-service.item-similarity";
+    private static final String INSERT_SQL =
+            "insert into movie_neighbours (movie_id, neighbour_rank, neighbour_id, similarity, computed_at) "
+                    + "values (?, ?, ?, ?, ?)";
+
+    /**
+     * What one run did — also logged, for sizing the job against catalog growth.
+     */
+    public record Report(
+            int ratings,
+            int users,
+            int movies,
+            int neighbourRows,
+            long matrixBytes,
+            long loadMillis,
+            long computeMillis,
+            long writeMillis
+    ) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AdvisoryLocks locks;
+    private final int k;
+    private final int minCoRaters;
+    private final int parallelism;
+
+    public ItemSimilarityJob(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            AdvisoryLocks locks,
+            @Value("${app.neighbours.k:" + AlsoLikedService.MAX_LIMIT + "}") int k,
+            @Value("${app.neighbours.min-co-raters:3}") int minCoRaters,
+            @Value("${app.neighbours.parallelism:0}") int parallelism
+    ) {
+        if (k < 1 || k > AlsoLikedService.MAX_LIMIT) {
+            throw new IllegalArgumentException("app.neighbours.k must be between 1 and " + AlsoLikedService.MAX_LIMIT);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.locks = locks;
+        this.k = k;
+        this.minCoRaters = minCoRaters;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    @Scheduled(cron = "${app.neighbours.cron:0 0 3 * * *}")
+    public void scheduledRun() {
+        run();
+    }
+
+    /**
+     * Recompute every movie's neighbours and replace the table.
+     *
+     * @return empty if another instance holds the job lock and this run was skipped
+     */
+    public Optional<Report> run() {
+        return transactionTemplate.execute(status -> {
+            if (!locks.tryLockForTransaction(LOCK_NAME)) {
+                log.info("Item similarity job is running on another instance; skipping");
+                return Optional.<Report>empty();
+            }
+            return Optional.of(compute());
+        });
+    }
+
+
+    ///  Helper Functions
+
+    private Report compute() {
+        long started = System.nanoTime();
+        RatingMatrix matrix = loadMatrix();
+        long loaded = System.nanoTime();
+
+        ItemSimilarity.Result result;
+        try (ForkJoinPool pool = new ForkJoinPool(parallelism)) {
+            result = ItemSimilarity.compute(matrix, k, minCoRaters, pool);
+        }
+        long computed = System.nanoTime();
+
+        int rows = write(matrix, result);
+        long written = System.nanoTime();
+
+        var report = new Report(
+                matrix.ratingCount(), matrix.userCount, matrix.movieCount(), rows, matrix.sizeInBytes(),
+                (loaded - started) / 1_000_000, (computed - loaded) / 1_000_000, (written - computed) / 1_000_000
+        );
+        log.info("Item similarity job: {}", report);
+        return report;
+    }
+
+    private RatingMatrix loadMatrix() {
+        var builder = new RatingMatrix.Builder();
+
+        // Stream rows straight into the builder; fetchSize keeps the Postgres driver on a cursor
+        // (needs autocommit off, which run()'s transaction provides)
+        jdbcTemplate.query(
+                con -> {
+                    var ps = con.prepareStatement("select user_id, movie_id, rating_times_ten from ratings");
+                    ps.setFetchSize(FETCH_SIZE);
+                    return ps;
+                },
+                (RowCallbackHandler) rs -> builder.add(rs.getObject(1, UUID.class), rs.getLong(2), rs.getInt(3) / 10.0f)
+        );
+
+        return builder.build();
+    }
+
+    // Rows are generated into one reused batch buffer and flushed as it fills, so memory stays
+    // at INSERT_BATCH_SIZE rows however many movies × k the catalog grows to
+    private int write(RatingMatrix matrix, ItemSimilarity.Result result) {
+        Timestamp computedAt = Timestamp.from(Instant.now());
+        jdbcTemplate.update("delete from movie_neighbours");
+
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+        int rows = 0;
+        for (int i = 0; i < matrix.movieCount(); i++) {
+            for (int r = 0; r < result.k(); r++) {
+                int j = result.neighbours()[i * result.k() + r];
+                if (j < 0) {
+                    break;
+                }
+                batch.add(new Object[]{
+                        matrix.movieIds[i], (short) (r + 1), matrix.movieIds[j],
+                        result.similarities()[i * result.k() + r], computedAt
+                });
+                if (batch.size() == INSERT_BATCH_SIZE) {
+                    rows += flush(batch);
+                }
+            }
+        }
+        return rows + flush(batch);
+    }
+
+    private int flush(List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+        int flushed = batch.size();
+        batch.clear();
+        return flushed;
+    }
+}
@@ -0,0 +1,43 @@
+package com.microflix.rating_service.neighbours;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+
+/**
+ * One precomputed "people who liked this also liked" neighbour.
+ * Written in bulk by ItemSimilarityJob; read-only for the API.
+ */
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PUBLIC)
+@AllArgsConstructor
+@Entity
+@IdClass(MovieNeighbourId.class)
+@Table(name = "movie_neighbours")
+public class MovieNeighbour {
+
+    // Movie the neighbours belong to
+    @Id
+    @Column(name = "movie_id", nullable = false)
+    private Long movieId;
+
+    // 1 = most similar
+    @Id
+    @Column(name = "neighbour_rank", nullable = false)
+    private short neighbourRank;
+
+    // The similar movie
+    @Column(name = "neighbour_id", nullable = false)
+    private Long neighbourId;
+
+    // Adjusted cosine similarity, (0, 1]
+    @Column(name = "similarity", nullable = false)
+    private float similarity;
+
+    // When the job run that produced this row finished computing
+    @Column(name = "computed_at", nullable = false)
+    private OffsetDateTime computedAt;
+
+}
@@ -0,0 +1,20 @@
+package com.microflix.rating_service.neighbours;
+
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Composite key for MovieNeighbour: (movie, rank).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class MovieNeighbourId implements Serializable {
+
+    private Long movieId;
+    private short neighbourRank;
+
+}
@@ -0,0 +1,17 @@
+package com.microflix.rating_service.neighbours;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository         // JPA repository for precomputed movie neighbours.
+public interface MovieNeighbourRepository extends JpaRepository<MovieNeighbour, MovieNeighbourId> {
+
+    /**
+     * A movie's neighbours, best first. One range scan on the (movie_id, neighbour_rank) primary key.
+     */
+    List<MovieNeighbour> findByMovieIdOrderByNeighbourRankAsc(Long movieId, Limit limit);
+
+}
@@ -0,0 +1,168 @@
+package com.microflix.rating_service.neighbours;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Sparse user × movie rating matrix in compressed sparse row (CSR) form, stored twice:
+ * movie-major (a movie's raters) and user-major (a user's rated movies). Item-item
+ * similarity walks movie → raters → their other movies, so it needs both directions.
+ *
+ * Users and movies are mapped to dense int indexes; values are user-mean-centred
+ * (adjusted cosine), so a harsh rater's 6 and a generous rater's 9 can mean the same thing.
+ *
+ * Memory: ~16 bytes per rating (int index + float value, twice) plus small per-row arrays.
+ */
+final class RatingMatrix {
+
+    final long[] movieIds;          // dense movie index → movie id
+    final int userCount;
+
+    // Movie-major CSR: raters of movie m are movieUsers[movieRowStart[m] .. movieRowStart[m+1])
+    final int[] movieRowStart;
+    final int[] movieUsers;
+    final float[] movieValues;
+
+    // User-major CSR: movies rated by user u are userMovies[userRowStart[u] .. userRowStart[u+1])
+    final int[] userRowStart;
+    final int[] userMovies;
+    final float[] userValues;
+
+    // L2 norm of each movie's centred rating vector
+    final double[] movieNorms;
+
+    private RatingMatrix(long[] movieIds, int userCount,
+                         int[] movieRowStart, int[] movieUsers, float[] movieValues,
+                         int[] userRowStart, int[] userMovies, float[] userValues,
+                         double[] movieNorms) {
+        this.movieIds = movieIds;
+        this.userCount = userCount;
+        this.movieRowStart = movieRowStart;
+        this.movieUsers = movieUsers;
+        this.movieValues = movieValues;
+        this.userRowStart = userRowStart;
+        this.userMovies = userMovies;
+        this.userValues = userValues;
+        this.movieNorms = movieNorms;
+    }
+
+    int movieCount() {
+        return movieIds.length;
+    }
+
+    int ratingCount() {
+        return movieUsers.length;
+    }
+
+    /**
+     * Approximate bytes held by the matrix arrays.
+     */
+    long sizeInBytes() {
+        return (long) movieIds.length * (Long.BYTES + Integer.BYTES + Double.BYTES)
+                + (long) userCount * Integer.BYTES
+                + (long) ratingCount() * 2 * (Integer.BYTES + Float.BYTES);
+    }
+
+
+    /**
+     * Accumulates (user, movie, rating) triples as they stream in, then builds both CSR layouts.
+     * Each (user, movie) pair is expected at most once — the ratings table guarantees it.
+     */
+    static final class Builder {
+
+        private final Map<UUID, Integer> userIndex = new HashMap<>();
+        private final Map<Long, Integer> movieIndex = new HashMap<>();
+        private long[] movieIdsByIndex = new long[1024];
+
+        private int[] users = new int[1 << 16];
+        private int[] movies = new int[1 << 16];
+        private float[] values = new float[1 << 16];
+        private int size;
+
+        void add(UUID userId, long movieId, float rating) {
+            if (size == users.length) {
+                int capacity = users.length << 1;
+                users = Arrays.copyOf(users, capacity);
+                movies = Arrays.copyOf(movies, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+            users[size] = userIndex.computeIfAbsent(userId, k -> userIndex.size());
+            movies[size] = movieIndex.computeIfAbsent(movieId, this::newMovie);
+            values[size] = rating;
+            size++;
+        }
+
+        RatingMatrix build() {
+            int userCount = userIndex.size();
+            int movieCount = movieIndex.size();
+
+            // Centre every rating on its user's mean
+            double[] userSums = new double[userCount];
+            int[] userCounts = new int[userCount];
+            for (int i = 0; i < size; i++) {
+                userSums[users[i]] += values[i];
+                userCounts[users[i]]++;
+            }
+            for (int i = 0; i < size; i++) {
+                values[i] -= (float) (userSums[users[i]] / userCounts[users[i]]);
+            }
+
+            int[] movieRowStart = rowStarts(movies, movieCount);
+            int[] movieUsers = new int[size];
+            float[] movieValues = new float[size];
+            scatter(movies, users, movieRowStart, movieUsers, movieValues);
+
+            int[] userRowStart = rowStarts(users, userCount);
+            int[] userMovies = new int[size];
+            float[] userValues = new float[size];
+            scatter(users, movies, userRowStart, userMovies, userValues);
+
+            double[] norms = new double[movieCount];
+            for (int m = 0; m < movieCount; m++) {
+                double sum = 0;
+                for (int p = movieRowStart[m]; p < movieRowStart[m + 1]; p++) {
+                    sum += (double) movieValues[p] * movieValues[p];
+                }
+                norms[m] = Math.sqrt(sum);
+            }
+
+            return new RatingMatrix(Arrays.copyOf(movieIdsByIndex, movieCount), userCount,
+                    movieRowStart, movieUsers, movieValues,
+                    userRowStart, userMovies, userValues,
+                    norms);
+        }
+
+        private int newMovie(long movieId) {
+            int index = movieIndex.size();
+            if (index == movieIdsByIndex.length) {
+                movieIdsByIndex = Arrays.copyOf(movieIdsByIndex, index << 1);
+            }
+            movieIdsByIndex[index] = movieId;
+            return index;
+        }
+
+        // Counting sort, step 1: prefix sums of row lengths
+        private int[] rowStarts(int[] rows, int rowCount) {
+            int[] start = new int[rowCount + 1];
+            for (int i = 0; i < size; i++) {
+                start[rows[i] + 1]++;
+            }
+            for (int r = 0; r < rowCount; r++) {
+                start[r + 1] += start[r];
+            }
+            return start;
+        }
+
+        // Counting sort, step 2: drop each entry into its row's next free slot
+        private void scatter(int[] rows, int[] cols, int[] rowStart, int[] outCols, float[] outValues) {
+            int[] next = Arrays.copyOf(rowStart, rowStart.length - 1);
+            for (int i = 0; i < size; i++) {
+                int slot = next[rows[i]]++;
+                outCols[slot] = cols[i];
+                outValues[slot] = values[i];
+            }
+        }
+    }
+}
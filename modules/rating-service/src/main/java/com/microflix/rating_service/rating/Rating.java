@@ -2,6 +2,7 @@ package com.microflix.rating_service.rating;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.PartitionKey;
 
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
@@ -23,6 +24,9 @@ public class Rating {
     @Column(nullable = false)
     private UUID userId;
 
+    // ratings is hash-partitioned on movie_id (V6); @PartitionKey adds it to Hibernate's
+    // UPDATE/DELETE ... WHERE id = ? so those statements prune to one partition
+    @PartitionKey
     @Column(nullable = false)
     private Long movieId;
 
@@ -150,6 +150,22 @@ public class RatingController {         // Handles HTTP requests related to rati
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Returns the average rating and count for many movies at once.
+     *
+     *   GET /api/v1/ratings/summaries?ids=12,7,42
+     *
+     * One entry per distinct id, in input order; unrated movies have count 0 and a null average.
+     * Capped at {@link RatingService#MAX_SUMMARY_BATCH_SIZE} ids. Public, like the single-movie summary.
+     */
+    @GetMapping("/summaries")
+    public ResponseEntity<List<MovieRatingSummaryResponse>> getMovieRatingSummaries(@RequestParam List<Long> ids) {
+
+        var response = service.getMovieRatingSummaries(ids);
+
+        return ResponseEntity.ok(response);
+    }
+
     @DeleteMapping("/{movieId}")
     public ResponseEntity<?> deleteRating(
             @AuthenticationPrincipal CurrentUser user,
@@ -1,22 +1,40 @@
 package com.microflix.rating_service.rating;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 
-@Repository         // JPA repository for Rating entities.
+/**
+ * JPA repository for Rating entities.
+ *
+ * ratings is hash-partitioned on movie_id (V6). Every per-movie query here filters on
+ * movie_id (= or IN) so the planner prunes to the matching partition(s); findByUserId is the
+ * one per-user read and probes each partition's user index — see docs/partitioning.md.
+ */
+@Repository
 public interface RatingRepository extends JpaRepository<Rating, Long> {
 
-    Optional<Rating> findByUserIdAndMovieId(UUID userId, Long movieId);
+    Optional<Rating> findByUserIdAndMovieId(UUID userId, Long movieId);    // prunes on movie_id
 
-    List<Rating> findByUserId(UUID userId);
+    /**
+     * Same row as findByUserIdAndMovieId, locked (SELECT ... FOR UPDATE) until the transaction ends,
+     * so concurrent writes to one user's rating see each other's value as "previous".
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from Rating r where r.userId = :userId and r.movieId = :movieId")
+    Optional<Rating> findForUpdate(UUID userId, Long movieId);
 
-    List<Rating> findByMovieId(Long movieId);
+    List<Rating> findByUserId(UUID userId);                                 // all partitions, one index probe each
+
+    List<Rating> findByMovieId(Long movieId);                               // prunes on movie_id
 
 
     // ---------- Summary projection + custom query ----------
@@ -63,4 +81,101 @@ public interface RatingRepository extends JpaRepository<Rating, Long> {
     """)
     Optional<RatingSummaryProjection> findSummaryByMovieId(Long movieId);
 
+    /**
+     * Summary rows for many movies in one grouped query (prunes to their partitions).
+     * Movies with no ratings have no row.
+     */
+    @Query("""
+    select r.movieId as movieId,
+           avg(r.ratingTimesTen) as averageTimesTen,
+           count(r.id) as count
+    from Rating r
+    where r.movieId in :movieIds
+    group by r.movieId
+    """)
+    List<RatingSummaryProjection> findSummariesByMovieIdIn(Collection<Long> movieIds);
+
+
+    // ---------- Leaderboard rebuild ----------
+
+    /**
+     * Raw per-movie totals (sum + count, not avg) so the leaderboard can keep
+     * applying exact deltas after loading them.
+     */
+    interface MovieRatingTotalsProjection {
+        Long getMovieId();
+        Long getSumTimesTen();
+        Long getCount();
+    }
+
+    /**
+     * One row per rated movie. Only run when the leaderboard rebuilds (startup),
+     * never per request.
+     */
+    @Query("""
+    select r.movieId as movieId,
+           sum(r.ratingTimesTen) as sumTimesTen,
+           count(r.id) as count
+    from Rating r
+    group by r.movieId
+    """)
+    List<MovieRatingTotalsProjection> findTotalsPerMovie();
+
+
+    // ---------- Per-user state for many movies ----------
+
+    /**
+     * Narrow row for "what did this user rate these movies": just the movie id
+     * and the stored times-ten value, no timestamps or entity hydration.
+     */
+    interface UserMovieRatingProjection {
+        Long getMovieId();
+        Integer getRatingTimesTen();
+    }
+
+    /**
+     * The user's ratings for a set of movies in one query.
+     * Served by the uk_ratings_user_movie (user_id, movie_id) index.
+     */
+    @Query("""
+    select r.movieId as movieId,
+           r.ratingTimesTen as ratingTimesTen
+    from Rating r
+    where r.userId = :userId
+      and r.movieId in :movieIds
+    """)
+    List<UserMovieRatingProjection> findUserRatingsForMovies(UUID userId, Collection<Long> movieIds);
+
+
+    // ---------- Per-user state for one movie ----------
+
+    /**
+     * One row of the combined "me" query below: either the rating row
+     * (ratingTimesTen set, type null) or one engagement row (type set, ratingTimesTen null).
+     */
+    interface MyMovieStateRow {
+        Integer getRatingTimesTen();
+        String getType();
+    }
+
+    /**
+     * The user's rating and every engagement type on one movie, in a single round-trip.
+     *
+     * UNION ALL of two point lookups, each served by its (user_id, movie_id, ...) unique index.
+     * Returns no rows if the user has neither rated nor engaged with the movie.
+     * Aliases are quoted so Postgres keeps their case for the projection getters.
+     */
+    @Query(value = """
+    select r.rating_times_ten as "ratingTimesTen",
+           cast(null as varchar(32)) as "type"
+    from ratings r
+    where r.user_id = :userId and r.movie_id = :movieId
+    union all
+    select cast(null as integer) as "ratingTimesTen",
+           e.type as "type"
+    from engagements e
+    where e.user_id = :userId and e.movie_id = :movieId
+    """, nativeQuery = true)
+    List<MyMovieStateRow> findMyStateForMovie(UUID userId, Long movieId);
+
 }
@@ -1,38 +1,53 @@
 package com.microflix.rating_service.rating;
 
 import com.microflix.rating_service.common.errors.RatingNotFoundException;
+import com.microflix.rating_service.common.tx.AfterCommit;
+import com.microflix.rating_service.leaderboard.RatingLeaderboard;
 import com.microflix.rating_service.rating.dto.CreateRating;
 import com.microflix.rating_service.rating.dto.MovieRatingSummaryResponse;
 import com.microflix.rating_service.rating.dto.RatingResponse;
 import com.microflix.rating_service.rating.dto.UpdateRating;
+import com.microflix.rating_service.trending.TrendingEngine;
+import com.microflix.rating_service.trending.TrendingSignal;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
 public class RatingService {        // Encapsulates business logic for rating operations.
 
     private final RatingRepository ratingRepository;
+    private final RatingLeaderboard leaderboard;
+    private final TrendingEngine trending;
 
-    public RatingService(RatingRepository ratingRepository) {
+    public RatingService(RatingRepository ratingRepository, RatingLeaderboard leaderboard, TrendingEngine trending) {
         this.ratingRepository = ratingRepository;
+        this.leaderboard = leaderboard;
+        this.trending = trending;
     }
 
 
     /**
-     * Creates a new rating or updates an existing one for the user + movie
+     * Creates a new rating or updates an existing one for the user + movie.
+     * The existing row is read under a row lock, so two concurrent writes can't both use
+     * the same previous value; the leaderboard and trending scores see the write only once this commits.
      */
+    @Transactional
     public RatingResponse createRating(UUID userId, CreateRating request) {
 
-        // Check if a rating already exists for this user + movie
-        var existing = ratingRepository.findByUserIdAndMovieId(
+        // Check if a rating already exists for this user + movie (locked until commit)
+        var existing = ratingRepository.findForUpdate(
                 userId,
                 request.movieId()
         );
 
         // 2) If it exists update it; otherwise create a new one
         var rating = existing.orElseGet(Rating::new);           // Rating::new is a method reference, just a shorter way of writing: () -> new Rating()
+        Integer previous = existing.map(Rating::getRatingTimesTen).orElse(null);
 
         // compute rating out of 100 to store as an integer
         int rate  = toRatingTimesTen(request.rate());
@@ -43,24 +58,33 @@ public class RatingService {        // Encapsulates business logic for rating op
 
         var newRating = ratingRepository.save(rating);
 
+        leaderboard.onRatingSaved(newRating.getMovieId(), previous, rate);
+        if (previous == null) {
+            AfterCommit.run(() -> trending.record(request.movieId(), TrendingSignal.RATING));     // only new ratings count as activity
+        }
+
         return toResponse(newRating);
     }
 
     /**
-     * Updates an existing rating for the given user and movie.
+     * Updates an existing rating for the given user and movie. Same locking as createRating.
      */
+    @Transactional
     public RatingResponse updateRating(UUID userId, UpdateRating request) {
         Long movieId = request.movieId();
 
-        var rating = ratingRepository.findByUserIdAndMovieId(userId, movieId)
+        var rating = ratingRepository.findForUpdate(userId, movieId)
                 .orElseThrow(() -> new RatingNotFoundException("Rating cannot be found"));
 
         int rate  = toRatingTimesTen(request.rate());
+        int previous = rating.getRatingTimesTen();
 
         rating.setRatingTimesTen(rate);
 
         var updatedRating = ratingRepository.save(rating);
 
+        leaderboard.onRatingSaved(movieId, previous, rate);
+
         return toResponse(updatedRating);
     }
 
@@ -135,13 +159,51 @@ public class RatingService {        // Encapsulates business logic for rating op
         }
     }
 
+    /**
+     * Maximum number of ids accepted by {@link #getMovieRatingSummaries(List)}.
+     */
+    public static final int MAX_SUMMARY_BATCH_SIZE = 300;
+
+    /**
+     * Summary stats for many movies, one entry per distinct id in input order.
+     * Movies with no ratings come back as count=0 and average=null, same as the single-movie call.
+     */
+    public List<MovieRatingSummaryResponse> getMovieRatingSummaries(List<Long> movieIds) {
+        if (movieIds == null || movieIds.isEmpty()) {
+            return List.of();
+        }
+        if (movieIds.size() > MAX_SUMMARY_BATCH_SIZE) {
+            throw new IllegalArgumentException(
+                    "Batch size cannot exceed " + MAX_SUMMARY_BATCH_SIZE + " (was " + movieIds.size() + ")");
+        }
+
+        List<Long> distinct = movieIds.stream().distinct().toList();
+
+        Map<Long, RatingRepository.RatingSummaryProjection> byId = new HashMap<>();
+        for (var summary : ratingRepository.findSummariesByMovieIdIn(distinct)) {
+            byId.put(summary.getMovieId(), summary);
+        }
+
+        return distinct.stream()
+                .map(id -> {
+                    var summary = byId.get(id);
+                    return summary == null
+                            ? new MovieRatingSummaryResponse(id, null, 0L)
+                            : new MovieRatingSummaryResponse(id, summary.getAverageTimesTen() / 10.0, summary.getCount());
+                })
+                .toList();
+    }
+
+    @Transactional
     public void deleteRating(UUID userId, Long movieId) {
 
-        var rating = ratingRepository.findByUserIdAndMovieId(userId, movieId)
+        var rating = ratingRepository.findForUpdate(userId, movieId)
                 .orElseThrow(() -> new RatingNotFoundException("Rating for user " + userId + " and movie " + movieId + " was not found"));
 
         ratingRepository.delete(rating);
 
+        leaderboard.onRatingDeleted(movieId, rating.getRatingTimesTen());
+
     }
 
 
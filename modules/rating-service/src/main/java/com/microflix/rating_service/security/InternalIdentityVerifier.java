@@ -0,0 +1,122 @@
+package com.microflix.rating_service.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Verifies the gateway's signed X-Internal-Identity header (trusted-network mode).
+ *
+ * The gateway has already verified the user's JWT; this only checks the gateway's HMAC over
+ * "v1.<payload>" and the header's expiry, then splits the payload (userId, email, roles, exp) —
+ * no JWT parsing. Off unless app.identity.trusted-header.enabled; the secret must match the
+ * gateway's app.identity.secret and has no default — enabling trusted mode without one fails startup.
+ * Only safe while the service port is unreachable except through the gateway.
+ */
+@Component
+public class InternalIdentityVerifier {
+
+    public static final String HEADER = "X-Internal-Identity";
+
+    private static final String PREFIX = "v1.";
+    private static final Base64.Decoder BASE64 = Base64.getUrlDecoder();
+
+    // The placeholder that used to ship as the default; never accepted as a real secret
+    static final String DEV_SECRET = "internal-identity-local-secret";
+
+    private final boolean enabled;
+    private final SecretKeySpec key;
+
+    // Mac isn't thread-safe; one per thread instead of a new one per request
+    private final ThreadLocal<Mac> mac;
+
+    public InternalIdentityVerifier(
+            @Value("${app.identity.trusted-header.enabled:false}") boolean enabled,
+            @Value("${app.identity.secret:}") String secret
+    ) {
+        this.enabled = enabled;
+        this.key = keyFor(enabled, secret);
+        this.mac = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * The user the header vouches for.
+     * Throws IllegalArgumentException if the header is malformed, badly signed or expired.
+     */
+    public CurrentUser verify(String header) {
+        int lastDot = header.lastIndexOf('.');
+        if (!header.startsWith(PREFIX) || lastDot <= PREFIX.length()) {
+            throw new IllegalArgumentException("Malformed identity header");
+        }
+
+        String signed = header.substring(0, lastDot);
+        byte[] expected = mac.get().doFinal(signed.getBytes(StandardCharsets.US_ASCII));
+        byte[] actual = BASE64.decode(header.substring(lastDot + 1));
+        if (!MessageDigest.isEqual(expected, actual)) {
+            throw new IllegalArgumentException("Bad identity header signature");
+        }
+
+        String payload = new String(BASE64.decode(signed.substring(PREFIX.length())), StandardCharsets.UTF_8);
+        String[] parts = payload.split("\n", -1);
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Malformed identity payload");
+        }
+        if (Long.parseLong(parts[3]) < Instant.now().getEpochSecond()) {
+            throw new IllegalArgumentException("Identity header expired");
+        }
+
+        List<String> roles = Arrays.stream(parts[2].split(","))
+                .filter(StringUtils::hasText)
+                .map(String::trim)
+                .toList();
+        return new CurrentUser(UUID.fromString(parts[0]), parts[1], roles);
+    }
+
+
+    ///  Helper Functions
+
+    // Refuse to trust headers signed with a blank or the old committed dev secret: anyone who can reach
+    // the service port could then sign an ADMIN identity. Off, a random key means nothing ever verifies.
+    private static SecretKeySpec keyFor(boolean enabled, String secret) {
+        byte[] bytes;
+        if (enabled) {
+            if (!StringUtils.hasText(secret) || DEV_SECRET.equals(secret)) {
+                throw new IllegalStateException(
+                        "app.identity.trusted-header.enabled needs app.identity.secret (INTERNAL_IDENTITY_SECRET) set to a private value");
+            }
+            bytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        else {
+            bytes = new byte[32];
+            new SecureRandom().nextBytes(bytes);
+        }
+        return new SecretKeySpec(bytes, "HmacSHA256");
+    }
+
+    private Mac newMac() {
+        try {
+            Mac m = Mac.getInstance("HmacSHA256");
+            m.init(key);
+            return m;
+        }
+        catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);      // mandatory in every JRE
+        }
+    }
+}
@@ -7,14 +7,12 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.List;
 
 // Runs once per request, looks for a Bearer token, and if valid,
 // sets the CurrentUser into Spring Security's context.
@@ -24,9 +22,11 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     private static final Logger log = LoggerFactory.getLogger(JwtAuthFilter.class);
 
     private final JwtVerifier jwtVerifier;
+    private final InternalIdentityVerifier identityVerifier;
 
-    public JwtAuthFilter(JwtVerifier jwtVerifier) {
+    public JwtAuthFilter(JwtVerifier jwtVerifier, InternalIdentityVerifier identityVerifier) {
         this.jwtVerifier = jwtVerifier;
+        this.identityVerifier = identityVerifier;
     }
 
     @Override
@@ -37,26 +37,28 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     ) throws ServletException, IOException {
 
         try {
+            // Trusted-network mode: the gateway already verified the JWT and signed the result
+            CurrentUser trusted = trustedIdentity(request);
+
             // Retrieving Authorization header
             String header = request.getHeader("Authorization");
 
+            if (trusted != null) {
+                SecurityContextHolder.getContext().setAuthentication(
+                        new UsernamePasswordAuthenticationToken(trusted, null, jwtVerifier.authoritiesFor(trusted.roles())));
+            }
             // If token is present & starts with "Bearer " -> try to authenticate.
-            if (StringUtils.hasText(header) && header.startsWith("Bearer ")) {
+            else if (StringUtils.hasText(header) && header.startsWith("Bearer ")) {
 
                 // Strip "Bearer " prefix
                 String token = header.substring(7);
 
-                // Validate the JWT and build a CurrentUser
-                CurrentUser currentUser = jwtVerifier.verify(token);
-
-                // Map roles ("USER") to Spring authorities ("ROLE_USER")
-                List<SimpleGrantedAuthority> authorities = currentUser.roles().stream()
-                        .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
-                        .toList();
+                // Validate the JWT (cached per token until exp) -> CurrentUser + ROLE_* authorities
+                JwtVerifier.VerifiedToken verified = jwtVerifier.authenticate(token);
 
                 // Build an authentication object with CurrentUser as the principal
                 UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(currentUser, null, authorities);
+                        new UsernamePasswordAuthenticationToken(verified.user(), null, verified.authorities());
 
                 // Store authentication in the SecurityContext for this request.
                 SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -72,4 +74,21 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    // User from a valid gateway identity header, or null (off, absent, or invalid → fall back to the Bearer token)
+    private CurrentUser trustedIdentity(HttpServletRequest request) {
+        if (!identityVerifier.isEnabled()) {
+            return null;
+        }
+        String identity = request.getHeader(InternalIdentityVerifier.HEADER);
+        if (!StringUtils.hasText(identity)) {
+            return null;
+        }
+        try {
+            return identityVerifier.verify(identity);
+        } catch (Exception ex) {
+            log.warn("Ignoring invalid internal identity header: {}", ex.getMessage());
+            return null;
+        }
+    }
+
 }
\ No newline at end of file
@@ -4,23 +4,70 @@ import com.auth0.jwt.JWT;
 import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 // Responsible for verifying JWT tokens and converting them into a CurrentUser.
 @Component
 public class JwtVerifier {
 
+    /**
+     * A verified token, ready to become a Spring Authentication.
+     * Immutable and shared between requests carrying the same token.
+     */
+    public record VerifiedToken(CurrentUser user, List<GrantedAuthority> authorities) {}
+
+    /**
+     * SHA-256 of a token, so the cache never holds raw bearer tokens.
+     */
+    private record TokenKey(long a, long b, long c, long d) {}
+
+    private record CachedToken(VerifiedToken token, long expiresAtNanos) {}
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);     // mandatory in every JRE
+        }
+    });
+
     private final JWTVerifier verifier;
 
+    // Verified tokens until their exp (capped at maxTtl); null when app.jwt.cache.max-size is 0
+    private final Cache<TokenKey, CachedToken> cache;
+    private final Duration maxTtl;
+
+    // One immutable authority list per distinct role set ("USER", "USER,ADMIN", ...)
+    private final Map<List<String>, List<GrantedAuthority>> authoritiesByRoles = new ConcurrentHashMap<>();
+
     public JwtVerifier(
             @Value("${app.jwt.secret}") String secret,
-            @Value("${app.jwt.issuer}") String issuer
+            @Value("${app.jwt.issuer}") String issuer,
+            @Value("${app.jwt.cache.max-size:10000}") long cacheMaxSize,
+            @Value("${app.jwt.cache.max-ttl:PT15M}") Duration maxTtl,
+            MeterRegistry meterRegistry
     ) {
 
         // Use HMAC with a shared secret; matches the issuer service.
@@ -30,6 +77,21 @@ public class JwtVerifier {
         this.verifier = JWT.require(algorithm)
                 .withIssuer(issuer)
                 .build();
+
+        this.maxTtl = maxTtl;
+
+        if (cacheMaxSize > 0) {
+            this.cache = Caffeine.newBuilder()
+                    .maximumSize(cacheMaxSize)
+                    .expireAfter(Expiry.creating((TokenKey key, CachedToken cached) ->
+                            Duration.ofNanos(Math.max(0, cached.expiresAtNanos() - System.nanoTime()))))
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified");
+        }
+        else {
+            this.cache = null;
+        }
     }
 
 
@@ -40,9 +102,51 @@ public class JwtVerifier {
      * Extracts the authenticated user's data from its claims.
      */
     public CurrentUser verify(String token) {
+        return toCurrentUser(verifier.verify(token));
+    }
+
+    /**
+     * Same checks as {@link #verify(String)}, plus the Spring authorities, memoised per token.
+     *
+     * The first request with a token pays for HMAC + JSON parsing; later ones with the same token
+     * cost one SHA-256 and a cache lookup until the token's exp (or max-ttl, whichever is sooner).
+     * Invalid tokens are never cached — they throw every time, exactly like verify().
+     */
+    public VerifiedToken authenticate(String token) {
+        if (cache == null) {
+            return toVerifiedToken(verifier.verify(token));
+        }
+
+        TokenKey key = keyOf(token);
+        CachedToken cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached.token();
+        }
 
-        // Verify signature + issuer and parse claims
         DecodedJWT jwt = verifier.verify(token);
+        VerifiedToken verified = toVerifiedToken(jwt);
+
+        long ttlNanos = maxTtl.toNanos();
+        Instant expiresAt = jwt.getExpiresAtAsInstant();
+        if (expiresAt != null) {
+            ttlNanos = Math.min(ttlNanos, Duration.between(Instant.now(), expiresAt).toNanos());
+        }
+        if (ttlNanos > 0) {
+            cache.put(key, new CachedToken(verified, System.nanoTime() + ttlNanos));
+        }
+
+        return verified;
+    }
+
+
+    ///  Helper Functions
+
+    private VerifiedToken toVerifiedToken(DecodedJWT jwt) {
+        CurrentUser user = toCurrentUser(jwt);
+        return new VerifiedToken(user, authoritiesFor(user.roles()));
+    }
+
+    private CurrentUser toCurrentUser(DecodedJWT jwt) {
 
         // Extract user ID from "userId" claim.
         String userIdString = jwt.getClaim("userId").asString();
@@ -62,5 +166,16 @@ public class JwtVerifier {
         return new CurrentUser(userId, email, roles);
     }
 
+    // Map roles ("USER") to Spring authorities ("ROLE_USER"), one shared list per role set
+    List<GrantedAuthority> authoritiesFor(List<String> roles) {
+        return authoritiesByRoles.computeIfAbsent(roles, r -> r.stream()
+                .<GrantedAuthority>map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                .toList());
+    }
 
+    private static TokenKey keyOf(String token) {
+        byte[] digest = SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        ByteBuffer buf = ByteBuffer.wrap(digest);
+        return new TokenKey(buf.getLong(), buf.getLong(), buf.getLong(), buf.getLong());
+    }
 }
@@ -34,13 +34,20 @@ public class SecurityConfig {
                         // Permitting Health/info endpoints
                         .requestMatchers("/actuator/**").permitAll()
 
+                        // Bulk import is admin-only
+                        .requestMatchers("/api/v1/ratings/admin/**").hasRole("ADMIN")
+
                         // Write operations require authentication
                         .requestMatchers(HttpMethod.POST, "/api/v1/ratings").authenticated()
                         .requestMatchers(HttpMethod.PATCH, "/api/v1/ratings").authenticated()
 
-
+                        // Aggregate engagement counts are public; everything else under engagements is per-user
+                        .requestMatchers(HttpMethod.GET, "/api/v1/engagements/counts").permitAll()
                         .requestMatchers("/api/v1/engagements/**").authenticated()       // Need to be authenticated to manipulate lists
 
+                        // Per-user state reads need a user, even though other rating reads are public
+                        .requestMatchers(HttpMethod.GET, "/api/v1/ratings/me/state", "/api/v1/ratings/movie/*/me/state").authenticated()
+
                         // Read operations on ratings are public for now
                         .requestMatchers(HttpMethod.GET, "/api/v1/ratings/**").permitAll()
 
@@ -0,0 +1,15 @@
+package com.microflix.rating_service.state;
+
+import com.microflix.rating_service.engagement.EngagementType;
+
+import java.util.List;
+
+/**
+ * The current user's state for one movie: their rating (if any) and
+ * every engagement they have on it (WATCHLIST, FAVOURITE, LIKE).
+ */
+public record MyMovieStateResponse(
+        Long movieId,
+        Double rating,                      // 1.0–10.0, or null if not rated
+        List<EngagementType> engagements    // empty if none
+) {}
@@ -0,0 +1,59 @@
+package com.microflix.rating_service.state;
+
+import com.microflix.rating_service.security.CurrentUser;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Per-user "my state" reads that combine ratings and engagements: the current user's rating and
+ * engagement types for a batch of movies (grid badges) or for a single movie (detail page).
+ */
+@RestController
+@RequestMapping("/api/v1/ratings")
+public class MyStateController {
+
+    private final MyStateService myStateService;
+
+    public MyStateController(MyStateService myStateService) {
+        this.myStateService = myStateService;
+    }
+
+    /**
+     * Returns the current user's rating + engagement types for many movies at once.
+     *
+     *   GET /api/v1/ratings/me/state?ids=12,7,42
+     *
+     * One entry per distinct id, in input order. Capped at {@link MyStateService#MAX_BATCH_SIZE} ids.
+     */
+    @GetMapping("/me/state")
+    public ResponseEntity<List<MyMovieStateResponse>> getMyStates(
+            @AuthenticationPrincipal CurrentUser user,
+            @RequestParam List<Long> ids
+    ) {
+
+        var response = myStateService.getMyStates(user.id(), ids);
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Returns the current user's rating + engagement types for one movie.
+     *
+     *   GET /api/v1/ratings/movie/{movieId}/me/state
+     *
+     * Always 200 — an untouched movie comes back with a null rating and no engagements.
+     */
+    @GetMapping("/movie/{movieId}/me/state")
+    public ResponseEntity<MyMovieStateResponse> getMyState(
+            @AuthenticationPrincipal CurrentUser user,
+            @PathVariable Long movieId
+    ) {
+
+        var response = myStateService.getMyState(user.id(), movieId);
+
+        return ResponseEntity.ok(response);
+    }
+}
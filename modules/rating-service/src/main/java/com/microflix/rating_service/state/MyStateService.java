@@ -0,0 +1,112 @@
+package com.microflix.rating_service.state;
+
+import com.microflix.rating_service.engagement.EngagementRepository;
+import com.microflix.rating_service.engagement.EngagementType;
+import com.microflix.rating_service.rating.RatingRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Answers "what has the current user done with these movies" for grid views,
+ * so badges ("rated 8.5", "on watchlist") don't need two calls per tile.
+ */
+@Service
+public class MyStateService {
+
+    /**
+     * Maximum number of movie ids accepted by {@link #getMyStates(UUID, List)} in a single call.
+     * A few grid pages' worth — keeps the IN-lists and the URL bounded.
+     */
+    public static final int MAX_BATCH_SIZE = 300;
+
+    private final RatingRepository ratingRepository;
+    private final EngagementRepository engagementRepository;
+
+    public MyStateService(RatingRepository ratingRepository, EngagementRepository engagementRepository) {
+        this.ratingRepository = ratingRepository;
+        this.engagementRepository = engagementRepository;
+    }
+
+    /**
+     * Returns the user's rating + engagement types for each requested movie, in input-id order.
+     *
+     * Two indexed IN queries total (ratings, engagements), regardless of how many ids.
+     * Every distinct requested id gets an entry — movies the user hasn't touched come back
+     * with a null rating and no engagements, so the caller never has to guess.
+     */
+    @Transactional(readOnly = true)
+    public List<MyMovieStateResponse> getMyStates(UUID userId, List<Long> movieIds) {
+        if (movieIds == null || movieIds.isEmpty()) {
+            return List.of();
+        }
+
+        // Drop duplicates but keep the caller's order
+        Set<Long> ids = new LinkedHashSet<>(movieIds);
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException(
+                    "Batch size cannot exceed " + MAX_BATCH_SIZE + " (was " + ids.size() + ")");
+        }
+
+        Map<Long, Integer> ratingsByMovie = new HashMap<>();
+        for (var row : ratingRepository.findUserRatingsForMovies(userId, ids)) {
+            ratingsByMovie.put(row.getMovieId(), row.getRatingTimesTen());
+        }
+
+        // EnumSet keeps engagement types in declaration order, whatever order the rows came back in
+        Map<Long, EnumSet<EngagementType>> engagementsByMovie = new HashMap<>();
+        for (var row : engagementRepository.findUserEngagementsForMovies(userId, ids)) {
+            engagementsByMovie
+                    .computeIfAbsent(row.getMovieId(), id -> EnumSet.noneOf(EngagementType.class))
+                    .add(row.getType());
+        }
+
+        List<MyMovieStateResponse> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Integer ratingTimesTen = ratingsByMovie.get(id);
+            EnumSet<EngagementType> types = engagementsByMovie.get(id);
+
+            result.add(new MyMovieStateResponse(
+                    id,
+                    ratingTimesTen == null ? null : ratingTimesTen / 10.0,
+                    types == null ? List.of() : List.copyOf(types)
+            ));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the user's rating + engagement types for one movie from a single query.
+     *
+     * Used by the gateway's movie-detail aggregation in place of separate
+     * /ratings/movie/{id}/me and /engagements/watchlist/{id}/me calls.
+     */
+    @Transactional(readOnly = true)
+    public MyMovieStateResponse getMyState(UUID userId, Long movieId) {
+        Integer ratingTimesTen = null;
+        EnumSet<EngagementType> types = EnumSet.noneOf(EngagementType.class);
+
+        for (var row : ratingRepository.findMyStateForMovie(userId, movieId)) {
+            if (row.getRatingTimesTen() != null) {
+                ratingTimesTen = row.getRatingTimesTen();
+            }
+            if (row.getType() != null) {
+                types.add(EngagementType.valueOf(row.getType()));
+            }
+        }
+
+        return new MyMovieStateResponse(
+                movieId,
+                ratingTimesTen == null ? null : ratingTimesTen / 10.0,
+                List.copyOf(types)
+        );
+    }
+}
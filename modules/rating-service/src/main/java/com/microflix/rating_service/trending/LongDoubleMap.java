@@ -0,0 +1,127 @@
+package com.microflix.rating_service.trending;
+
+/**
+ * Minimal open-addressing long → double map (linear probing, power-of-two table).
+ * Two flat arrays instead of a HashMap<Long, Double> — no boxing, no per-entry node.
+ *
+ * Key 0 marks an empty slot, so 0 can't be stored (movie ids start at 1).
+ * Not thread-safe; TrendingEngine guards it.
+ */
+final class LongDoubleMap {
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private double[] values;
+    private int size;
+    private int resizeAt;
+
+    LongDoubleMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    int size() {
+        return size;
+    }
+
+    double get(long key) {
+        int slot = find(key);
+        return keys[slot] == key ? values[slot] : 0.0;
+    }
+
+    /**
+     * values[key] += delta, inserting the key if absent.
+     */
+    void addTo(long key, double delta) {
+        if (key == 0) {
+            throw new IllegalArgumentException("Key 0 is reserved");
+        }
+        int slot = find(key);
+        if (keys[slot] == key) {
+            values[slot] += delta;
+            return;
+        }
+        keys[slot] = key;
+        values[slot] = delta;
+        if (++size >= resizeAt) {
+            rehash(keys.length << 1, 0.0);
+        }
+    }
+
+    /**
+     * Multiply every value by factor (decay re-basing).
+     */
+    void scale(double factor) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                values[i] *= factor;
+            }
+        }
+    }
+
+    /**
+     * Drop every entry whose value is below min. Rebuilds the table, so it's O(capacity).
+     */
+    void retainAtLeast(double min) {
+        int capacity = keys.length;
+        while (capacity > 16 && size < (capacity >> 3)) {
+            capacity >>= 1;                     // shrink when mostly empty
+        }
+        rehash(capacity, min);
+    }
+
+    void forEach(Entry consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface Entry {
+        void accept(long key, double value);
+    }
+
+
+    ///  Helper Functions
+
+    private int find(long key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash(int capacity, double min) {
+        long[] oldKeys = keys;
+        double[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0 && oldValues[i] >= min) {
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                size++;
+            }
+        }
+        if (size >= resizeAt) {
+            rehash(capacity << 1, min);
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new double[capacity];
+        size = 0;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;     // Fibonacci hashing spreads sequential ids
+        return (int) (h ^ (h >>> 32));
+    }
+}
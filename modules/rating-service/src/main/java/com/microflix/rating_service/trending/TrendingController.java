@@ -0,0 +1,38 @@
+package com.microflix.rating_service.trending;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Public "trending now" rail: movies ranked by time-decayed rating and engagement activity,
+ * read from the in-memory {@link TrendingEngine}.
+ */
+@RestController
+@RequestMapping("/api/v1/ratings")
+public class TrendingController {
+
+    private final TrendingService trendingService;
+
+    public TrendingController(TrendingService trendingService) {
+        this.trendingService = trendingService;
+    }
+
+    /**
+     * Returns the movies with the most recent activity, hottest first.
+     *
+     *   GET /api/v1/ratings/trending?limit=20
+     *
+     * Served from memory — no query per request.
+     */
+    @GetMapping("/trending")
+    public ResponseEntity<List<TrendingMovieResponse>> getTrending(
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+
+        var response = trendingService.getTrending(limit);
+
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,194 @@
+package com.microflix.rating_service.trending;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-memory "trending now" scores: every rating insert / watchlist add bumps its movie,
+ * and all scores decay exponentially with a configurable half-life.
+ *
+ * Forward decay: instead of decaying every movie on every tick, each event is stored
+ * pre-scaled by e^(λ·(t − landmark)). Relative order never changes as time passes, so a
+ * write is one primitive-map add, and a read multiplies by e^(−λ·(now − landmark)) once.
+ * When the boost factor gets large the map is re-based onto a new landmark to stay
+ * well inside double range.
+ *
+ * - Writes: O(1) under a short lock
+ * - Top K: one pass over the map with a K-sized min-heap, O(n log K)
+ * - Snapshot / restore for TrendingSnapshotJob so restarts don't start cold
+ */
+@Component
+public class TrendingEngine {
+
+    // Re-base once a new event would be boosted by more than this (≈ 20 half-lives)
+    private static final double REBASE_AT = 1e6;
+
+    // Decayed scores below this are dropped when snapshotting (≈ one rating, ten half-lives ago)
+    static final double MIN_SCORE = 1e-3;
+
+    /**
+     * Point-in-time copy of all scores, already decayed to asOf.
+     */
+    public record Snapshot(long[] movieIds, double[] scores, Instant asOf) {}
+
+    private final Clock clock;
+    private final double lambdaPerMilli;
+
+    // Guarded by this
+    private final LongDoubleMap scores = new LongDoubleMap(4096);
+    private long landmarkMillis;
+
+    @Autowired
+    public TrendingEngine(@Value("${app.trending.half-life:PT6H}") Duration halfLife) {
+        this(halfLife, Clock.systemUTC());
+    }
+
+    TrendingEngine(Duration halfLife, Clock clock) {
+        if (halfLife.isZero() || halfLife.isNegative()) {
+            throw new IllegalArgumentException("app.trending.half-life must be positive");
+        }
+        this.clock = clock;
+        this.lambdaPerMilli = Math.log(2) / halfLife.toMillis();
+        this.landmarkMillis = clock.millis();
+    }
+
+    /**
+     * Count one write event for a movie, as of now.
+     */
+    public synchronized void record(long movieId, TrendingSignal signal) {
+        long now = clock.millis();
+
+        double boost = Math.exp(lambdaPerMilli * (now - landmarkMillis));
+        if (boost > REBASE_AT) {
+            rebase(now);
+            boost = 1.0;
+        }
+
+        scores.addTo(movieId, signal.weight() * boost);
+    }
+
+    /**
+     * The k highest current scores, best first.
+     */
+    public List<TrendingMovieResponse> top(int k) {
+        long[] heapIds = new long[k];
+        double[] heapScores = new double[k];
+        int[] heapSize = {0};
+        double decay;
+
+        synchronized (this) {
+            decay = Math.exp(-lambdaPerMilli * (clock.millis() - landmarkMillis));
+
+            scores.forEach((movieId, score) -> {
+                if (heapSize[0] < k) {
+                    heapIds[heapSize[0]] = movieId;
+                    heapScores[heapSize[0]] = score;
+                    siftUp(heapIds, heapScores, heapSize[0]++);
+                }
+                else if (score > heapScores[0]) {
+                    heapIds[0] = movieId;
+                    heapScores[0] = score;
+                    siftDown(heapIds, heapScores, heapSize[0]);
+                }
+            });
+        }
+
+        // Pop the min-heap from the back so the list comes out best first
+        int n = heapSize[0];
+        TrendingMovieResponse[] result = new TrendingMovieResponse[n];
+        for (int i = n - 1; i >= 0; i--) {
+            result[i] = new TrendingMovieResponse(heapIds[0], heapScores[0] * decay);
+            heapIds[0] = heapIds[i];
+            heapScores[0] = heapScores[i];
+            siftDown(heapIds, heapScores, i);
+        }
+        return List.of(result);
+    }
+
+    /**
+     * Current scores decayed to now, with negligible ones pruned from memory as a side effect.
+     */
+    public synchronized Snapshot snapshot() {
+        long now = clock.millis();
+        rebase(now);
+        scores.retainAtLeast(MIN_SCORE);
+
+        long[] ids = new long[scores.size()];
+        double[] values = new double[scores.size()];
+        int[] i = {0};
+        scores.forEach((movieId, score) -> {
+            ids[i[0]] = movieId;
+            values[i[0]++] = score;
+        });
+
+        return new Snapshot(ids, values, Instant.ofEpochMilli(now));
+    }
+
+    /**
+     * Add a persisted snapshot's scores (decayed from its asOf to now) to the live ones.
+     * Adding rather than replacing keeps any events recorded before the restore ran.
+     */
+    public synchronized void restore(Snapshot snapshot) {
+        long now = clock.millis();
+        rebase(now);
+
+        double decay = Math.exp(-lambdaPerMilli * Math.max(0, now - snapshot.asOf().toEpochMilli()));
+        for (int i = 0; i < snapshot.movieIds().length; i++) {
+            scores.addTo(snapshot.movieIds()[i], snapshot.scores()[i] * decay);
+        }
+    }
+
+    /**
+     * Number of movies currently tracked.
+     */
+    public synchronized int size() {
+        return scores.size();
+    }
+
+
+    ///  Helper Functions
+
+    private void rebase(long now) {
+        scores.scale(Math.exp(-lambdaPerMilli * (now - landmarkMillis)));
+        landmarkMillis = now;
+    }
+
+    private static void siftUp(long[] ids, double[] heap, int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= heap[i]) {
+                return;
+            }
+            swap(ids, heap, i, parent);
+            i = parent;
+        }
+    }
+
+    private static void siftDown(long[] ids, double[] heap, int size) {
+        int i = 0;
+        while (true) {
+            int smallest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < size && heap[left] < heap[smallest]) smallest = left;
+            if (right < size && heap[right] < heap[smallest]) smallest = right;
+            if (smallest == i) {
+                return;
+            }
+            swap(ids, heap, i, smallest);
+            i = smallest;
+        }
+    }
+
+    private static void swap(long[] ids, double[] heap, int a, int b) {
+        long id = ids[a]; ids[a] = ids[b]; ids[b] = id;
+        double s = heap[a]; heap[a] = heap[b]; heap[b] = s;
+    }
+}
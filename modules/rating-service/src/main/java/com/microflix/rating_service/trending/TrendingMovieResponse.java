@@ -0,0 +1,12 @@
+package com.microflix.rating_service.trending;
+
+/**
+ * One trending row.
+ *
+ * @param score decayed activity score right now (each recent rating ≈ 1, watchlist add ≈ 2,
+ *              halving every app.trending.half-life)
+ */
+public record TrendingMovieResponse(
+        Long movieId,
+        double score
+) {}
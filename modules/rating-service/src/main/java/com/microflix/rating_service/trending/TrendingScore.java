@@ -0,0 +1,37 @@
+package com.microflix.rating_service.trending;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+
+/**
+ * One row of the persisted trending snapshot. Rewritten wholesale by TrendingSnapshotJob
+ * with JDBC batch inserts (never saved through JPA); the live scores are in TrendingEngine.
+ */
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PUBLIC)
+@AllArgsConstructor
+@Entity
+@Table(name = "trending_scores")
+public class TrendingScore {
+
+    // Movie the score belongs to (one row per movie)
+    @Id
+    @Column(name = "movie_id", nullable = false)
+    private Long movieId;
+
+    // Score already decayed to asOf
+    @Column(name = "score", nullable = false)
+    private double score;
+
+    // When the snapshot was taken (same for every row of a snapshot)
+    @Column(name = "as_of", nullable = false)
+    private OffsetDateTime asOf;
+
+    // Instance that wrote the snapshot (same for every row of a snapshot)
+    @Column(name = "written_by", nullable = false, length = 128)
+    private String writtenBy;
+
+}
@@ -0,0 +1,8 @@
+package com.microflix.rating_service.trending;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository         // JPA repository for the persisted trending snapshot.
+public interface TrendingScoreRepository extends JpaRepository<TrendingScore, Long> {
+}
@@ -0,0 +1,31 @@
+package com.microflix.rating_service.trending;
+
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class TrendingService {      // Validates the request and reads the in-memory trending scores.
+
+    /**
+     * Maximum number of movies returned by {@link #getTrending(int)}.
+     */
+    public static final int MAX_LIMIT = 100;
+
+    private final TrendingEngine engine;
+
+    public TrendingService(TrendingEngine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Movies with the most recent rating / watchlist activity, hottest first.
+     */
+    public List<TrendingMovieResponse> getTrending(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        return engine.top(limit);
+    }
+}
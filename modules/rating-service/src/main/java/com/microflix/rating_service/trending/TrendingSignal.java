@@ -0,0 +1,20 @@
+package com.microflix.rating_service.trending;
+
+/**
+ * Write events that feed the trending score, with how much each one counts.
+ * A watchlist add is a stronger "I want to see this" signal than a rating of something already seen.
+ */
+public enum TrendingSignal {
+    RATING(1.0),
+    WATCHLIST_ADD(2.0);
+
+    private final double weight;
+
+    TrendingSignal(double weight) {
+        this.weight = weight;
+    }
+
+    public double weight() {
+        return weight;
+    }
+}
@@ -0,0 +1,173 @@
+package com.microflix.rating_service.trending;
+
+import com.microflix.rating_service.common.locks.AdvisoryLocks;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keeps TrendingEngine warm across restarts:
+ *
+ * - On startup (before the web server takes traffic), loads the last snapshot into the engine
+ * - Every app.trending.snapshot-interval, and once more on shutdown, replaces the snapshot table
+ *   with the engine's current (decayed, pruned) scores using JDBC batch inserts
+ *
+ * One writer: each instance's engine only sees the traffic routed to it, so instances taking turns
+ * would flip the snapshot between different views. The instance that wrote the current snapshot
+ * (written_by) keeps writing it; another takes over only once it has gone two intervals without a
+ * refresh. The check and the replace run under an advisory lock, so two instances never replace it
+ * at once.
+ *
+ * Losing up to one interval of activity on a crash only makes trending slightly stale.
+ */
+@Component
+public class TrendingSnapshotJob implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(TrendingSnapshotJob.class);
+
+    private static final String LOCK_NAME = "rating-service.trending-snapshot";
+    private static final String INSERT_SQL =
+            "insert into trending_scores (movie_id, score, as_of, written_by) values (?, ?, ?, ?)";
+
+    // Who wrote the current snapshot, and when (every row of a snapshot carries the same pair)
+    private record Writer(String instanceId, OffsetDateTime asOf) {}
+
+    private final TrendingEngine engine;
+    private final TrendingScoreRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AdvisoryLocks locks;
+    private final Duration takeOverAfter;
+    private final String instanceId;
+
+    public TrendingSnapshotJob(
+            TrendingEngine engine,
+            TrendingScoreRepository repository,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            AdvisoryLocks locks,
+            @Value("${app.trending.snapshot-interval:PT5M}") Duration interval,
+            @Value("${app.trending.instance-id:${HOSTNAME:}}") String instanceId
+    ) {
+        this.engine = engine;
+        this.repository = repository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.locks = locks;
+        this.takeOverAfter = interval.multipliedBy(2);
+        this.instanceId = StringUtils.hasText(instanceId) ? instanceId : UUID.randomUUID().toString();
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        restore();
+    }
+
+    /**
+     * Load the persisted snapshot into the engine.
+     */
+    public void restore() {
+        List<TrendingScore> rows = repository.findAll();
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        long[] ids = new long[rows.size()];
+        double[] scores = new double[rows.size()];
+        OffsetDateTime asOf = rows.get(0).getAsOf();
+        for (int i = 0; i < rows.size(); i++) {
+            ids[i] = rows.get(i).getMovieId();
+            scores[i] = rows.get(i).getScore();
+        }
+
+        engine.restore(new TrendingEngine.Snapshot(ids, scores, asOf.toInstant()));
+        log.info("Restored {} trending scores from snapshot taken at {}", rows.size(), asOf);
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.trending.snapshot-interval:PT5M}",
+            fixedDelayString = "${app.trending.snapshot-interval:PT5M}"
+    )
+    public void scheduledPersist() {
+        persist();
+    }
+
+    /**
+     * Replace the persisted snapshot with the engine's current scores, if this instance is the writer.
+     *
+     * @return false if another instance owns the snapshot (or is replacing it right now)
+     */
+    public boolean persist() {
+        var snapshot = engine.snapshot();
+        var asOf = OffsetDateTime.ofInstant(snapshot.asOf(), ZoneOffset.UTC);
+
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            if (!locks.tryLockForTransaction(LOCK_NAME) || !isWriter(asOf)) {
+                return false;
+            }
+
+            jdbcTemplate.update("delete from trending_scores");
+            jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    ps.setLong(1, snapshot.movieIds()[i]);
+                    ps.setDouble(2, snapshot.scores()[i]);
+                    ps.setObject(3, asOf);
+                    ps.setString(4, instanceId);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return snapshot.movieIds().length;
+                }
+            });
+            return true;
+        }));
+    }
+
+    @PreDestroy
+    void persistOnShutdown() {
+        try {
+            persist();
+        }
+        catch (RuntimeException ex) {
+            log.warn("Could not persist trending snapshot on shutdown", ex);
+        }
+    }
+
+
+    ///  Helper Functions
+
+    // No snapshot yet, our own, or one its writer stopped refreshing
+    private boolean isWriter(OffsetDateTime now) {
+        List<Writer> current = jdbcTemplate.query(
+                "select written_by, as_of from trending_scores limit 1",
+                (rs, n) -> new Writer(rs.getString(1), rs.getObject(2, OffsetDateTime.class))
+        );
+        if (current.isEmpty() || instanceId.equals(current.get(0).instanceId())) {
+            return true;
+        }
+        if (current.get(0).asOf().isBefore(now.minus(takeOverAfter))) {
+            log.info("Taking over trending snapshot from {} (last written {})",
+                    current.get(0).instanceId(), current.get(0).asOf());
+            return true;
+        }
+        return false;
+    }
+}
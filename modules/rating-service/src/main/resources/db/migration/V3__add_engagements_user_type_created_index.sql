@@ -0,0 +1,9 @@
+-- Covering index for the watchlist read path (findByUserIdAndTypeOrderByCreatedAtDescIdDesc + keyset pages).
+-- uk_engagement_user_movie_type is ordered (user_id, movie_id, type), so it can find a user's rows
+-- but not return them in created_at order — Postgres sorted the whole watchlist in memory.
+--
+-- Key (user_id, type, created_at DESC, id DESC) matches the ORDER BY exactly, so the planner can
+-- walk the index and stop after LIMIT rows; id is the keyset-cursor tie-breaker for equal timestamps.
+-- INCLUDE (movie_id) makes the page an Index Only Scan — no heap visits for the watchlist columns.
+CREATE INDEX IF NOT EXISTS idx_engagements_user_type_created
+    ON engagements (user_id, type, created_at DESC, id DESC) INCLUDE (movie_id);
@@ -0,0 +1,8 @@
+-- Persisted snapshot of the in-memory trending scores (TrendingEngine).
+-- Rewritten wholesale every snapshot interval and read once on startup, so restarts
+-- don't begin with an empty "trending now" rail. Scores are already decayed to as_of.
+CREATE TABLE IF NOT EXISTS trending_scores (
+    movie_id    BIGINT              PRIMARY KEY,
+    score       DOUBLE PRECISION    NOT NULL,
+    as_of       TIMESTAMPTZ         NOT NULL
+);
@@ -0,0 +1,13 @@
+-- Precomputed item-item neighbours ("people who liked this also liked"), written by ItemSimilarityJob.
+-- The job replaces the whole table in one transaction; the API only reads it.
+--
+-- Primary key (movie_id, neighbour_rank) is the read path: one movie's neighbours, best first,
+-- as a single index range scan that stops after LIMIT rows.
+CREATE TABLE IF NOT EXISTS movie_neighbours (
+    movie_id        BIGINT          NOT NULL,
+    neighbour_rank  SMALLINT        NOT NULL,
+    neighbour_id    BIGINT          NOT NULL,
+    similarity      REAL            NOT NULL,
+    computed_at     TIMESTAMPTZ     NOT NULL,
+    CONSTRAINT pk_movie_neighbours PRIMARY KEY (movie_id, neighbour_rank)
+);
@@ -0,0 +1,97 @@
+-- Declarative hash partitioning for the two big tables.
+--
+--   ratings      PARTITION BY HASH (movie_id)  — summary / leaderboard / per-movie reads prune to one partition
+--   engagements  PARTITION BY HASH (user_id)   — watchlist pages, membership loads, my-state prune to one partition
+--
+-- 16 partitions each: ~6M rows per partition at 100M, small enough for fast vacuum and index rebuilds.
+-- On partitioned tables every PRIMARY KEY / UNIQUE constraint must contain the partition key, so the
+-- primary keys become (id, <partition key>); ids still come from the original sequences and stay unique.
+--
+-- Existing rows are copied in this migration (rename → create partitioned → INSERT ... SELECT → drop).
+-- That holds an ACCESS EXCLUSIVE lock on each table for the duration of the copy — fine for small and
+-- medium datasets. For large live tables use the online path in docs/partitioning.md and hold this
+-- migration back with spring.flyway.target until the swap is done.
+
+
+-- ---------- ratings ----------
+
+ALTER TABLE ratings RENAME TO ratings_unpartitioned;
+ALTER TABLE ratings_unpartitioned RENAME CONSTRAINT ratings_pkey TO ratings_unpartitioned_pkey;
+ALTER TABLE ratings_unpartitioned RENAME CONSTRAINT uk_ratings_user_movie TO uk_ratings_unpartitioned_user_movie;
+ALTER INDEX idx_ratings_movie_id RENAME TO idx_ratings_unpartitioned_movie_id;
+ALTER INDEX idx_ratings_user_id RENAME TO idx_ratings_unpartitioned_user_id;
+
+CREATE TABLE ratings (
+    id                BIGINT         NOT NULL DEFAULT nextval('ratings_id_seq'),
+    user_id           UUID           NOT NULL,
+    movie_id          BIGINT         NOT NULL,
+    rating_times_ten  INT            NOT NULL,     -- e.g. 81 = 8.1/10
+    created_at        TIMESTAMPTZ    NOT NULL,
+    updated_at        TIMESTAMPTZ    NOT NULL,
+
+    CONSTRAINT ratings_pkey PRIMARY KEY (id, movie_id),
+    CONSTRAINT uk_ratings_user_movie UNIQUE (user_id, movie_id)     -- one rating per (user, movie); contains movie_id
+) PARTITION BY HASH (movie_id);
+
+DO $$
+BEGIN
+    FOR i IN 0..15 LOOP
+        EXECUTE format(
+            'CREATE TABLE ratings_p%s PARTITION OF ratings FOR VALUES WITH (MODULUS 16, REMAINDER %s)',
+            lpad(i::text, 2, '0'), i
+        );
+    END LOOP;
+END $$;
+
+-- Created on the parent, cascaded to every partition
+CREATE INDEX IF NOT EXISTS idx_ratings_movie_id ON ratings (movie_id);     -- per-movie reads inside the pruned partition
+CREATE INDEX IF NOT EXISTS idx_ratings_user_id  ON ratings (user_id);      -- "my ratings": one probe per partition
+
+INSERT INTO ratings (id, user_id, movie_id, rating_times_ten, created_at, updated_at)
+SELECT id, user_id, movie_id, rating_times_ten, created_at, updated_at
+FROM ratings_unpartitioned;
+
+-- Move sequence ownership before the old table (its original owner) is dropped
+ALTER SEQUENCE ratings_id_seq OWNED BY ratings.id;
+DROP TABLE ratings_unpartitioned;
+
+
+-- ---------- engagements ----------
+
+ALTER TABLE engagements RENAME TO engagements_unpartitioned;
+ALTER TABLE engagements_unpartitioned RENAME CONSTRAINT engagements_pkey TO engagements_unpartitioned_pkey;
+ALTER TABLE engagements_unpartitioned RENAME CONSTRAINT uk_engagement_user_movie_type TO uk_engagements_unpartitioned_user_movie_type;
+ALTER INDEX idx_engagements_user_type_created RENAME TO idx_engagements_unpartitioned_user_type_created;
+
+CREATE TABLE engagements (
+    id          BIGINT          NOT NULL DEFAULT nextval('engagements_id_seq'),
+    user_id     UUID            NOT NULL,
+    movie_id    BIGINT          NOT NULL,
+    type        VARCHAR(32)     NOT NULL,   -- e.g., WATCHLIST, FAVOURITE, LIKE
+    created_at  TIMESTAMPTZ     NOT NULL,
+
+    CONSTRAINT engagements_pkey PRIMARY KEY (id, user_id),
+    CONSTRAINT uk_engagement_user_movie_type
+        UNIQUE (user_id, movie_id, type)    -- same name: insertIfAbsent's ON CONFLICT ON CONSTRAINT still resolves
+) PARTITION BY HASH (user_id);
+
+DO $$
+BEGIN
+    FOR i IN 0..15 LOOP
+        EXECUTE format(
+            'CREATE TABLE engagements_p%s PARTITION OF engagements FOR VALUES WITH (MODULUS 16, REMAINDER %s)',
+            lpad(i::text, 2, '0'), i
+        );
+    END LOOP;
+END $$;
+
+-- Same covering index as V3, now per partition
+CREATE INDEX IF NOT EXISTS idx_engagements_user_type_created
+    ON engagements (user_id, type, created_at DESC, id DESC) INCLUDE (movie_id);
+
+INSERT INTO engagements (id, user_id, movie_id, type, created_at)
+SELECT id, user_id, movie_id, type, created_at
+FROM engagements_unpartitioned;
+
+ALTER SEQUENCE engagements_id_seq OWNED BY engagements.id;
+DROP TABLE engagements_unpartitioned;
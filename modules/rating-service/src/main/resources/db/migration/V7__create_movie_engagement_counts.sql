@@ -0,0 +1,19 @@
+-- Per-movie engagement counters, kept in step with engagements by EngagementService
+-- (same transaction as each insert/delete). Lets "N people liked this" and batch counts be
+-- primary-key reads instead of COUNT(*) across every engagements partition.
+CREATE TABLE IF NOT EXISTS movie_engagement_counts (
+    movie_id          BIGINT    PRIMARY KEY,
+    watchlist_count   BIGINT    NOT NULL DEFAULT 0,
+    favourite_count   BIGINT    NOT NULL DEFAULT 0,
+    like_count        BIGINT    NOT NULL DEFAULT 0
+);
+
+-- Backfill from existing engagements
+INSERT INTO movie_engagement_counts (movie_id, watchlist_count, favourite_count, like_count)
+SELECT movie_id,
+       count(*) FILTER (WHERE type = 'WATCHLIST'),
+       count(*) FILTER (WHERE type = 'FAVOURITE'),
+       count(*) FILTER (WHERE type = 'LIKE')
+FROM engagements
+GROUP BY movie_id
+ON CONFLICT (movie_id) DO NOTHING;
@@ -0,0 +1,4 @@
+-- Which instance wrote the current trending snapshot. TrendingSnapshotJob keeps one writer:
+-- only that instance replaces the snapshot until it stops refreshing it (see the job).
+ALTER TABLE trending_scores
+    ADD COLUMN IF NOT EXISTS written_by VARCHAR(128) NOT NULL DEFAULT '';
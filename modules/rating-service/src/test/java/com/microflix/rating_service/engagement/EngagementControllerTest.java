@@ -15,6 +15,7 @@ import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 /**
@@ -78,7 +79,7 @@ class EngagementControllerTest {
         when(engagementService.getWatchlist(userId)).thenReturn(List.of(item1, item2));
 
         // act
-        ResponseEntity<List<EngagementItemResponse>> response = controller.getWatchlist(currentUser);
+        ResponseEntity<List<EngagementItemResponse>> response = controller.getWatchlist(currentUser, null, null);
 
         // assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -88,4 +89,83 @@ class EngagementControllerTest {
         assertEquals(10L, body.get(0).movieId());
         assertEquals(20L, body.get(1).movieId());
     }
+
+    @Test
+    void getWatchlist_withLimit_returnsPageAndNextCursorHeader() {
+        // arrange
+        UUID userId = UUID.randomUUID();
+        CurrentUser currentUser = new CurrentUser(userId, "test@example.com", List.of("USER"));
+
+        var item = new EngagementItemResponse(userId, 10L, EngagementType.WATCHLIST, OffsetDateTime.now(ZoneOffset.UTC));
+        when(engagementService.getWatchlistPage(userId, null, 1))
+                .thenReturn(new WatchlistPage(List.of(item), "next-page"));
+
+        // act
+        ResponseEntity<List<EngagementItemResponse>> response = controller.getWatchlist(currentUser, 1, null);
+
+        // assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("next-page", response.getHeaders().getFirst(EngagementController.NEXT_CURSOR_HEADER));
+        assertEquals(1, response.getBody().size());
+        verify(engagementService, never()).getWatchlist(any());
+    }
+
+    @Test
+    void getWatchlist_lastPage_hasNoNextCursorHeader() {
+        // arrange
+        UUID userId = UUID.randomUUID();
+        CurrentUser currentUser = new CurrentUser(userId, "test@example.com", List.of("USER"));
+
+        when(engagementService.getWatchlistPage(userId, "abc", 50))
+                .thenReturn(new WatchlistPage(List.of(), null));
+
+        // act
+        ResponseEntity<List<EngagementItemResponse>> response = controller.getWatchlist(currentUser, 50, "abc");
+
+        // assert
+        assertFalse(response.getHeaders().containsKey(EngagementController.NEXT_CURSOR_HEADER));
+        assertTrue(response.getBody().isEmpty());
+    }
+
+    @Test
+    void watchlistMembership_returnsOkWithSubset() {
+        UUID userId = UUID.randomUUID();
+        CurrentUser currentUser = new CurrentUser(userId, "test@example.com", List.of("USER"));
+
+        when(engagementService.watchlistMembership(userId, List.of(12L, 7L, 42L))).thenReturn(List.of(12L, 42L));
+
+        ResponseEntity<List<Long>> response = controller.watchlistMembership(currentUser, List.of(12L, 7L, 42L));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(12L, 42L), response.getBody());
+    }
+    @Test
+    void addEngagement_parsesTypeFromPath_andReturnsNoContent() {
+        UUID userId = UUID.randomUUID();
+        CurrentUser currentUser = new CurrentUser(userId, "test@example.com", List.of("USER"));
+
+        ResponseEntity<Void> response = controller.addEngagement(currentUser, "like", 42L);
+
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        verify(engagementService).addEngagement(userId, 42L, EngagementType.LIKE);
+    }
+
+    @Test
+    void removeEngagement_unknownType_throwsBeforeService() {
+        CurrentUser currentUser = new CurrentUser(UUID.randomUUID(), "test@example.com", List.of("USER"));
+
+        assertThrows(IllegalArgumentException.class, () -> controller.removeEngagement(currentUser, "bogus", 42L));
+        verifyNoInteractions(engagementService);
+    }
+
+    @Test
+    void getCounts_returnsOkWithBody() {
+        var counts = List.of(new MovieEngagementCountsResponse(12L, 3, 2, 1));
+        when(engagementService.getCounts(List.of(12L))).thenReturn(counts);
+
+        var response = controller.getCounts(List.of(12L));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(counts, response.getBody());
+    }
 }
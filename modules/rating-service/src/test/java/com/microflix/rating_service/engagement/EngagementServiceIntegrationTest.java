@@ -0,0 +1,65 @@
+package com.microflix.rating_service.engagement;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pages through a real watchlist against H2 (PostgreSQL compat mode).
+ * The keyset predicate is the correctness-critical part — every row must show up
+ * exactly once, in the same order the unpaged list returns.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class EngagementServiceIntegrationTest {
+
+    @Autowired
+    private EngagementService engagementService;
+
+    @Autowired
+    private EngagementRepository engagementRepository;
+
+    @Test
+    void getWatchlistPage_walksWholeWatchlist_withoutGapsOrDuplicates() {
+        UUID userId = UUID.randomUUID();
+        for (long movieId = 1; movieId <= 5; movieId++) {
+            persistWatchlist(userId, movieId);
+        }
+        persistWatchlist(UUID.randomUUID(), 99L);   // another user's row — must not show up
+
+        List<Long> expected = engagementService.getWatchlist(userId).stream()
+                .map(EngagementItemResponse::movieId)
+                .toList();
+
+        List<Long> paged = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            WatchlistPage page = engagementService.getWatchlistPage(userId, cursor, 2);
+            page.items().forEach(item -> paged.add(item.movieId()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(5, paged.size());
+        assertEquals(expected, paged);
+    }
+
+    private void persistWatchlist(UUID userId, Long movieId) {
+        Engagement e = new Engagement();
+        e.setUserId(userId);
+        e.setMovieId(movieId);
+        e.setType(EngagementType.WATCHLIST);
+        engagementRepository.save(e);
+    }
+}
@@ -1,19 +1,25 @@
 package com.microflix.rating_service.engagement;
 
+import com.microflix.rating_service.trending.TrendingEngine;
+import com.microflix.rating_service.trending.TrendingSignal;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
 
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -26,68 +32,189 @@ class EngagementServiceTest {
     @Mock
     private EngagementRepository engagementRepository;
 
+    @Mock
+    private WatchlistMembershipCache watchlistCache;
+
+    @Mock
+    private TrendingEngine trending;
+
+    @Mock
+    private MovieEngagementCountsRepository countsRepository;
+
     @InjectMocks
     private EngagementService engagementService;
 
     @Test
-    void addToWatchlist_whenNotExisting_savesNewEngagement() {
+    void addToWatchlist_whenNotExisting_insertsAndReturnsTrue() {
         // arrange
         UUID userId = UUID.randomUUID();
         Long movieId = 42L;
 
-        // Simulate: not currently in watchlist
-        when(engagementRepository.existsByUserIdAndMovieIdAndType(
-                userId, movieId, EngagementType.WATCHLIST
-        )).thenReturn(false);
-
-        // We don't care about the exact return of save here
-        when(engagementRepository.save(any(Engagement.class)))
-                .thenAnswer(invocation -> invocation.getArgument(0));
+        // Simulate: insert went through (1 row)
+        when(engagementRepository.insertIfAbsent(
+                eq(userId), eq(movieId), eq("WATCHLIST"), any(OffsetDateTime.class)
+        )).thenReturn(1);
 
         // act
-        engagementService.addToWatchlist(userId, movieId);
+        boolean changed = engagementService.addToWatchlist(userId, movieId);
 
         // assert
-        ArgumentCaptor<Engagement> captor = ArgumentCaptor.forClass(Engagement.class);
-        verify(engagementRepository).save(captor.capture());
+        assertTrue(changed);
+
+        // Single-statement write: no exists check, no entity save
+        verify(engagementRepository, never()).existsByUserIdAndMovieIdAndType(any(), any(), any());
+        verify(engagementRepository, never()).save(any(Engagement.class));
+
+        // Write-through to the membership cache
+        verify(watchlistCache).onAdded(userId, movieId);
+        verify(trending).record(movieId, TrendingSignal.WATCHLIST_ADD);     // no transaction here, so right away
+
+        // Counter bumped in the same transaction
+        verify(countsRepository).applyDelta(movieId, 1, 0, 0);
+    }
 
-        Engagement saved = captor.getValue();
-        assertEquals(userId, saved.getUserId());
-        assertEquals(movieId, saved.getMovieId());
-        assertEquals(EngagementType.WATCHLIST, saved.getType());
-        assertNotNull(saved.getCreatedAt()); // PrePersist or default should set this
+    @Test
+    void addToWatchlist_insideTransaction_recordsTrendingOnlyAfterCommit() {
+        UUID userId = UUID.randomUUID();
+        when(engagementRepository.insertIfAbsent(eq(userId), eq(42L), eq("WATCHLIST"), any(OffsetDateTime.class)))
+                .thenReturn(1);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            engagementService.addToWatchlist(userId, 42L);
+            verifyNoInteractions(trending);                 // a rollback from here must leave trending untouched
+
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+            verify(trending).record(42L, TrendingSignal.WATCHLIST_ADD);
+        }
+        finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
     }
 
     @Test
-    void addToWatchlist_whenAlreadyExists_doesNothing() {
+    void addToWatchlist_whenAlreadyExists_returnsFalse() {
         // arrange
         UUID userId = UUID.randomUUID();
         Long movieId = 42L;
 
-        when(engagementRepository.existsByUserIdAndMovieIdAndType(
-                userId, movieId, EngagementType.WATCHLIST
-        )).thenReturn(true);
+        // Simulate: ON CONFLICT DO NOTHING hit the unique constraint (0 rows)
+        when(engagementRepository.insertIfAbsent(
+                eq(userId), eq(movieId), eq("WATCHLIST"), any(OffsetDateTime.class)
+        )).thenReturn(0);
 
         // act
-        engagementService.addToWatchlist(userId, movieId);
+        boolean changed = engagementService.addToWatchlist(userId, movieId);
 
         // assert
-        // If it already exists, we do NOT want to call save again
-        verify(engagementRepository, never()).save(any(Engagement.class));
+        assertFalse(changed);
+        verify(watchlistCache, never()).onAdded(any(), any());
+        verifyNoInteractions(countsRepository);
     }
 
     @Test
-    void removeFromWatchlist_delegatesToRepositoryDelete() {
+    void removeFromWatchlist_whenPresent_deletesAndReturnsTrue() {
         // arrange
         UUID userId = UUID.randomUUID();
         Long movieId = 42L;
 
+        when(engagementRepository.deleteOne(userId, movieId, "WATCHLIST")).thenReturn(1);
+
         // act
-        engagementService.removeFromWatchlist(userId, movieId);
+        boolean changed = engagementService.removeFromWatchlist(userId, movieId);
 
         // assert
-        verify(engagementRepository)
-                .deleteByUserIdAndMovieIdAndType(userId, movieId, EngagementType.WATCHLIST);
+        assertTrue(changed);
+        verify(engagementRepository).deleteOne(userId, movieId, "WATCHLIST");
+        verify(watchlistCache).onRemoved(userId, movieId);
+        verify(countsRepository).applyDelta(movieId, -1, 0, 0);
+    }
+
+    @Test
+    void removeFromWatchlist_whenMissing_returnsFalse() {
+        // arrange
+        UUID userId = UUID.randomUUID();
+        Long movieId = 42L;
+
+        when(engagementRepository.deleteOne(userId, movieId, "WATCHLIST")).thenReturn(0);
+
+        // act + assert
+        assertFalse(engagementService.removeFromWatchlist(userId, movieId));
+        verify(watchlistCache, never()).onRemoved(any(), any());
+    }
+
+    @Test
+    void addEngagement_like_bumpsLikeCounter_withoutWatchlistSideEffects() {
+        UUID userId = UUID.randomUUID();
+        when(engagementRepository.insertIfAbsent(eq(userId), eq(42L), eq("LIKE"), any(OffsetDateTime.class)))
+                .thenReturn(1);
+
+        assertTrue(engagementService.addEngagement(userId, 42L, EngagementType.LIKE));
+
+        verify(countsRepository).applyDelta(42L, 0, 0, 1);
+        verifyNoInteractions(watchlistCache, trending);
+    }
+
+    @Test
+    void removeEngagement_favourite_decrementsFavouriteCounter() {
+        UUID userId = UUID.randomUUID();
+        when(engagementRepository.deleteOne(userId, 42L, "FAVOURITE")).thenReturn(1);
+
+        assertTrue(engagementService.removeEngagement(userId, 42L, EngagementType.FAVOURITE));
+
+        verify(countsRepository).applyDelta(42L, 0, -1, 0);
+        verifyNoInteractions(watchlistCache);
+    }
+
+    @Test
+    void getCounts_keepsInputOrder_dedupes_andZeroFillsUnknownMovies() {
+        when(countsRepository.findAllById(List.of(7L, 12L, 99L)))
+                .thenReturn(List.of(new MovieEngagementCounts(12L, 3, 2, 1), new MovieEngagementCounts(7L, 0, 0, 5)));
+
+        var result = engagementService.getCounts(List.of(7L, 12L, 7L, 99L));
+
+        assertEquals(List.of(
+                new MovieEngagementCountsResponse(7L, 0, 0, 5),
+                new MovieEngagementCountsResponse(12L, 3, 2, 1),
+                new MovieEngagementCountsResponse(99L, 0, 0, 0)
+        ), result);
+    }
+
+    @Test
+    void getCounts_tooManyIds_throws() {
+        List<Long> ids = java.util.stream.LongStream.rangeClosed(1, EngagementService.MAX_COUNTS_BATCH_SIZE + 1)
+                .boxed()
+                .toList();
+
+        assertThrows(IllegalArgumentException.class, () -> engagementService.getCounts(ids));
+        verifyNoInteractions(countsRepository);
+    }
+
+    @Test
+    void engagementType_fromPath_isCaseInsensitive_andRejectsUnknown() {
+        assertEquals(EngagementType.FAVOURITE, EngagementType.fromPath("favourite"));
+        assertEquals(EngagementType.LIKE, EngagementType.fromPath("LIKE"));
+        assertThrows(IllegalArgumentException.class, () -> EngagementType.fromPath("counts"));
+    }
+
+    @Test
+    void inWatchlist_isAnsweredByCache_withoutRepository() {
+        UUID userId = UUID.randomUUID();
+        when(watchlistCache.contains(userId, 42L)).thenReturn(true);
+
+        assertTrue(engagementService.inWatchlist(42L, userId));
+        verifyNoInteractions(engagementRepository);
+    }
+
+    @Test
+    void watchlistMembership_tooManyIds_throws() {
+        UUID userId = UUID.randomUUID();
+        List<Long> ids = java.util.stream.LongStream.rangeClosed(1, EngagementService.MAX_MEMBERSHIP_BATCH_SIZE + 1)
+                .boxed()
+                .toList();
+
+        assertThrows(IllegalArgumentException.class, () -> engagementService.watchlistMembership(userId, ids));
+        verifyNoInteractions(watchlistCache);
     }
 
     @Test
@@ -110,7 +237,7 @@ class EngagementServiceTest {
         e2.setType(EngagementType.WATCHLIST);
         e2.setCreatedAt(now);
 
-        when(engagementRepository.findByUserIdAndTypeOrderByCreatedAtDesc(
+        when(engagementRepository.findByUserIdAndTypeOrderByCreatedAtDescIdDesc(
                 userId, EngagementType.WATCHLIST
         )).thenReturn(List.of(e2, e1)); // most recent first
 
@@ -133,4 +260,80 @@ class EngagementServiceTest {
         assertEquals(EngagementType.WATCHLIST, second.type());
         assertEquals(e1.getCreatedAt(), second.addedAt());
     }
+
+    @Test
+    void getWatchlistPage_firstPage_withMoreRows_returnsLimitItemsAndCursor() {
+        // arrange
+        UUID userId = UUID.randomUUID();
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MICROS);
+
+        var e1 = watchlistRow(3L, 30L, now);
+        var e2 = watchlistRow(2L, 20L, now.minusMinutes(1));
+        var e3 = watchlistRow(1L, 10L, now.minusMinutes(2));   // the limit+1 probe row
+
+        when(engagementRepository.findFirstPage(
+                userId, EngagementType.WATCHLIST, Limit.of(3)
+        )).thenReturn(List.of(e1, e2, e3));
+
+        // act
+        WatchlistPage page = engagementService.getWatchlistPage(userId, null, 2);
+
+        // assert
+        assertEquals(List.of(30L, 20L), page.items().stream().map(EngagementItemResponse::movieId).toList());
+        assertNotNull(page.nextCursor());
+
+        // cursor points at the last row returned, not the probe row
+        WatchlistCursor cursor = WatchlistCursor.decode(page.nextCursor());
+        assertEquals(2L, cursor.id());
+        assertEquals(e2.getCreatedAt().toInstant(), cursor.createdAt().toInstant());
+    }
+
+    @Test
+    void getWatchlistPage_withCursor_queriesAfterCursor_andLastPageHasNoCursor() {
+        // arrange
+        UUID userId = UUID.randomUUID();
+        OffsetDateTime at = OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MICROS);
+        String cursor = new WatchlistCursor(at, 7L).encode();
+
+        var older = watchlistRow(6L, 60L, at.minusSeconds(5));
+
+        when(engagementRepository.findPageAfter(
+                eq(userId), eq(EngagementType.WATCHLIST), any(OffsetDateTime.class), eq(7L), eq(Limit.of(3))
+        )).thenReturn(List.of(older));
+
+        // act
+        WatchlistPage page = engagementService.getWatchlistPage(userId, cursor, 2);
+
+        // assert
+        assertEquals(1, page.items().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void getWatchlistPage_invalidLimitOrCursor_throwsIllegalArgumentException() {
+        UUID userId = UUID.randomUUID();
+
+        assertThrows(IllegalArgumentException.class, () -> engagementService.getWatchlistPage(userId, null, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> engagementService.getWatchlistPage(userId, null, EngagementService.MAX_PAGE_SIZE + 1));
+        assertThrows(IllegalArgumentException.class, () -> engagementService.getWatchlistPage(userId, "not-a-cursor", 10));
+    }
+
+    @Test
+    void watchlistCursor_roundTripsAtMicrosecondPrecision() {
+        OffsetDateTime at = OffsetDateTime.of(2026, 4, 1, 10, 0, 0, 123_456_000, ZoneOffset.UTC);
+
+        WatchlistCursor decoded = WatchlistCursor.decode(new WatchlistCursor(at, 42L).encode());
+
+        assertEquals(at, decoded.createdAt());
+        assertEquals(42L, decoded.id());
+    }
+
+    private static EngagementRepository.WatchlistRow watchlistRow(Long id, Long movieId, OffsetDateTime createdAt) {
+        return new EngagementRepository.WatchlistRow() {
+            public Long getId() { return id; }
+            public Long getMovieId() { return movieId; }
+            public OffsetDateTime getCreatedAt() { return createdAt; }
+        };
+    }
 }
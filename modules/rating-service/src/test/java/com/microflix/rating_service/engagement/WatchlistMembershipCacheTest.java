@@ -0,0 +1,101 @@
+package com.microflix.rating_service.engagement;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for WatchlistMembershipCache.
+ * Repository is mocked so we can count loads; no Spring transaction is active,
+ * so write-through updates apply immediately.
+ */
+@ExtendWith(MockitoExtension.class)
+class WatchlistMembershipCacheTest {
+
+    @Mock
+    private EngagementRepository engagementRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private WatchlistMembershipCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new WatchlistMembershipCache(engagementRepository, meterRegistry, 1_000_000L, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void contains_loadsOncePerUser_thenServesFromMemory() {
+        UUID userId = UUID.randomUUID();
+        when(engagementRepository.findMovieIdsByUserIdAndType(userId, EngagementType.WATCHLIST))
+                .thenReturn(List.of(30L, 10L, 20L));        // unsorted on purpose
+
+        assertTrue(cache.contains(userId, 10L));
+        assertTrue(cache.contains(userId, 30L));
+        assertFalse(cache.contains(userId, 15L));
+
+        verify(engagementRepository, times(1)).findMovieIdsByUserIdAndType(userId, EngagementType.WATCHLIST);
+        assertEquals(2.0 / 3.0, meterRegistry.get("watchlist.membership.cache.hit.ratio").gauge().value(), 1e-9);
+        assertTrue(meterRegistry.get("watchlist.membership.cache.bytes").gauge().value() > 0);
+    }
+
+    @Test
+    void onAddedAndOnRemoved_updateCachedUser() {
+        UUID userId = UUID.randomUUID();
+        when(engagementRepository.findMovieIdsByUserIdAndType(userId, EngagementType.WATCHLIST))
+                .thenReturn(List.of(10L));
+
+        assertFalse(cache.contains(userId, 5L));           // loads [10]
+
+        cache.onAdded(userId, 5L);
+        cache.onRemoved(userId, 10L);
+
+        assertTrue(cache.contains(userId, 5L));
+        assertFalse(cache.contains(userId, 10L));
+        verify(engagementRepository, times(1)).findMovieIdsByUserIdAndType(userId, EngagementType.WATCHLIST);
+    }
+
+    @Test
+    void onAdded_forUncachedUser_doesNotLoad() {
+        UUID userId = UUID.randomUUID();
+
+        cache.onAdded(userId, 5L);
+
+        verifyNoInteractions(engagementRepository);
+    }
+
+    @Test
+    void retainOnWatchlist_keepsInputOrder() {
+        UUID userId = UUID.randomUUID();
+        when(engagementRepository.findMovieIdsByUserIdAndType(userId, EngagementType.WATCHLIST))
+                .thenReturn(List.of(7L, 42L, 12L));
+
+        assertEquals(List.of(42L, 12L), cache.retainOnWatchlist(userId, List.of(42L, 3L, 12L)));
+    }
+
+    @Test
+    void insertAndRemove_keepArraySorted() {
+        long[] list = {};
+        list = WatchlistMembershipCache.insert(list, 20);
+        list = WatchlistMembershipCache.insert(list, 5);
+        list = WatchlistMembershipCache.insert(list, 12);
+        list = WatchlistMembershipCache.insert(list, 12);   // duplicate is a no-op
+
+        assertArrayEquals(new long[]{5, 12, 20}, list);
+
+        list = WatchlistMembershipCache.remove(list, 12);
+        list = WatchlistMembershipCache.remove(list, 99);   // missing is a no-op
+
+        assertArrayEquals(new long[]{5, 20}, list);
+    }
+}
@@ -0,0 +1,171 @@
+package com.microflix.rating_service.importer;
+
+import com.microflix.rating_service.leaderboard.RatingLeaderboard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.PSQLState;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RatingImportService's chunking and transaction handling.
+ * JDBC and the COPY API are mocked; each COPY's bytes are captured per chunk.
+ * The SQL itself needs real Postgres (COPY, ON CONFLICT) and isn't runnable on H2.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class RatingImportServiceTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private PGConnection pgConnection;
+
+    @Mock
+    private CopyManager copyManager;
+
+    @Mock
+    private RatingLeaderboard leaderboard;
+
+    private final List<ByteArrayOutputStream> chunks = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getAutoCommit()).thenReturn(true);
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+        when(copyManager.copyIn(RatingImportService.COPY_SQL)).thenAnswer(inv -> capturingCopy());
+        when(statement.executeUpdate(RatingImportService.MERGE_SQL)).thenReturn(2);
+    }
+
+    @Test
+    void importMovieLensCsv_skipsHeader_copiesInChunks_commitsEach_andRebuildsLeaderboard() throws Exception {
+        var service = new RatingImportService(dataSource, leaderboard, 2);
+        String csv = """
+                userId,movieId,rating,timestamp
+                1,10,4.5,1500000000
+                1,20,3.0,1500000001
+
+                2,10,5.0,1500000002
+                """;
+
+        var report = service.importMovieLensCsv(stream(csv));
+
+        assertEquals(3, report.rowsRead());
+        assertEquals(2, report.chunks());
+        assertEquals(4, report.rowsMerged());
+
+        assertEquals(List.of("1,10,4.5,1500000000\n1,20,3.0,1500000001\n", "2,10,5.0,1500000002\n"),
+                chunks.stream().map(b -> b.toString(StandardCharsets.UTF_8)).toList());
+
+        var inOrder = inOrder(statement, connection, leaderboard);
+        inOrder.verify(statement).execute(RatingImportService.CREATE_STAGING_SQL);
+        inOrder.verify(connection).commit();
+        inOrder.verify(statement).executeUpdate(RatingImportService.MERGE_SQL);
+        inOrder.verify(connection).commit();
+        inOrder.verify(statement).executeUpdate(RatingImportService.MERGE_SQL);
+        inOrder.verify(connection).commit();
+        inOrder.verify(statement).execute("analyze ratings");
+        inOrder.verify(leaderboard).rebuild();
+
+        verify(connection).setAutoCommit(true);     // pooled connection handed back as we found it
+    }
+
+    @Test
+    void importMovieLensCsv_withoutHeader_importsFirstLine() throws Exception {
+        var service = new RatingImportService(dataSource, leaderboard, 100);
+
+        var report = service.importMovieLensCsv(stream("7,70,2.5,1500000000\n"));
+
+        assertEquals(1, report.rowsRead());
+        assertEquals("7,70,2.5,1500000000\n", chunks.get(0).toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void importMovieLensCsv_rejectedData_isIllegalArgument_andRollsBack() throws Exception {
+        when(copyManager.copyIn(RatingImportService.COPY_SQL)).thenAnswer(inv -> {
+            CopyIn copy = mock(CopyIn.class);
+            when(copy.isActive()).thenReturn(true);
+            doThrow(new PSQLException("invalid input syntax for type bigint: \"x\"", PSQLState.DATA_ERROR))
+                    .when(copy).endCopy();
+            return copy;
+        });
+        var service = new RatingImportService(dataSource, leaderboard, 100);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.importMovieLensCsv(stream("1,x,3.0,1500000000\n")));
+
+        verify(connection).rollback();
+        verify(statement, never()).executeUpdate(anyString());
+        verifyNoInteractions(leaderboard);
+    }
+
+    @Test
+    void importMovieLensCsv_laterChunkFails_stillRebuildsLeaderboardForCommittedChunks() throws Exception {
+        when(copyManager.copyIn(RatingImportService.COPY_SQL))
+                .thenAnswer(inv -> capturingCopy())
+                .thenAnswer(inv -> {
+                    CopyIn copy = mock(CopyIn.class);
+                    when(copy.isActive()).thenReturn(true);
+                    doThrow(new PSQLException("connection reset", PSQLState.CONNECTION_FAILURE))
+                            .when(copy).endCopy();
+                    return copy;
+                });
+        var service = new RatingImportService(dataSource, leaderboard, 1);
+
+        assertThrows(IOException.class,
+                () -> service.importMovieLensCsv(stream("1,10,4.5,1500000000\n2,20,3.0,1500000001\n")));
+
+        verify(connection, times(2)).commit();      // staging table, then chunk 1
+        verify(connection).rollback();
+        verify(leaderboard).rebuild();
+    }
+
+    private CopyIn capturingCopy() throws SQLException {
+        var bytes = new ByteArrayOutputStream();
+        chunks.add(bytes);
+
+        CopyIn copy = mock(CopyIn.class);
+        when(copy.isActive()).thenReturn(true, false);      // active until endCopy
+        doAnswer(inv -> {
+            bytes.write(inv.getArgument(0), inv.getArgument(1), inv.getArgument(2));
+            return null;
+        }).when(copy).writeToCopy(any(byte[].class), anyInt(), anyInt());
+        return copy;
+    }
+
+    private static ByteArrayInputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,38 @@
+package com.microflix.rating_service.leaderboard;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LeaderboardServiceTest {
+
+    @Mock
+    private RatingLeaderboard leaderboard;
+
+    @InjectMocks
+    private LeaderboardService leaderboardService;
+
+    @Test
+    void getTopRated_readsPageFromLeaderboard() {
+        var row = new TopRatedMovieResponse(1, 42L, 8.7, 9.0, 120);
+        when(leaderboard.page(0, 20)).thenReturn(List.of(row));
+
+        assertEquals(List.of(row), leaderboardService.getTopRated(20, 0));
+    }
+
+    @Test
+    void getTopRated_invalidPaging_throws() {
+        assertThrows(IllegalArgumentException.class, () -> leaderboardService.getTopRated(0, 0));
+        assertThrows(IllegalArgumentException.class, () -> leaderboardService.getTopRated(LeaderboardService.MAX_LIMIT + 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> leaderboardService.getTopRated(20, -1));
+        verifyNoInteractions(leaderboard);
+    }
+}
@@ -0,0 +1,133 @@
+package com.microflix.rating_service.leaderboard;
+
+import com.microflix.rating_service.rating.RatingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RatingLeaderboard.
+ * Repository is mocked to feed the startup rebuild; everything after that is in memory.
+ */
+@ExtendWith(MockitoExtension.class)
+class RatingLeaderboardTest {
+
+    @Mock
+    private RatingRepository ratingRepository;
+
+    private RatingLeaderboard leaderboard;
+
+    @BeforeEach
+    void setUp() {
+        leaderboard = new RatingLeaderboard(ratingRepository, 10);
+    }
+
+    @Test
+    void rebuild_ranksByBayesianScore_notPlainAverage() {
+        // movie 1: two perfect 10s; movie 2: two hundred 9s; movie 3: fifty 5s
+        when(ratingRepository.findTotalsPerMovie()).thenReturn(List.of(
+                totals(1L, 2 * 100, 2),
+                totals(2L, 200 * 90, 200),
+                totals(3L, 50 * 50, 50)
+        ));
+
+        leaderboard.rebuild();
+
+        var top = leaderboard.page(0, 10);
+
+        assertEquals(List.of(2L, 1L, 3L), top.stream().map(TopRatedMovieResponse::movieId).toList());
+        assertEquals(List.of(1, 2, 3), top.stream().map(TopRatedMovieResponse::rank).toList());
+        assertEquals(10.0, top.get(1).average(), 0.0001);
+        assertTrue(top.get(1).score() < 10.0, "few votes are pulled toward the global mean");
+    }
+
+    @Test
+    void writes_updateRankingIncrementally() {
+        when(ratingRepository.findTotalsPerMovie()).thenReturn(List.of(
+                totals(1L, 70 * 20, 20),
+                totals(2L, 80 * 20, 20)
+        ));
+        leaderboard.rebuild();
+        assertEquals(2L, leaderboard.page(0, 1).get(0).movieId());
+
+        // twenty new 10s for movie 1 push it past movie 2
+        for (int i = 0; i < 20; i++) {
+            leaderboard.onRatingSaved(1L, null, 100);
+        }
+        assertEquals(1L, leaderboard.page(0, 1).get(0).movieId());
+        assertEquals(40, leaderboard.page(0, 1).get(0).count());
+
+        // changing and deleting ratings adjusts sum/count without touching the DB again
+        leaderboard.onRatingSaved(2L, 80, 10);
+        leaderboard.onRatingDeleted(2L, 80);
+        var second = leaderboard.page(1, 1).get(0);
+        assertEquals(2L, second.movieId());
+        assertEquals(19, second.count());
+
+        verify(ratingRepository, times(1)).findTotalsPerMovie();
+    }
+
+    @Test
+    void deletingLastRating_dropsMovieFromLeaderboard() {
+        when(ratingRepository.findTotalsPerMovie()).thenReturn(List.of(totals(1L, 80, 1)));
+        leaderboard.rebuild();
+
+        leaderboard.onRatingDeleted(1L, 80);
+
+        assertEquals(0, leaderboard.size());
+        assertTrue(leaderboard.page(0, 10).isEmpty());
+    }
+
+    @Test
+    void writesInsideTransaction_applyOnlyAfterCommit() {
+        when(ratingRepository.findTotalsPerMovie()).thenReturn(List.of(totals(1L, 80, 1)));
+        leaderboard.rebuild();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            leaderboard.onRatingSaved(1L, null, 100);
+            assertEquals(1, leaderboard.page(0, 1).get(0).count());        // not visible before commit
+
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+            assertEquals(2, leaderboard.page(0, 1).get(0).count());
+        }
+        finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // rolled back: the synchronization is dropped without running
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            leaderboard.onRatingDeleted(1L, 80);
+        }
+        finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(2, leaderboard.page(0, 1).get(0).count());
+    }
+
+    @Test
+    void page_offsetBeyondEnd_returnsEmpty() {
+        when(ratingRepository.findTotalsPerMovie()).thenReturn(List.of(totals(1L, 80, 1)));
+        leaderboard.rebuild();
+
+        assertTrue(leaderboard.page(5, 10).isEmpty());
+    }
+
+    private static RatingRepository.MovieRatingTotalsProjection totals(Long movieId, long sumTimesTen, long count) {
+        return new RatingRepository.MovieRatingTotalsProjection() {
+            public Long getMovieId() { return movieId; }
+            public Long getSumTimesTen() { return sumTimesTen; }
+            public Long getCount() { return count; }
+        };
+    }
+}
@@ -0,0 +1,45 @@
+package com.microflix.rating_service.neighbours;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AlsoLikedServiceTest {
+
+    @Mock
+    private MovieNeighbourRepository neighbourRepository;
+
+    @InjectMocks
+    private AlsoLikedService alsoLikedService;
+
+    @Test
+    void getAlsoLiked_mapsNeighboursInRankOrder() {
+        var now = OffsetDateTime.now();
+        when(neighbourRepository.findByMovieIdOrderByNeighbourRankAsc(10L, Limit.of(2))).thenReturn(List.of(
+                new MovieNeighbour(10L, (short) 1, 42L, 0.9f, now),
+                new MovieNeighbour(10L, (short) 2, 7L, 0.5f, now)
+        ));
+
+        var result = alsoLikedService.getAlsoLiked(10L, 2);
+
+        assertEquals(List.of(42L, 7L), result.stream().map(AlsoLikedResponse::movieId).toList());
+        assertEquals(0.9, result.get(0).similarity(), 1e-6);
+    }
+
+    @Test
+    void getAlsoLiked_invalidLimit_throws() {
+        assertThrows(IllegalArgumentException.class, () -> alsoLikedService.getAlsoLiked(10L, 0));
+        assertThrows(IllegalArgumentException.class, () -> alsoLikedService.getAlsoLiked(10L, AlsoLikedService.MAX_LIMIT + 1));
+        verifyNoInteractions(neighbourRepository);
+    }
+}
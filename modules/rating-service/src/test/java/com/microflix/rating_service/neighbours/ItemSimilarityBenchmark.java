@@ -0,0 +1,82 @@
+package com.microflix.rating_service.neighbours;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sizing run for ItemSimilarityJob's in-memory part (matrix build + top-K) at 1M ratings.
+ * DB read and write are excluded — they scale with rows, not with the algorithm.
+ *
+ * Synthetic data: 50k users × 10k movies, movie popularity skewed (a few blockbusters,
+ * a long tail), ~20 ratings per user, values 1–10.
+ *
+ * Run (from modules/rating-service), with -prof gc for allocation:
+ *   mvn -q test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main ItemSimilarityBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class ItemSimilarityBenchmark {
+
+    private static final int USERS = 50_000;
+    private static final int MOVIES = 10_000;
+    private static final int RATINGS = 1_000_000;
+
+    private UUID[] userIds;
+    private int[] users;
+    private long[] movies;
+    private float[] values;
+
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var random = new Random(7);
+        userIds = new UUID[USERS];
+        for (int u = 0; u < USERS; u++) {
+            userIds[u] = new UUID(random.nextLong(), random.nextLong());
+        }
+
+        // Unique (user, movie) pairs, popularity ~ 1/rank
+        var seen = new java.util.HashSet<Long>(RATINGS * 2);
+        users = new int[RATINGS];
+        movies = new long[RATINGS];
+        values = new float[RATINGS];
+        int n = 0;
+        while (n < RATINGS) {
+            int u = random.nextInt(USERS);
+            long m = 1 + (long) Math.min(MOVIES - 1, Math.floor(Math.pow(MOVIES, random.nextDouble())) - 1);
+            if (seen.add(u * (long) MOVIES + m)) {
+                users[n] = u;
+                movies[n] = m;
+                values[n] = 1 + random.nextInt(10);
+                n++;
+            }
+        }
+
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public Object buildAndCompute() {
+        var builder = new RatingMatrix.Builder();
+        for (int i = 0; i < RATINGS; i++) {
+            builder.add(userIds[users[i]], movies[i], values[i]);
+        }
+        RatingMatrix matrix = builder.build();
+        return ItemSimilarity.compute(matrix, 50, 3, pool);
+    }
+}
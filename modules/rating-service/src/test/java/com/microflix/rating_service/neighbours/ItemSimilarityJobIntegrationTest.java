@@ -0,0 +1,67 @@
+package com.microflix.rating_service.neighbours;
+
+import com.microflix.rating_service.rating.Rating;
+import com.microflix.rating_service.rating.RatingRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the similarity job end to end against H2: streaming read of ratings,
+ * batch insert into movie_neighbours, and the indexed read behind also-liked.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ItemSimilarityJobIntegrationTest {
+
+    @Autowired
+    private ItemSimilarityJob job;
+
+    @Autowired
+    private AlsoLikedService alsoLikedService;
+
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    @Test
+    void run_writesNeighbours_readableThroughAlsoLiked() {
+        // Two taste groups: movies 1 and 2 go together, 3 is the odd one out
+        rate(UUID.randomUUID(), 90, 90, 30);
+        rate(UUID.randomUUID(), 80, 90, 40);
+        rate(UUID.randomUUID(), 40, 30, 90);
+        rate(UUID.randomUUID(), 30, 40, 80);
+
+        var report = job.run().orElseThrow();
+
+        assertEquals(12, report.ratings());
+        assertEquals(4, report.users());
+        assertEquals(3, report.movies());
+        assertEquals(2, report.neighbourRows());       // 1 → 2 and 2 → 1
+
+        List<AlsoLikedResponse> alsoLiked = alsoLikedService.getAlsoLiked(1L, 10);
+        assertEquals(List.of(2L), alsoLiked.stream().map(AlsoLikedResponse::movieId).toList());
+        assertTrue(alsoLikedService.getAlsoLiked(3L, 10).isEmpty());
+    }
+
+    private void rate(UUID userId, int m1, int m2, int m3) {
+        save(userId, 1L, m1);
+        save(userId, 2L, m2);
+        save(userId, 3L, m3);
+    }
+
+    private void save(UUID userId, Long movieId, int ratingTimesTen) {
+        Rating r = new Rating();
+        r.setUserId(userId);
+        r.setMovieId(movieId);
+        r.setRatingTimesTen(ratingTimesTen);
+        ratingRepository.save(r);
+    }
+}
@@ -0,0 +1,98 @@
+package com.microflix.rating_service.neighbours;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RatingMatrix + ItemSimilarity on a tiny hand-checked matrix.
+ *
+ * Two taste groups: u1/u2 love movies 1 and 2 and dislike 3; u3/u4 the opposite.
+ * After centring, 1 ~ 2 (positive cosine) and both are negatively correlated with 3.
+ */
+class ItemSimilarityTest {
+
+    private static final UUID U1 = UUID.randomUUID();
+    private static final UUID U2 = UUID.randomUUID();
+    private static final UUID U3 = UUID.randomUUID();
+    private static final UUID U4 = UUID.randomUUID();
+
+    @Test
+    void buildsBothCsrLayouts() {
+        RatingMatrix matrix = sample();
+
+        assertEquals(4, matrix.userCount);
+        assertEquals(3, matrix.movieCount());
+        assertEquals(12, matrix.ratingCount());
+        assertArrayEquals(new long[]{1L, 2L, 3L}, matrix.movieIds);
+        assertArrayEquals(new int[]{0, 4, 8, 12}, matrix.movieRowStart);
+        assertArrayEquals(new int[]{0, 3, 6, 9, 12}, matrix.userRowStart);
+        assertTrue(matrix.sizeInBytes() > 0);
+    }
+
+    @Test
+    void similarMoviesAreNeighbours_negativeOnesAreDropped() {
+        RatingMatrix matrix = sample();
+
+        var result = ItemSimilarity.compute(matrix, 2, 3, new ForkJoinPool(2));
+
+        // movie 1 (index 0): only movie 2 is positively similar
+        assertEquals(1, result.neighbours()[0]);
+        assertTrue(result.similarities()[0] > 0.8f);
+        assertEquals(-1, result.neighbours()[1]);
+
+        // movie 3 (index 2): nothing positive
+        assertEquals(-1, result.neighbours()[4]);
+    }
+
+    @Test
+    void tooFewCoRaters_noNeighbours() {
+        RatingMatrix matrix = sample();
+
+        var result = ItemSimilarity.compute(matrix, 2, 5, new ForkJoinPool(2));
+
+        for (int neighbour : result.neighbours()) {
+            assertEquals(-1, neighbour);
+        }
+    }
+
+    @Test
+    void largerMatrix_parallelResultMatchesSingleThreaded() {
+        var builder = new RatingMatrix.Builder();
+        var random = new java.util.Random(42);
+        UUID[] users = new UUID[200];
+        for (int u = 0; u < users.length; u++) {
+            users[u] = UUID.randomUUID();
+            for (long m = 1; m <= 300; m++) {
+                if (random.nextInt(10) == 0) {
+                    builder.add(users[u], m, 1 + random.nextInt(10));
+                }
+            }
+        }
+        RatingMatrix matrix = builder.build();
+
+        var serial = ItemSimilarity.compute(matrix, 10, 2, new ForkJoinPool(1));
+        var parallel = ItemSimilarity.compute(matrix, 10, 2, new ForkJoinPool(4));
+
+        assertArrayEquals(serial.neighbours(), parallel.neighbours());
+        assertArrayEquals(serial.similarities(), parallel.similarities());
+    }
+
+    private static RatingMatrix sample() {
+        var builder = new RatingMatrix.Builder();
+        add(builder, U1, 9, 9, 3);
+        add(builder, U2, 8, 9, 4);
+        add(builder, U3, 4, 3, 9);
+        add(builder, U4, 3, 4, 8);
+        return builder.build();
+    }
+
+    private static void add(RatingMatrix.Builder builder, UUID user, float m1, float m2, float m3) {
+        builder.add(user, 1L, m1);
+        builder.add(user, 2L, m2);
+        builder.add(user, 3L, m3);
+    }
+}
@@ -1,21 +1,27 @@
 package com.microflix.rating_service.rating;
 
 import com.microflix.rating_service.common.errors.RatingNotFoundException;
+import com.microflix.rating_service.leaderboard.RatingLeaderboard;
 import com.microflix.rating_service.rating.dto.CreateRating;
 import com.microflix.rating_service.rating.dto.RatingResponse;
 import com.microflix.rating_service.rating.dto.UpdateRating;
+import com.microflix.rating_service.trending.TrendingEngine;
+import com.microflix.rating_service.trending.TrendingSignal;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
 
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -27,6 +33,12 @@ class RatingServiceTest {
     @Mock
     RatingRepository ratings;          // fake repository, so we control DB behavior
 
+    @Mock
+    RatingLeaderboard leaderboard;     // in-memory ranking, only verified here
+
+    @Mock
+    TrendingEngine trending;           // in-memory trending scores, only verified here
+
     @InjectMocks
     RatingService ratingService;       // class under test
 
@@ -40,7 +52,7 @@ class RatingServiceTest {
         // DTO no longer carries userId; only movieId + rate
         var request = new CreateRating(movieId, score);
 
-        when(ratings.findByUserIdAndMovieId(userId, movieId))
+        when(ratings.findForUpdate(userId, movieId))
                 .thenReturn(Optional.empty());   // no existing rating for this pair
 
         OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
@@ -78,6 +90,39 @@ class RatingServiceTest {
         assertEquals(userId, saved.getUserId());
         assertEquals(movieId, saved.getMovieId());
         assertEquals(81, saved.getRatingTimesTen());    // 8.1 * 10 => 81
+
+        // new rating → leaderboard sees it with no previous value
+        verify(leaderboard).onRatingSaved(movieId, null, 81);
+    }
+
+    @Test
+    void createRating_newRating_recordsTrendingOnlyAfterCommit() {
+        UUID userId = UUID.randomUUID();
+        Long movieId = 10L;
+        when(ratings.findForUpdate(userId, movieId)).thenReturn(Optional.empty());
+        when(ratings.save(any(Rating.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            ratingService.createRating(userId, new CreateRating(movieId, 8.1));
+            verifyNoInteractions(trending);                 // still inside the write transaction
+
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+            verify(trending).record(movieId, TrendingSignal.RATING);
+        }
+        finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // rolled back: the synchronization is dropped without running
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            ratingService.createRating(userId, new CreateRating(movieId, 6.0));
+        }
+        finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        verifyNoMoreInteractions(trending);
     }
 
     @Test
@@ -94,7 +139,7 @@ class RatingServiceTest {
         existing.setCreatedAt(OffsetDateTime.now(ZoneOffset.UTC));
         existing.setUpdatedAt(existing.getCreatedAt());
 
-        when(ratings.findByUserIdAndMovieId(userId, movieId))
+        when(ratings.findForUpdate(userId, movieId))
                 .thenReturn(Optional.of(existing));      // rating already exists
 
         when(ratings.save(any(Rating.class))).thenAnswer(invocation -> invocation.getArgument(0));
@@ -114,6 +159,10 @@ class RatingServiceTest {
         Rating saved = captor.getValue();
 
         assertEquals(95, saved.getRatingTimesTen());    // 9.5 * 10 => 95
+
+        // changed rating → leaderboard gets old and new values
+        verify(leaderboard).onRatingSaved(movieId, 70, 95);
+        verifyNoInteractions(trending);                 // re-rating isn't new activity
     }
 
     @Test
@@ -141,7 +190,7 @@ class RatingServiceTest {
         existing.setMovieId(movieId);
         existing.setRatingTimesTen(80);                 // 8.0
 
-        when(ratings.findByUserIdAndMovieId(userId, movieId))
+        when(ratings.findForUpdate(userId, movieId))
                 .thenReturn(Optional.of(existing));
 
         when(ratings.save(any(Rating.class))).thenAnswer(invocation -> invocation.getArgument(0));
@@ -171,7 +220,7 @@ class RatingServiceTest {
 
         var request = new UpdateRating(movieId, 8.0);
 
-        when(ratings.findByUserIdAndMovieId(userId, movieId))
+        when(ratings.findForUpdate(userId, movieId))
                 .thenReturn(Optional.empty());
 
         // act + assert
@@ -278,4 +327,38 @@ class RatingServiceTest {
         assertNull(summary.average());
         assertEquals(0L, summary.count());
     }
+
+    @Test
+    void getMovieRatingSummaries_returnsDistinctIdsInInputOrder_zeroFillingUnrated() {
+        RatingRepository.RatingSummaryProjection rated =
+                new RatingRepository.RatingSummaryProjection() {
+                    @Override
+                    public Long getMovieId() { return 7L; }
+                    @Override
+                    public Double getAverageTimesTen() { return 72.5; }
+                    @Override
+                    public Long getCount() { return 2L; }
+                };
+
+        when(ratings.findSummariesByMovieIdIn(List.of(12L, 7L)))
+                .thenReturn(List.of(rated));
+
+        var summaries = ratingService.getMovieRatingSummaries(List.of(12L, 7L, 12L));
+
+        assertEquals(List.of(12L, 7L), summaries.stream().map(summary -> summary.movieId()).toList());
+        assertNull(summaries.get(0).average());
+        assertEquals(0L, summaries.get(0).count());
+        assertEquals(7.25, summaries.get(1).average(), 0.0001);
+        assertEquals(2L, summaries.get(1).count());
+    }
+
+    @Test
+    void getMovieRatingSummaries_overCap_throws() {
+        List<Long> ids = LongStream.rangeClosed(1, RatingService.MAX_SUMMARY_BATCH_SIZE + 1)
+                .boxed()
+                .toList();
+
+        assertThrows(IllegalArgumentException.class, () -> ratingService.getMovieRatingSummaries(ids));
+        verifyNoInteractions(ratings);
+    }
 }
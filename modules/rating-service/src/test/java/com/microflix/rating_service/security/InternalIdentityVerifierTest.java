@@ -0,0 +1,137 @@
+package com.microflix.rating_service.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the gateway identity header check, and how JwtAuthFilter uses it.
+ * Headers are built here with the same format the gateway's InternalIdentitySigner emits.
+ */
+class InternalIdentityVerifierTest {
+
+    static final String SECRET = "test-identity-secret";
+
+    private final InternalIdentityVerifier verifier = new InternalIdentityVerifier(true, SECRET);
+
+    @Test
+    void verify_validHeader_mapsUser() {
+        UUID userId = UUID.randomUUID();
+
+        CurrentUser user = verifier.verify(header(SECRET, userId, "USER,ADMIN", Instant.now().plusSeconds(60)));
+
+        assertEquals(new CurrentUser(userId, "a@example.com", List.of("USER", "ADMIN")), user);
+    }
+
+    @Test
+    void verify_wrongSecret_throws() {
+        String forged = header("other-secret", UUID.randomUUID(), "ADMIN", Instant.now().plusSeconds(60));
+
+        assertThrows(IllegalArgumentException.class, () -> verifier.verify(forged));
+    }
+
+    @Test
+    void verify_tamperedPayload_throws() {
+        String valid = header(SECRET, UUID.randomUUID(), "USER", Instant.now().plusSeconds(60));
+        String other = header(SECRET, UUID.randomUUID(), "ADMIN", Instant.now().plusSeconds(60));
+
+        // Payload of one header with the signature of another
+        String spliced = other.substring(0, other.lastIndexOf('.')) + valid.substring(valid.lastIndexOf('.'));
+
+        assertThrows(IllegalArgumentException.class, () -> verifier.verify(spliced));
+    }
+
+    @Test
+    void verify_expiredOrMalformed_throws() {
+        String expired = header(SECRET, UUID.randomUUID(), "USER", Instant.now().minusSeconds(5));
+
+        assertThrows(IllegalArgumentException.class, () -> verifier.verify(expired));
+        assertThrows(IllegalArgumentException.class, () -> verifier.verify("not-a-header"));
+    }
+
+    @Test
+    void trustedMode_withoutPrivateSecret_failsAtStartup() {
+        assertThrows(IllegalStateException.class, () -> new InternalIdentityVerifier(true, ""));
+        assertThrows(IllegalStateException.class,
+                () -> new InternalIdentityVerifier(true, InternalIdentityVerifier.DEV_SECRET));
+
+        // Off, a missing secret is fine: nothing is ever verified with it
+        assertFalse(new InternalIdentityVerifier(false, "").isEnabled());
+    }
+
+    @Test
+    void filter_trustedHeader_authenticatesWithoutBearerToken() throws Exception {
+        UUID userId = UUID.randomUUID();
+        JwtAuthFilter filter = new JwtAuthFilter(JwtVerifierTest.newVerifier(0), verifier);
+
+        Object principal = principalAfterFilter(filter,
+                header(SECRET, userId, "USER", Instant.now().plusSeconds(60)), null);
+
+        assertEquals(userId, ((CurrentUser) principal).id());
+    }
+
+    @Test
+    void filter_trustedModeOff_ignoresHeader() throws Exception {
+        JwtAuthFilter filter = new JwtAuthFilter(JwtVerifierTest.newVerifier(0),
+                new InternalIdentityVerifier(false, SECRET));
+
+        Object principal = principalAfterFilter(filter,
+                header(SECRET, UUID.randomUUID(), "ADMIN", Instant.now().plusSeconds(60)), null);
+
+        assertNull(principal);
+    }
+
+    @Test
+    void filter_invalidHeader_fallsBackToBearerToken() throws Exception {
+        UUID userId = UUID.randomUUID();
+        JwtAuthFilter filter = new JwtAuthFilter(JwtVerifierTest.newVerifier(0), verifier);
+        String bearer = JwtVerifierTest.token(userId, "USER", Instant.now().plusSeconds(600));
+
+        Object principal = principalAfterFilter(filter,
+                header("other-secret", UUID.randomUUID(), "ADMIN", Instant.now().plusSeconds(60)), bearer);
+
+        assertEquals(userId, ((CurrentUser) principal).id());
+    }
+
+
+    private static Object principalAfterFilter(JwtAuthFilter filter, String identity, String bearer) throws Exception {
+        var request = new MockHttpServletRequest("GET", "/api/v1/engagements/watchlist");
+        request.addHeader(InternalIdentityVerifier.HEADER, identity);
+        if (bearer != null) {
+            request.addHeader("Authorization", "Bearer " + bearer);
+        }
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication == null ? null : authentication.getPrincipal();
+    }
+
+    // v1.<b64url(userId \n email \n roles \n exp)>.<b64url(HMAC-SHA256("v1.<payload>"))>
+    static String header(String secret, UUID userId, String roles, Instant expiresAt) {
+        Base64.Encoder b64 = Base64.getUrlEncoder().withoutPadding();
+        String payload = userId + "\n" + "a@example.com" + "\n" + roles + "\n" + expiresAt.getEpochSecond();
+        String signed = "v1." + b64.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return signed + "." + b64.encodeToString(mac.doFinal(signed.getBytes(StandardCharsets.US_ASCII)));
+        }
+        catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
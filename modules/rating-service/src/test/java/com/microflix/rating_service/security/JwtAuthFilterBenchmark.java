@@ -0,0 +1,73 @@
+package com.microflix.rating_service.security;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for JwtAuthFilter with and without the verified-token cache, and with the
+ * gateway's signed identity header instead of a Bearer token.
+ *
+ * cacheSize=0 is the old behaviour (HMAC + JSON parse + UUID/roles parsing + authority
+ * allocation on every request); 10000 is the default cache. Same token every call, which is
+ * what one user's page load looks like from rating-service's side. credential=identity is
+ * trusted-network mode: one HMAC over a short header and a split, whatever the cache size.
+ *
+ * Run (from modules/rating-service):
+ *   mvn -q test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main JwtAuthFilterBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthFilterBenchmark {
+
+    @Param({"0", "10000"})
+    public long cacheSize;
+
+    @Param({"bearer", "identity"})
+    public String credential;
+
+    private JwtAuthFilter filter;
+    private String headerName;
+    private String header;
+
+    @Setup
+    public void setUp() {
+        filter = new JwtAuthFilter(
+                JwtVerifierTest.newVerifier(cacheSize),
+                new InternalIdentityVerifier(true, InternalIdentityVerifierTest.SECRET));
+
+        UUID userId = UUID.randomUUID();
+        Instant expiresAt = Instant.now().plusSeconds(3600);
+        if (credential.equals("identity")) {
+            headerName = InternalIdentityVerifier.HEADER;
+            header = InternalIdentityVerifierTest.header(InternalIdentityVerifierTest.SECRET, userId, "USER", expiresAt);
+        }
+        else {
+            headerName = "Authorization";
+            header = "Bearer " + JwtVerifierTest.token(userId, "USER", expiresAt);
+        }
+    }
+
+    @Benchmark
+    public Object filter() throws Exception {
+        var request = new MockHttpServletRequest("GET", "/api/v1/engagements/watchlist");
+        request.addHeader(headerName, header);
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        SecurityContextHolder.clearContext();
+        return principal;
+    }
+}
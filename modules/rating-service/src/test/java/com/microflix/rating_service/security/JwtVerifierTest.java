@@ -0,0 +1,93 @@
+package com.microflix.rating_service.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JwtVerifier, including the per-token cache behind authenticate().
+ */
+class JwtVerifierTest {
+
+    private static final String SECRET = "test-secret";
+    private static final String ISSUER = "microflix-user-service";
+
+    private final JwtVerifier verifier = newVerifier(100);
+
+    @Test
+    void authenticate_mapsClaimsAndRoles() {
+        UUID userId = UUID.randomUUID();
+        String token = token(userId, "USER, ADMIN", Instant.now().plusSeconds(600));
+
+        var verified = verifier.authenticate(token);
+
+        assertEquals(new CurrentUser(userId, "a@example.com", List.of("USER", "ADMIN")), verified.user());
+        assertEquals(List.of("ROLE_USER", "ROLE_ADMIN"),
+                verified.authorities().stream().map(Object::toString).toList());
+        assertEquals(verifier.verify(token), verified.user());
+    }
+
+    @Test
+    void authenticate_sameToken_returnsCachedInstance() {
+        String token = token(UUID.randomUUID(), "USER", Instant.now().plusSeconds(600));
+
+        assertSame(verifier.authenticate(token), verifier.authenticate(token));
+    }
+
+    @Test
+    void authenticate_sameRoleSet_sharesAuthorityList() {
+        var first = verifier.authenticate(token(UUID.randomUUID(), "USER", Instant.now().plusSeconds(600)));
+        var second = verifier.authenticate(token(UUID.randomUUID(), "USER", Instant.now().plusSeconds(600)));
+
+        assertNotSame(first, second);
+        assertSame(first.authorities(), second.authorities());
+    }
+
+    @Test
+    void authenticate_invalidOrExpiredToken_throwsEveryTime() {
+        String expired = token(UUID.randomUUID(), "USER", Instant.now().minusSeconds(5));
+        String forged = JWT.create().withIssuer(ISSUER).withSubject("a@example.com")
+                .withClaim("userId", UUID.randomUUID().toString()).withClaim("roles", "USER")
+                .sign(Algorithm.HMAC256("other-secret"));
+
+        for (int i = 0; i < 2; i++) {
+            assertThrows(JWTVerificationException.class, () -> verifier.authenticate(expired));
+            assertThrows(JWTVerificationException.class, () -> verifier.authenticate(forged));
+        }
+    }
+
+    @Test
+    void authenticate_cacheDisabled_stillVerifies() {
+        JwtVerifier uncached = newVerifier(0);
+        String token = token(UUID.randomUUID(), "USER", Instant.now().plusSeconds(600));
+
+        var first = uncached.authenticate(token);
+        var second = uncached.authenticate(token);
+
+        assertNotSame(first, second);
+        assertEquals(first, second);
+    }
+
+    static JwtVerifier newVerifier(long cacheSize) {
+        return new JwtVerifier(SECRET, ISSUER, cacheSize, Duration.ofMinutes(15), new SimpleMeterRegistry());
+    }
+
+    static String token(UUID userId, String roles, Instant expiresAt) {
+        return JWT.create()
+                .withIssuer(ISSUER)
+                .withSubject("a@example.com")
+                .withClaim("userId", userId.toString())
+                .withClaim("roles", roles)
+                .withExpiresAt(expiresAt)
+                .sign(Algorithm.HMAC256(SECRET));
+    }
+}
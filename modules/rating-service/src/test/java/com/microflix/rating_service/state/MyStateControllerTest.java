@@ -0,0 +1,67 @@
+package com.microflix.rating_service.state;
+
+import com.microflix.rating_service.engagement.EngagementType;
+import com.microflix.rating_service.security.CurrentUser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MyStateControllerTest {
+
+    @Mock
+    private MyStateService myStateService;
+
+    @InjectMocks
+    private MyStateController controller;
+
+    @Test
+    void getMyStates_returnsOkWithBody() {
+        // arrange
+        UUID userId = UUID.randomUUID();
+        CurrentUser currentUser = new CurrentUser(userId, "test@example.com", List.of("USER"));
+        List<Long> ids = List.of(10L, 20L);
+
+        var state1 = new MyMovieStateResponse(10L, 8.5, List.of(EngagementType.WATCHLIST));
+        var state2 = new MyMovieStateResponse(20L, null, List.of());
+
+        when(myStateService.getMyStates(userId, ids)).thenReturn(List.of(state1, state2));
+
+        // act
+        ResponseEntity<List<MyMovieStateResponse>> response = controller.getMyStates(currentUser, ids);
+
+        // assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(2, response.getBody().size());
+        assertEquals(8.5, response.getBody().get(0).rating(), 0.0001);
+    }
+
+    @Test
+    void getMyState_returnsOkWithBody() {
+        // arrange
+        UUID userId = UUID.randomUUID();
+        CurrentUser currentUser = new CurrentUser(userId, "test@example.com", List.of("USER"));
+
+        var state = new MyMovieStateResponse(42L, 7.0, List.of(EngagementType.WATCHLIST));
+        when(myStateService.getMyState(userId, 42L)).thenReturn(state);
+
+        // act
+        ResponseEntity<MyMovieStateResponse> response = controller.getMyState(currentUser, 42L);
+
+        // assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(List.of(EngagementType.WATCHLIST), response.getBody().engagements());
+    }
+}
@@ -0,0 +1,93 @@
+package com.microflix.rating_service.state;
+
+import com.microflix.rating_service.engagement.Engagement;
+import com.microflix.rating_service.engagement.EngagementRepository;
+import com.microflix.rating_service.engagement.EngagementType;
+import com.microflix.rating_service.rating.Rating;
+import com.microflix.rating_service.rating.RatingRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the "my state" queries against H2 (PostgreSQL compat mode).
+ * The single-movie path is a native UNION ALL with projection aliases, which a
+ * Mockito stub can't prove — this checks the SQL and the alias mapping for real.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class MyStateServiceIntegrationTest {
+
+    @Autowired
+    private MyStateService myStateService;
+
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    @Autowired
+    private EngagementRepository engagementRepository;
+
+    @Test
+    void getMyState_combinesRatingAndEngagements_inOneQuery() {
+        UUID userId = UUID.randomUUID();
+        UUID otherUser = UUID.randomUUID();
+
+        persistRating(userId, 10L, 85);
+        persistEngagement(userId, 10L, EngagementType.LIKE);
+        persistEngagement(userId, 10L, EngagementType.WATCHLIST);
+        persistEngagement(otherUser, 10L, EngagementType.FAVOURITE);   // someone else's — must not leak
+
+        MyMovieStateResponse state = myStateService.getMyState(userId, 10L);
+
+        assertEquals(10L, state.movieId());
+        assertEquals(8.5, state.rating(), 0.0001);
+        assertEquals(List.of(EngagementType.WATCHLIST, EngagementType.LIKE), state.engagements());
+    }
+
+    @Test
+    void getMyState_untouchedMovie_returnsEmptyState() {
+        MyMovieStateResponse state = myStateService.getMyState(UUID.randomUUID(), 99L);
+
+        assertNull(state.rating());
+        assertTrue(state.engagements().isEmpty());
+    }
+
+    @Test
+    void getMyStates_againstRealDatabase() {
+        UUID userId = UUID.randomUUID();
+
+        persistRating(userId, 1L, 70);
+        persistEngagement(userId, 2L, EngagementType.WATCHLIST);
+
+        List<MyMovieStateResponse> result = myStateService.getMyStates(userId, List.of(2L, 1L, 3L));
+
+        assertEquals(List.of(2L, 1L, 3L), result.stream().map(MyMovieStateResponse::movieId).toList());
+        assertEquals(List.of(EngagementType.WATCHLIST), result.get(0).engagements());
+        assertEquals(7.0, result.get(1).rating(), 0.0001);
+        assertNull(result.get(2).rating());
+    }
+
+    private void persistRating(UUID userId, Long movieId, int ratingTimesTen) {
+        Rating r = new Rating();
+        r.setUserId(userId);
+        r.setMovieId(movieId);
+        r.setRatingTimesTen(ratingTimesTen);
+        ratingRepository.save(r);
+    }
+
+    private void persistEngagement(UUID userId, Long movieId, EngagementType type) {
+        Engagement e = new Engagement();
+        e.setUserId(userId);
+        e.setMovieId(movieId);
+        e.setType(type);
+        engagementRepository.save(e);
+    }
+}
@@ -0,0 +1,158 @@
+package com.microflix.rating_service.state;
+
+import com.microflix.rating_service.engagement.EngagementRepository;
+import com.microflix.rating_service.engagement.EngagementType;
+import com.microflix.rating_service.rating.RatingRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MyStateService.
+ * Repositories are mocked; the logic under test is the per-movie join and ordering.
+ */
+@ExtendWith(MockitoExtension.class)
+class MyStateServiceTest {
+
+    @Mock
+    private RatingRepository ratingRepository;
+
+    @Mock
+    private EngagementRepository engagementRepository;
+
+    @InjectMocks
+    private MyStateService myStateService;
+
+    @Test
+    void getMyStates_joinsRatingsAndEngagements_inInputOrder() {
+        // arrange
+        UUID userId = UUID.randomUUID();
+        List<Long> requested = List.of(30L, 10L, 20L);
+
+        when(ratingRepository.findUserRatingsForMovies(userId, Set.of(30L, 10L, 20L)))
+                .thenReturn(List.of(rating(10L, 85)));
+
+        // Rows deliberately out of enum order — response should still list WATCHLIST before LIKE
+        when(engagementRepository.findUserEngagementsForMovies(userId, Set.of(30L, 10L, 20L)))
+                .thenReturn(List.of(
+                        engagement(30L, EngagementType.LIKE),
+                        engagement(30L, EngagementType.WATCHLIST),
+                        engagement(10L, EngagementType.WATCHLIST)
+                ));
+
+        // act
+        List<MyMovieStateResponse> result = myStateService.getMyStates(userId, requested);
+
+        // assert
+        assertEquals(List.of(30L, 10L, 20L), result.stream().map(MyMovieStateResponse::movieId).toList());
+
+        assertNull(result.get(0).rating());
+        assertEquals(List.of(EngagementType.WATCHLIST, EngagementType.LIKE), result.get(0).engagements());
+
+        assertEquals(8.5, result.get(1).rating(), 0.0001);
+        assertEquals(List.of(EngagementType.WATCHLIST), result.get(1).engagements());
+
+        // Untouched movie still gets an entry
+        assertNull(result.get(2).rating());
+        assertTrue(result.get(2).engagements().isEmpty());
+    }
+
+    @Test
+    void getMyStates_collapsesDuplicateIds() {
+        UUID userId = UUID.randomUUID();
+
+        List<MyMovieStateResponse> result = myStateService.getMyStates(userId, List.of(5L, 5L, 6L));
+
+        assertEquals(List.of(5L, 6L), result.stream().map(MyMovieStateResponse::movieId).toList());
+    }
+
+    @Test
+    void getMyStates_emptyOrNull_returnsEmptyWithoutQuerying() {
+        UUID userId = UUID.randomUUID();
+
+        assertTrue(myStateService.getMyStates(userId, List.of()).isEmpty());
+        assertTrue(myStateService.getMyStates(userId, null).isEmpty());
+
+        verifyNoInteractions(ratingRepository, engagementRepository);
+    }
+
+    @Test
+    void getMyStates_overCap_throwsIllegalArgumentException() {
+        UUID userId = UUID.randomUUID();
+        List<Long> tooMany = LongStream.rangeClosed(1, MyStateService.MAX_BATCH_SIZE + 1).boxed().toList();
+
+        assertThrows(IllegalArgumentException.class, () -> myStateService.getMyStates(userId, tooMany));
+
+        verify(ratingRepository, never()).findUserRatingsForMovies(any(), any());
+    }
+
+    @Test
+    void getMyState_foldsUnionRowsIntoOneState() {
+        UUID userId = UUID.randomUUID();
+        Long movieId = 42L;
+
+        // One rating row + two engagement rows, as the UNION ALL query returns them
+        when(ratingRepository.findMyStateForMovie(userId, movieId))
+                .thenReturn(List.of(
+                        stateRow(null, "LIKE"),
+                        stateRow(91, null),
+                        stateRow(null, "WATCHLIST")
+                ));
+
+        MyMovieStateResponse state = myStateService.getMyState(userId, movieId);
+
+        assertEquals(movieId, state.movieId());
+        assertEquals(9.1, state.rating(), 0.0001);
+        assertEquals(List.of(EngagementType.WATCHLIST, EngagementType.LIKE), state.engagements());
+    }
+
+    @Test
+    void getMyState_whenNoRows_returnsNullRatingAndNoEngagements() {
+        UUID userId = UUID.randomUUID();
+
+        when(ratingRepository.findMyStateForMovie(userId, 42L)).thenReturn(List.of());
+
+        MyMovieStateResponse state = myStateService.getMyState(userId, 42L);
+
+        assertNull(state.rating());
+        assertTrue(state.engagements().isEmpty());
+    }
+
+    private static RatingRepository.MyMovieStateRow stateRow(Integer ratingTimesTen, String type) {
+        return new RatingRepository.MyMovieStateRow() {
+            @Override
+            public Integer getRatingTimesTen() { return ratingTimesTen; }
+            @Override
+            public String getType() { return type; }
+        };
+    }
+
+    private static RatingRepository.UserMovieRatingProjection rating(Long movieId, int ratingTimesTen) {
+        return new RatingRepository.UserMovieRatingProjection() {
+            @Override
+            public Long getMovieId() { return movieId; }
+            @Override
+            public Integer getRatingTimesTen() { return ratingTimesTen; }
+        };
+    }
+
+    private static EngagementRepository.UserMovieEngagementProjection engagement(Long movieId, EngagementType type) {
+        return new EngagementRepository.UserMovieEngagementProjection() {
+            @Override
+            public Long getMovieId() { return movieId; }
+            @Override
+            public EngagementType getType() { return type; }
+        };
+    }
+}
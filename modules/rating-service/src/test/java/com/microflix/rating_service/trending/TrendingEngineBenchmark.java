@@ -0,0 +1,66 @@
+package com.microflix.rating_service.trending;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for TrendingEngine write and top-K cost.
+ *
+ * - record:          one rating/watchlist event (throughput; target ≥ 10k ops/s with lots of headroom)
+ * - top20:           one "trending now" read over the whole map
+ * - mixed:           3 writer threads + 1 reader hitting the same engine, to see lock contention
+ *
+ * Run (from modules/rating-service):
+ *   mvn -q test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main TrendingEngineBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TrendingEngineBenchmark {
+
+    // Active catalog size: how many distinct movies have recent activity
+    @Param({"10000", "100000"})
+    public int movies;
+
+    private TrendingEngine engine;
+
+    @Setup
+    public void setUp() {
+        engine = new TrendingEngine(Duration.ofHours(6));
+        var random = ThreadLocalRandom.current();
+        for (int i = 0; i < movies * 5; i++) {
+            engine.record(1 + random.nextInt(movies), TrendingSignal.RATING);
+        }
+    }
+
+    @Benchmark
+    public void record() {
+        engine.record(1 + ThreadLocalRandom.current().nextInt(movies), TrendingSignal.RATING);
+    }
+
+    @Benchmark
+    public Object top20() {
+        return engine.top(20);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public void mixedWrite() {
+        engine.record(1 + ThreadLocalRandom.current().nextInt(movies), TrendingSignal.WATCHLIST_ADD);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public Object mixedRead() {
+        return engine.top(20);
+    }
+}
@@ -0,0 +1,118 @@
+package com.microflix.rating_service.trending;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TrendingEngine, driven by a hand-advanced clock.
+ */
+class TrendingEngineTest {
+
+    private static final Duration HALF_LIFE = Duration.ofHours(1);
+
+    private final MutableClock clock = new MutableClock();
+    private final TrendingEngine engine = new TrendingEngine(HALF_LIFE, clock);
+
+    @Test
+    void top_ordersByScore_andHonoursK() {
+        record(1L, TrendingSignal.RATING, 1);
+        record(2L, TrendingSignal.RATING, 5);
+        record(3L, TrendingSignal.WATCHLIST_ADD, 2);      // 2 × 2.0 = 4
+        record(4L, TrendingSignal.RATING, 2);
+
+        var top = engine.top(3);
+
+        assertEquals(List.of(2L, 3L, 4L), top.stream().map(TrendingMovieResponse::movieId).toList());
+        assertEquals(5.0, top.get(0).score(), 1e-9);
+        assertEquals(4.0, top.get(1).score(), 1e-9);
+    }
+
+    @Test
+    void scoresHalveEveryHalfLife_andNewActivityOvertakesOld() {
+        record(1L, TrendingSignal.RATING, 4);
+
+        clock.advance(HALF_LIFE);
+        assertEquals(2.0, engine.top(1).get(0).score(), 1e-9);
+
+        record(2L, TrendingSignal.RATING, 3);             // 3 fresh events beat 4 stale ones
+        assertEquals(List.of(2L, 1L), engine.top(2).stream().map(TrendingMovieResponse::movieId).toList());
+    }
+
+    @Test
+    void longRunningEngine_rebasesWithoutLosingScores() {
+        // Far past the re-base point: boost factor would overflow without it
+        for (int day = 0; day < 30; day++) {
+            clock.advance(Duration.ofDays(1));
+            record(7L, TrendingSignal.RATING, 1);
+        }
+
+        double score = engine.top(1).get(0).score();
+        assertTrue(Double.isFinite(score));
+        assertEquals(1.0, score, 1e-6);                    // yesterday's events have fully decayed
+    }
+
+    @Test
+    void snapshotAndRestore_carryDecayedScoresToANewEngine() {
+        record(1L, TrendingSignal.RATING, 8);
+        record(2L, TrendingSignal.RATING, 1);
+        var snapshot = engine.snapshot();
+
+        clock.advance(HALF_LIFE);
+        var restored = new TrendingEngine(HALF_LIFE, clock);
+        restored.restore(snapshot);
+
+        var top = restored.top(2);
+        assertEquals(1L, top.get(0).movieId());
+        assertEquals(4.0, top.get(0).score(), 1e-9);
+        assertEquals(0.5, top.get(1).score(), 1e-9);
+    }
+
+    @Test
+    void snapshot_prunesNegligibleScores() {
+        record(1L, TrendingSignal.RATING, 1);
+        clock.advance(HALF_LIFE.multipliedBy(20));         // 2^-20 < MIN_SCORE
+        record(2L, TrendingSignal.RATING, 1);
+
+        var snapshot = engine.snapshot();
+
+        assertArrayEquals(new long[]{2L}, snapshot.movieIds());
+        assertEquals(1, engine.size());
+    }
+
+    @Test
+    void map_growsPastInitialCapacity() {
+        for (long id = 1; id <= 10_000; id++) {
+            engine.record(id, TrendingSignal.RATING);
+        }
+        engine.record(9_999L, TrendingSignal.RATING);
+
+        assertEquals(10_000, engine.size());
+        assertEquals(9_999L, engine.top(1).get(0).movieId());
+    }
+
+    private void record(long movieId, TrendingSignal signal, int times) {
+        for (int i = 0; i < times; i++) {
+            engine.record(movieId, signal);
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration d) {
+            now = now.plus(d);
+        }
+
+        @Override public ZoneId getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(ZoneId zone) { return this; }
+        @Override public Instant instant() { return now; }
+    }
+}
@@ -0,0 +1,37 @@
+package com.microflix.rating_service.trending;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TrendingServiceTest {
+
+    @Mock
+    private TrendingEngine engine;
+
+    @InjectMocks
+    private TrendingService trendingService;
+
+    @Test
+    void getTrending_readsTopKFromEngine() {
+        var row = new TrendingMovieResponse(42L, 3.5);
+        when(engine.top(20)).thenReturn(List.of(row));
+
+        assertEquals(List.of(row), trendingService.getTrending(20));
+    }
+
+    @Test
+    void getTrending_invalidLimit_throws() {
+        assertThrows(IllegalArgumentException.class, () -> trendingService.getTrending(0));
+        assertThrows(IllegalArgumentException.class, () -> trendingService.getTrending(TrendingService.MAX_LIMIT + 1));
+        verifyNoInteractions(engine);
+    }
+}
@@ -23,6 +23,9 @@ import java.util.List;
 /**
  * Extracts a JWT from the Authorization header and, if valid,
  * sets an authenticated user in the SecurityContext.
+ *
+ * In trusted-network mode a valid gateway X-Internal-Identity header is used instead,
+ * so the JWT isn't verified a second time.
  */
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
@@ -30,9 +33,11 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     private static final Logger log = LoggerFactory.getLogger(JwtAuthFilter.class);
 
     private final JwtService jwt;
+    private final InternalIdentityVerifier identityVerifier;
 
-    public JwtAuthFilter(JwtService jwt) {
+    public JwtAuthFilter(JwtService jwt, InternalIdentityVerifier identityVerifier) {
         this.jwt = jwt;
+        this.identityVerifier = identityVerifier;
     }
 
     // This method is called automatically for every incoming request.
@@ -43,11 +48,18 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         try {
 
+            // Trusted-network mode: the gateway already verified the JWT and signed the result
+            CurrentUser trusted = trustedIdentity(request);
+
             // Retrieving Authorization header
             String header = request.getHeader("Authorization");
 
+            if (trusted != null) {
+                var auth = new UsernamePasswordAuthenticationToken(trusted.email(), null, toAuthorities(trusted.roles()));
+                SecurityContextHolder.getContext().setAuthentication(auth);
+            }
             // If token is present & starts with "Bearer " -> try to authenticate.
-            if (StringUtils.hasText(header) && header.startsWith("Bearer ")) {
+            else if (StringUtils.hasText(header) && header.startsWith("Bearer ")) {
 
                 // Strip "Bearer " prefix
                 String token = header.substring(7);
@@ -60,12 +72,10 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                 String rolesCsv = decoded.getClaim("roles").asString();
 
                 // Map users roles -> Spring authorities (must be "ROLE_X")
-                var authorities = Arrays.stream(rolesCsv.split(","))
+                var authorities = toAuthorities(Arrays.stream(rolesCsv.split(","))
                         .filter(StringUtils::hasText)                                   // drop blanks/empty items
                         .map(String::trim)                                              // remove leading/trailing spaces
-                        .map(r -> r.startsWith("ROLE_") ? r : "ROLE_" + r)
-                        .map(SimpleGrantedAuthority::new)
-                        .toList();
+                        .toList());
 
                 // Setting authenticated user info for the current request thread
                 var auth = new UsernamePasswordAuthenticationToken(email, null, authorities);
@@ -84,4 +94,29 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         chain.doFilter(request, response);
 
     }
+
+
+    // User from a valid gateway identity header, or null (off, absent, or invalid → fall back to the Bearer token)
+    private CurrentUser trustedIdentity(HttpServletRequest request) {
+        if (!identityVerifier.isEnabled()) {
+            return null;
+        }
+        String identity = request.getHeader(InternalIdentityVerifier.HEADER);
+        if (!StringUtils.hasText(identity)) {
+            return null;
+        }
+        try {
+            return identityVerifier.verify(identity);
+        } catch (Exception e) {
+            log.warn("Ignoring invalid internal identity header: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static List<GrantedAuthority> toAuthorities(List<String> roles) {
+        return roles.stream()
+                .map(r -> r.startsWith("ROLE_") ? r : "ROLE_" + r)
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+    }
 }
@@ -0,0 +1,102 @@
+package com.microflix.userservice.common.observability;
+
+import com.microflix.userservice.user.UserRepository;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Repository and connection-acquire spans end up in the caller's trace.
+ *
+ * Every span is sampled, and a SimpleSpanProcessor hands each one to an in-memory exporter
+ * as it ends, so a span is visible to the assertions as soon as the call that made it returns.
+ */
+@SpringBootTest(properties = "management.tracing.sampling.probability=1.0")
+@ActiveProfiles("test")
+@AutoConfigureObservability(metrics = false)
+class TracingConfigTest {
+
+    private static final InMemorySpanExporter EXPORTER = InMemorySpanExporter.create();
+
+    @TestConfiguration
+    static class InMemoryExport {
+
+        // The SDK tracer provider is built from every SpanProcessor bean
+        @Bean
+        SpanProcessor inMemorySpanProcessor() {
+            return SimpleSpanProcessor.create(EXPORTER);
+        }
+    }
+
+    @Autowired
+    private Tracer tracer;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void reset() {
+        EXPORTER.reset();
+    }
+
+    @Test
+    void repositoryCall_isChildSpanOfCaller_withConnectionAcquireInSameTrace() {
+        Span parent = tracer.nextSpan().name("caller").start();
+        try (Tracer.SpanInScope scope = tracer.withSpan(parent)) {
+            userRepository.findAll();
+        }
+        finally {
+            parent.end();
+        }
+
+        List<SpanData> spans = EXPORTER.getFinishedSpanItems();
+        SpanData query = span(spans, "user-repository.find-all");        // contextual name, lower-hyphenated by Micrometer
+        assertEquals(parent.context().traceId(), query.getTraceId());
+        assertEquals(parent.context().spanId(), query.getParentSpanId());
+        assertEquals("UserRepository", attribute(query, "repository"));
+        assertEquals("findAll", attribute(query, "method"));
+
+        SpanData acquire = span(spans, TracingConfig.CONNECTION_OBSERVATION);
+        assertEquals(parent.context().traceId(), acquire.getTraceId());
+    }
+
+    @Test
+    void noCurrentSpan_repositoryCallStartsItsOwnTrace() {
+        userRepository.count();
+
+        SpanData query = span(EXPORTER.getFinishedSpanItems(), "user-repository.count");
+        assertFalse(query.getParentSpanContext().isValid());
+    }
+
+
+    private static SpanData span(List<SpanData> spans, String name) {
+        return spans.stream()
+                .filter(span -> span.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No span " + name + " in " + spans.stream().map(SpanData::getName).toList()));
+    }
+
+    private static Object attribute(SpanData span, String key) {
+        return span.getAttributes().asMap().entrySet().stream()
+                .filter(e -> e.getKey().getKey().equals(key))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No attribute " + key + " on " + span.getName()))
+                .getValue();
+    }
+}